@@ -0,0 +1,32 @@
+package net.rgielen.fxweaver.avaje;
+
+import io.avaje.inject.BeanScope;
+import net.rgielen.fxweaver.core.FxContextLoader;
+
+import java.util.function.Supplier;
+
+/**
+ * AvajeFxContextLoader.
+ * <p/>
+ * Builds the bean scope, by default from all modules generated by the Avaje Inject annotation processor found on the
+ * classpath, and provides a {@link AvajeFxWeaver} backed by it.
+ *
+ * @author Rene Gielen
+ */
+public class AvajeFxContextLoader extends FxContextLoader<AvajeFxWeaver> {
+
+    private final Supplier<BeanScope> scopeLoader;
+
+    public AvajeFxContextLoader() {
+        this(() -> BeanScope.builder().build());
+    }
+
+    public AvajeFxContextLoader(Supplier<BeanScope> scopeLoader) {
+        this.scopeLoader = scopeLoader;
+    }
+
+    @Override
+    public AvajeFxWeaver start() {
+        return new AvajeFxWeaver(scopeLoader.get());
+    }
+}
@@ -0,0 +1,35 @@
+package net.rgielen.fxweaver.avaje;
+
+import io.avaje.inject.BeanScope;
+import net.rgielen.fxweaver.core.FxWeaver;
+
+/**
+ * AvajeFxWeaver is an Avaje Inject powered version of FxWeaver.
+ * <p/>
+ * Avaje Inject wires its beans from code generated at compile time, so building a {@link BeanScope} involves neither
+ * classpath scanning nor reflection, which makes it a good fit for small tools that should show their first window
+ * quickly. Controllers have to be beans of the scope, usually declared <tt>&#64;Prototype</tt> to get a fresh
+ * instance per woven view.
+ * <p/>
+ * Closing the weaver, e.g. by {@link #shutdown()}, closes the bean scope.
+ *
+ * @author Rene Gielen
+ * @see AvajeFxContextLoader
+ */
+public class AvajeFxWeaver extends FxWeaver {
+
+    private final BeanScope beanScope;
+
+    public AvajeFxWeaver(BeanScope beanScope) {
+        super(beanScope::get, beanScope::close);
+        this.beanScope = beanScope;
+    }
+
+    /**
+     * @return The bean scope providing controllers and other beans
+     */
+    public BeanScope getBeanScope() {
+        return beanScope;
+    }
+
+}
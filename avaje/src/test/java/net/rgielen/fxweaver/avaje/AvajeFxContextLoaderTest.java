@@ -0,0 +1,42 @@
+package net.rgielen.fxweaver.avaje;
+
+import io.avaje.inject.BeanScope;
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.FxControllerAndView;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AvajeFxContextLoaderTest {
+
+    @Test
+    public void testStart() throws Exception {
+        assertThat(new AvajeFxContextLoader().start()).isNotNull();
+    }
+
+    @Test
+    public void loadWeavesViewWithInjectedController() throws Exception {
+        AvajeFxWeaver fxWeaver = new AvajeFxContextLoader().start();
+
+        FxControllerAndView<GreetingController, Pane> first = fxWeaver.load(GreetingController.class);
+        FxControllerAndView<GreetingController, Pane> second = fxWeaver.load(GreetingController.class);
+
+        assertThat(first.getView()).isPresent();
+        assertThat(first.getController().getGreetingService().greet("FxWeaver")).isEqualTo("Hello FxWeaver");
+        assertThat(second.getController()).isNotSameAs(first.getController());
+        assertThat(second.getController().getGreetingService()).isSameAs(first.getController().getGreetingService());
+    }
+
+    @Test
+    public void loadFailsForControllersOutsideOfScope() throws Exception {
+        AvajeFxWeaver fxWeaver = new AvajeFxContextLoader(() -> BeanScope.builder().build()).start();
+        assertThatThrownBy(() -> fxWeaver.loadController(UnmanagedController.class))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    public static class UnmanagedController {
+    }
+}
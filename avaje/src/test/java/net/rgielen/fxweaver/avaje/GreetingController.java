@@ -0,0 +1,17 @@
+package net.rgielen.fxweaver.avaje;
+
+import io.avaje.inject.Prototype;
+
+@Prototype
+public class GreetingController {
+
+    private final GreetingService greetingService;
+
+    public GreetingController(GreetingService greetingService) {
+        this.greetingService = greetingService;
+    }
+
+    public GreetingService getGreetingService() {
+        return greetingService;
+    }
+}
@@ -0,0 +1,11 @@
+package net.rgielen.fxweaver.avaje;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+public class GreetingService {
+
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+}
@@ -0,0 +1,83 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * A synthetic FXML corpus generated by {@link FxmlCorpusGenerator}.
+ * <p/>
+ * {@link javafx.fxml.FXMLLoader} resolves <tt>fx:controller</tt> through the thread context class loader, so views of
+ * a corpus have to be woven {@link #call(Callable) within} the corpus.
+ *
+ * @author Rene Gielen
+ */
+public final class Corpus implements AutoCloseable {
+
+    private final CorpusSpec spec;
+    private final Path directory;
+    private final URLClassLoader classLoader;
+    private final List<Class<?>> rootControllers;
+    private final List<Class<?>> controllers;
+
+    Corpus(CorpusSpec spec, Path directory, URLClassLoader classLoader,
+           List<Class<?>> rootControllers, List<Class<?>> controllers) {
+        this.spec = spec;
+        this.directory = directory;
+        this.classLoader = classLoader;
+        this.rootControllers = Collections.unmodifiableList(rootControllers);
+        this.controllers = Collections.unmodifiableList(controllers);
+    }
+
+    public CorpusSpec getSpec() {
+        return spec;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * @return The controller classes of the root views, i.e. those not included by any other view
+     */
+    public List<Class<?>> getRootControllers() {
+        return rootControllers;
+    }
+
+    /**
+     * @return The controller classes of all views, root views and included views
+     */
+    public List<Class<?>> getControllers() {
+        return controllers;
+    }
+
+    /**
+     * Run the given action with the corpus class loader as thread context class loader.
+     *
+     * @param action The action, typically weaving views of this corpus
+     * @return The result of the action
+     * @throws Exception as thrown by the action
+     */
+    public <T> T call(Callable<T> action) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return action.call();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+    }
+}
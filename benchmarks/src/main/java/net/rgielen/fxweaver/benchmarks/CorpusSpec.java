@@ -0,0 +1,105 @@
+package net.rgielen.fxweaver.benchmarks;
+
+/**
+ * The shape of a synthetic FXML corpus as produced by {@link FxmlCorpusGenerator}.
+ * <p/>
+ * A corpus consists of <tt>viewCount</tt> root views. Every view has <tt>nodesPerView</tt> nodes of its own, nested
+ * <tt>nodeDepth</tt> levels deep, and includes <tt>includeFanOut</tt> further views via <tt>fx:include</tt> down to
+ * <tt>includeDepth</tt> levels, so every root view is the top of a tree of
+ * {@link #getViewsPerTree()} views with a controller each.
+ *
+ * @author Rene Gielen
+ */
+public final class CorpusSpec {
+
+    private final int viewCount;
+    private final int nodesPerView;
+    private final int nodeDepth;
+    private final int includeDepth;
+    private final int includeFanOut;
+
+    private CorpusSpec(int viewCount, int nodesPerView, int nodeDepth, int includeDepth, int includeFanOut) {
+        if (viewCount < 1 || nodesPerView < 1 || nodeDepth < 1 || nodeDepth > nodesPerView) {
+            throw new IllegalArgumentException(
+                    "viewCount, nodesPerView and nodeDepth must be positive, nodeDepth must not exceed nodesPerView");
+        }
+        if (includeDepth < 0 || includeFanOut < 0 || (includeDepth > 0 && includeFanOut == 0)) {
+            throw new IllegalArgumentException("includeFanOut must be positive if includeDepth is");
+        }
+        this.viewCount = viewCount;
+        this.nodesPerView = nodesPerView;
+        this.nodeDepth = nodeDepth;
+        this.includeDepth = includeDepth;
+        this.includeFanOut = includeFanOut;
+    }
+
+    /**
+     * Create a corpus spec.
+     *
+     * @param viewCount     The number of root views, each with its own controller class
+     * @param nodesPerView  The number of nodes declared by every single FXML file, including its root
+     * @param nodeDepth     The nesting depth of these nodes, 1 meaning all nodes are direct children of the root
+     * @param includeDepth  The number of <tt>fx:include</tt> levels below every root view, 0 for none
+     * @param includeFanOut The number of views included by every view above <tt>includeDepth</tt>
+     */
+    public static CorpusSpec of(int viewCount, int nodesPerView, int nodeDepth, int includeDepth, int includeFanOut) {
+        return new CorpusSpec(viewCount, nodesPerView, nodeDepth, includeDepth, includeFanOut);
+    }
+
+    /**
+     * Create a spec for a corpus of flat views without includes.
+     *
+     * @param viewCount    The number of views
+     * @param nodesPerView The number of nodes per view
+     * @param nodeDepth    The nesting depth of these nodes
+     */
+    public static CorpusSpec flat(int viewCount, int nodesPerView, int nodeDepth) {
+        return of(viewCount, nodesPerView, nodeDepth, 0, 0);
+    }
+
+    public int getViewCount() {
+        return viewCount;
+    }
+
+    public int getNodesPerView() {
+        return nodesPerView;
+    }
+
+    public int getNodeDepth() {
+        return nodeDepth;
+    }
+
+    public int getIncludeDepth() {
+        return includeDepth;
+    }
+
+    public int getIncludeFanOut() {
+        return includeFanOut;
+    }
+
+    /**
+     * @return The number of views woven by loading a single root view, including the root view itself
+     */
+    public int getViewsPerTree() {
+        int views = 1;
+        int level = 1;
+        for (int i = 0; i < includeDepth; i++) {
+            level *= includeFanOut;
+            views += level;
+        }
+        return views;
+    }
+
+    /**
+     * @return The number of views and controller classes of the whole corpus
+     */
+    public int getTotalViews() {
+        return viewCount * getViewsPerTree();
+    }
+
+    @Override
+    public String toString() {
+        return "views=" + viewCount + ", nodes=" + nodesPerView + ", depth=" + nodeDepth
+                + ", includeDepth=" + includeDepth + ", fanOut=" + includeFanOut;
+    }
+}
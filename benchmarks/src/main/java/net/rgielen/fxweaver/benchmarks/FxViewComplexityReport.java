@@ -0,0 +1,272 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import javafx.application.Platform;
+import net.rgielen.fxweaver.core.FxHeadlessToolkit;
+import net.rgielen.fxweaver.core.FxLoadStatistics.ControllerStatistics;
+import net.rgielen.fxweaver.core.FxViewComplexity;
+import net.rgielen.fxweaver.core.FxWeaver;
+import net.rgielen.fxweaver.core.FxmlView;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * FxViewComplexityReport weaves every {@link FxmlView} annotated controller found in the given jars or class
+ * directories once and reports the {@link FxViewComplexity} of its view, heaviest views first.
+ * <p/>
+ * Controllers are instantiated with their no-argument constructor, so controllers requiring constructor injection are
+ * reported as skipped. Run it with the application's dependencies on the classpath:
+ * <pre>
+ *     java -cp javafx-weaver-benchmarks.jar:... net.rgielen.fxweaver.benchmarks.FxViewComplexityReport app.jar
+ * </pre>
+ * The JavaFX toolkit is started headless on Monocle, unless another glass platform is configured.
+ *
+ * @author Rene Gielen
+ */
+public class FxViewComplexityReport {
+
+    private static final String HEADER = String.format("%-60s %7s %6s %9s %8s %12s  %s",
+            "controller", "nodes", "depth", "listeners", "bindings", "est. bytes", "top node types");
+
+    private final boolean onFxThread;
+
+    /**
+     * Create a report weaving views either on the calling thread or on the JavaFX application thread.
+     *
+     * @param onFxThread Whether to weave on the JavaFX application thread, which requires the toolkit to be running
+     */
+    public FxViewComplexityReport(boolean onFxThread) {
+        this.onFxThread = onFxThread;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: FxViewComplexityReport <jar or class directory>...");
+            System.exit(2);
+        }
+        List<Path> roots = Stream.of(args).map(Paths::get).collect(Collectors.toList());
+        FxHeadlessToolkit.start();
+        try {
+            new FxViewComplexityReport(true).analyze(roots).print(System.out);
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Weave and analyze all {@link FxmlView} annotated controllers found in the given classpath roots.
+     *
+     * @param roots Jars or class directories to search, which also make up the classpath for loading the views
+     * @return The report
+     * @throws IOException if a root cannot be read
+     */
+    public Report analyze(List<Path> roots) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        URL[] urls = new URL[roots.size()];
+        for (int i = 0; i < roots.size(); i++) {
+            urls[i] = roots.get(i).toUri().toURL();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(urls, FxViewComplexityReport.class.getClassLoader())) {
+            FxWeaver fxWeaver = new FxWeaver(FxViewComplexityReport::instantiate, () -> {});
+            fxWeaver.setComplexityAnalysisEnabled(true);
+            for (String className : classNames(roots)) {
+                Class<?> controllerClass;
+                try {
+                    controllerClass = Class.forName(className, false, classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    continue;
+                }
+                if (controllerClass.isAnnotationPresent(FxmlView.class)) {
+                    String failure = weave(fxWeaver, controllerClass, classLoader);
+                    if (failure != null) {
+                        entries.add(new Entry(className, null, failure));
+                    }
+                }
+            }
+            for (ControllerStatistics statistics : fxWeaver.getStatistics().getControllerStatistics()) {
+                if (statistics.getComplexity() != null) {
+                    entries.add(new Entry(statistics.getControllerClass().getName(), statistics.getComplexity(), null));
+                }
+            }
+        }
+        return new Report(entries);
+    }
+
+    private String weave(FxWeaver fxWeaver, Class<?> controllerClass, ClassLoader classLoader) {
+        try {
+            // FXMLLoader resolves fx:controller through the context class loader of the weaving thread
+            onFxThread(() -> {
+                Thread thread = Thread.currentThread();
+                ClassLoader previous = thread.getContextClassLoader();
+                thread.setContextClassLoader(classLoader);
+                try {
+                    return fxWeaver.load(controllerClass);
+                } finally {
+                    thread.setContextClassLoader(previous);
+                }
+            });
+            return null;
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+    }
+
+    private <T> T onFxThread(Callable<T> action) throws Exception {
+        if (!onFxThread || Platform.isFxApplicationThread()) {
+            return action.call();
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result.get(1, TimeUnit.MINUTES);
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(type.getName() + " has no no-argument constructor");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to instantiate " + type.getName(), e);
+        }
+    }
+
+    private static List<String> classNames(List<Path> roots) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> paths = Files.walk(root)) {
+                    paths.map(path -> root.relativize(path).toString().replace('\\', '/'))
+                            .forEach(name -> addClassName(names, name));
+                }
+            } else {
+                try (JarFile jar = new JarFile(root.toFile())) {
+                    jar.stream().map(JarEntry::getName).forEach(name -> addClassName(names, name));
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static void addClassName(List<String> names, String resource) {
+        if (resource.endsWith(".class") && !resource.endsWith("module-info.class")
+                && !resource.endsWith("package-info.class")) {
+            names.add(resource.substring(0, resource.length() - ".class".length()).replace('/', '.'));
+        }
+    }
+
+    /**
+     * The result of analyzing a set of controllers.
+     */
+    public static final class Report {
+
+        private final List<Entry> analyzed;
+        private final List<Entry> skipped;
+
+        Report(List<Entry> entries) {
+            this.analyzed = entries.stream().filter(entry -> entry.complexity != null)
+                    .sorted(Comparator.comparingLong((Entry entry) -> entry.complexity.getEstimatedBytes()).reversed())
+                    .collect(Collectors.toUnmodifiableList());
+            this.skipped = entries.stream().filter(entry -> entry.failure != null)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+
+        /**
+         * @return The analyzed controllers, heaviest view first
+         */
+        public List<Entry> getAnalyzed() {
+            return analyzed;
+        }
+
+        /**
+         * @return The controllers that could not be woven
+         */
+        public List<Entry> getSkipped() {
+            return skipped;
+        }
+
+        public void print(PrintStream out) {
+            out.println(HEADER);
+            for (Entry entry : analyzed) {
+                FxViewComplexity complexity = entry.complexity;
+                out.println(String.format("%-60s %7d %6d %9d %8d %12d  %s", entry.controllerClassName,
+                        complexity.getNodeCount(), complexity.getMaxDepth(), complexity.getListenerCount(),
+                        complexity.getBindingCount(), complexity.getEstimatedBytes(),
+                        topTypes(complexity.getNodeCountByType())));
+            }
+            for (Entry entry : skipped) {
+                out.println("skipped " + entry.controllerClassName + ": " + entry.failure);
+            }
+        }
+
+        private static String topTypes(Map<Class<?>, Integer> nodeCountByType) {
+            return nodeCountByType.entrySet().stream().limit(3)
+                    .map(e -> e.getKey().getSimpleName() + "=" + e.getValue())
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    /**
+     * A single controller of a {@link Report}, either analyzed or skipped.
+     */
+    public static final class Entry {
+
+        private final String controllerClassName;
+        private final FxViewComplexity complexity;
+        private final String failure;
+
+        Entry(String controllerClassName, FxViewComplexity complexity, String failure) {
+            this.controllerClassName = controllerClassName;
+            this.complexity = complexity;
+            this.failure = failure;
+        }
+
+        public String getControllerClassName() {
+            return controllerClassName;
+        }
+
+        /**
+         * @return The complexity of the view, or <tt>null</tt> if it could not be woven
+         */
+        public FxViewComplexity getComplexity() {
+            return complexity;
+        }
+
+        /**
+         * @return The reason the controller could not be woven, or <tt>null</tt> if it was analyzed
+         */
+        public String getFailure() {
+            return failure;
+        }
+    }
+}
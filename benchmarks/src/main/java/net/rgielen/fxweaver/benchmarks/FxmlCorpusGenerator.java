@@ -0,0 +1,170 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FxmlCorpusGenerator writes synthetic FXML views with matching controller classes to a directory, compiles the
+ * controllers and makes both available through a dedicated class loader.
+ * <p/>
+ * Views only use {@link javafx.scene.layout.Pane} and {@link javafx.scene.layout.Region}, so they can be woven without
+ * a running JavaFX toolkit. Every controller gets the deepest container of its view injected and counts calls to
+ * <tt>initialize()</tt>, just like a real controller would do some trivial work there.
+ * <p/>
+ * Example:
+ * <pre>
+ *     try (Corpus corpus = new FxmlCorpusGenerator().generate(dir, CorpusSpec.of(200, 50, 5, 2, 3))) {
+ *         for (Class&lt;?&gt; controllerClass : corpus.getRootControllers()) {
+ *             fxWeaver.loadView(controllerClass);
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author Rene Gielen
+ */
+public class FxmlCorpusGenerator {
+
+    /**
+     * The package all generated controller classes are placed in.
+     */
+    public static final String PACKAGE = "fxweaver.bench";
+
+    /**
+     * Generate, compile and load a corpus.
+     *
+     * @param directory The directory to write FXML, sources and classes to. Existing files are overwritten.
+     * @param spec      The shape of the corpus
+     * @return The generated corpus, to be closed when no longer needed
+     * @throws IOException           if writing the corpus fails
+     * @throws IllegalStateException if no Java compiler is available or compilation fails
+     */
+    public Corpus generate(Path directory, CorpusSpec spec) throws IOException {
+        Path packageDirectory = Files.createDirectories(directory.resolve(PACKAGE.replace('.', '/')));
+        List<String> rootNames = new ArrayList<>(spec.getViewCount());
+        List<String> allNames = new ArrayList<>(spec.getTotalViews());
+        List<Path> sources = new ArrayList<>(spec.getTotalViews());
+        for (int i = 0; i < spec.getViewCount(); i++) {
+            String name = "View" + i;
+            rootNames.add(name);
+            writeTree(packageDirectory, spec, name, 0, allNames, sources);
+        }
+        compile(directory, sources);
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()},
+                FxmlCorpusGenerator.class.getClassLoader());
+        try {
+            return new Corpus(spec, directory, classLoader, loadAll(classLoader, rootNames),
+                    loadAll(classLoader, allNames));
+        } catch (ClassNotFoundException e) {
+            classLoader.close();
+            throw new IllegalStateException("Generated controller not found", e);
+        }
+    }
+
+    private void writeTree(Path packageDirectory, CorpusSpec spec, String name, int includeLevel,
+                           List<String> allNames, List<Path> sources) throws IOException {
+        allNames.add(name);
+        List<String> includes = new ArrayList<>();
+        if (includeLevel < spec.getIncludeDepth()) {
+            for (int i = 0; i < spec.getIncludeFanOut(); i++) {
+                String included = name + "_" + i;
+                includes.add(included);
+                writeTree(packageDirectory, spec, included, includeLevel + 1, allNames, sources);
+            }
+        }
+        Files.write(packageDirectory.resolve(name + ".fxml"),
+                fxml(spec, name, includes).getBytes(StandardCharsets.UTF_8));
+        Path source = packageDirectory.resolve(name + ".java");
+        Files.write(source, controllerSource(name).getBytes(StandardCharsets.UTF_8));
+        sources.add(source);
+    }
+
+    static String fxml(CorpusSpec spec, String name, List<String> includes) {
+        StringBuilder fxml = new StringBuilder(64 * spec.getNodesPerView())
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<?import javafx.scene.layout.Pane?>\n")
+                .append("<?import javafx.scene.layout.Region?>\n");
+        int depth = spec.getNodeDepth();
+        // the root and one nested container per further level, the remaining nodes are spread over all levels
+        int leaves = spec.getNodesPerView() - depth;
+        for (int level = 0; level < depth; level++) {
+            indent(fxml, level * 2).append("<Pane");
+            if (level == 0) {
+                fxml.append(" xmlns=\"http://javafx.com/javafx\" xmlns:fx=\"http://javafx.com/fxml\"")
+                        .append(" fx:controller=\"").append(PACKAGE).append('.').append(name).append('"');
+            }
+            if (level == depth - 1) {
+                fxml.append(" fx:id=\"leaf\"");
+            }
+            fxml.append(">\n");
+            indent(fxml, level * 2 + 1).append("<children>\n");
+            int regions = leaves / depth + (level < leaves % depth ? 1 : 0);
+            for (int i = 0; i < regions; i++) {
+                indent(fxml, level * 2 + 2).append("<Region prefWidth=\"").append(10 + i % 90)
+                        .append("\" prefHeight=\"20\"/>\n");
+            }
+            if (level == 0) {
+                for (String include : includes) {
+                    indent(fxml, 2).append("<fx:include source=\"").append(include).append(".fxml\"/>\n");
+                }
+            }
+        }
+        for (int level = depth - 1; level >= 0; level--) {
+            indent(fxml, level * 2 + 1).append("</children>\n");
+            indent(fxml, level * 2).append("</Pane>\n");
+        }
+        return fxml.toString();
+    }
+
+    static String controllerSource(String name) {
+        return "package " + PACKAGE + ";\n\n"
+                + "public class " + name + " {\n\n"
+                + "    public Object leaf;\n"
+                + "    public int initializations;\n\n"
+                + "    public void initialize() {\n"
+                + "        initializations++;\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private static StringBuilder indent(StringBuilder builder, int level) {
+        for (int i = 0; i < level; i++) {
+            builder.append("    ");
+        }
+        return builder;
+    }
+
+    private static void compile(Path directory, List<Path> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating a corpus requires a JDK, no Java compiler found");
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(sources);
+            List<String> options = Arrays.asList("-proc:none", "-d", directory.toString());
+            if (!compiler.getTask(null, fileManager, null, options, null, units).call()) {
+                throw new IllegalStateException("Compiling generated controllers in " + directory + " failed");
+            }
+        }
+    }
+
+    private static List<Class<?>> loadAll(ClassLoader classLoader, List<String> names) throws ClassNotFoundException {
+        List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            classes.add(classLoader.loadClass(PACKAGE + '.' + name));
+        }
+        return classes;
+    }
+
+}
@@ -0,0 +1,279 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import net.rgielen.fxweaver.core.FxWeaver;
+import net.rgielen.fxweaver.spring.SpringFxWeaver;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ScalabilityHarness measures how weaving with {@link SpringFxWeaver} scales with the number of views, their size and
+ * their <tt>fx:include</tt> nesting, using corpora generated by {@link FxmlCorpusGenerator}.
+ * <p/>
+ * For every corpus it reports
+ * <ul>
+ *     <li>the latency of the first, cold load of a root view and the p50 and p99 of warm loads,</li>
+ *     <li>the heap retained per woven view, measured as heap growth after a full GC while holding a view of every
+ *     root controller, divided by the number of views in the corpus,</li>
+ *     <li>the cost of a by-type Spring bean lookup of a controller, cold and warm, in a context with one prototype bean
+ *     definition per view.</li>
+ * </ul>
+ * Run <tt>main</tt> without arguments for the default matrix, growing from 20 to 2,000 views and up to 10 levels of
+ * includes, or pass corpus specs as <tt>views,nodes,depth,includeDepth,fanOut</tt>. The figures are meant to show
+ * where weaving stops scaling linearly, not to be compared across machines.
+ *
+ * @author Rene Gielen
+ */
+public class ScalabilityHarness {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private final int iterations;
+
+    /**
+     * Create a harness.
+     *
+     * @param iterations The number of warm loads per root view and warm lookups per controller
+     */
+    public ScalabilityHarness(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<CorpusSpec> specs = new ArrayList<>();
+        if (args.length == 0) {
+            specs.add(CorpusSpec.flat(20, 50, 5));
+            specs.add(CorpusSpec.flat(200, 50, 5));
+            specs.add(CorpusSpec.flat(2000, 50, 5));
+            specs.add(CorpusSpec.flat(20, 500, 10));
+            specs.add(CorpusSpec.of(20, 20, 3, 1, 1));
+            specs.add(CorpusSpec.of(20, 20, 3, 5, 1));
+            specs.add(CorpusSpec.of(20, 20, 3, 10, 1));
+            specs.add(CorpusSpec.of(20, 20, 3, 3, 2));
+            specs.add(CorpusSpec.of(20, 20, 3, 3, 4));
+        } else {
+            for (String arg : args) {
+                int[] values = Arrays.stream(arg.split(",")).mapToInt(Integer::parseInt).toArray();
+                specs.add(CorpusSpec.of(values[0], values[1], values[2], values[3], values[4]));
+            }
+        }
+        ScalabilityHarness harness = new ScalabilityHarness(20);
+        FxmlCorpusGenerator generator = new FxmlCorpusGenerator();
+        PrintStream out = System.out;
+        out.println(Result.HEADER);
+        for (CorpusSpec spec : specs) {
+            Path directory = Files.createTempDirectory("fxweaver-corpus");
+            try (Corpus corpus = generator.generate(directory, spec)) {
+                out.println(harness.run(corpus));
+            } finally {
+                delete(directory);
+            }
+        }
+    }
+
+    /**
+     * Measure a corpus.
+     *
+     * @param corpus The corpus to weave
+     * @return The measurements
+     * @throws Exception if weaving fails
+     */
+    public Result run(Corpus corpus) throws Exception {
+        return corpus.call(() -> {
+            try (GenericApplicationContext context = new GenericApplicationContext()) {
+                for (Class<?> controllerClass : corpus.getControllers()) {
+                    context.registerBean(controllerClass,
+                            definition -> definition.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+                }
+                context.refresh();
+                double[] lookup = measureLookups(context, corpus.getControllers());
+                FxWeaver fxWeaver = new SpringFxWeaver(context);
+                return measureLoads(fxWeaver, corpus, lookup);
+            }
+        });
+    }
+
+    private double[] measureLookups(GenericApplicationContext context, List<Class<?>> controllers) {
+        long start = System.nanoTime();
+        for (Class<?> controllerClass : controllers) {
+            context.getBean(controllerClass);
+        }
+        double cold = (System.nanoTime() - start) / (double) controllers.size();
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Class<?> controllerClass : controllers) {
+                context.getBean(controllerClass);
+            }
+        }
+        double warm = (System.nanoTime() - start) / (double) controllers.size() / iterations;
+        return new double[]{cold, warm};
+    }
+
+    private Result measureLoads(FxWeaver fxWeaver, Corpus corpus, double[] lookup) {
+        List<Class<?>> roots = corpus.getRootControllers();
+        long[] cold = new long[roots.size()];
+        int nodes = 0;
+        for (int i = 0; i < roots.size(); i++) {
+            long start = System.nanoTime();
+            Node view = fxWeaver.loadView(roots.get(i));
+            cold[i] = System.nanoTime() - start;
+            if (i == 0) {
+                nodes = countNodes(view);
+            }
+        }
+        long[] warm = new long[roots.size() * iterations];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < roots.size(); i++) {
+                long start = System.nanoTime();
+                fxWeaver.loadView(roots.get(i));
+                warm[iteration * roots.size() + i] = System.nanoTime() - start;
+            }
+        }
+
+        long before = usedHeapAfterGc();
+        List<Node> held = new ArrayList<>(roots.size());
+        for (Class<?> root : roots) {
+            held.add(fxWeaver.loadView(root));
+        }
+        long retained = usedHeapAfterGc() - before;
+        if (held.size() != roots.size()) {
+            throw new IllegalStateException("Unexpected number of views held");
+        }
+
+        Arrays.sort(cold);
+        Arrays.sort(warm);
+        return new Result(corpus.getSpec(), nodes, percentile(cold, 50), percentile(warm, 50), percentile(warm, 99),
+                retained / corpus.getSpec().getTotalViews(), lookup[0], lookup[1]);
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * The measurements of a single corpus. Latencies are nanoseconds per root view, i.e. including all views it
+     * includes.
+     */
+    public static final class Result {
+
+        static final String HEADER = String.format("%-60s %7s %7s %10s %10s %10s %10s %10s %10s",
+                "corpus", "views", "nodes", "cold(us)", "p50(us)", "p99(us)", "B/view", "lookupCold", "lookupWarm");
+
+        private final CorpusSpec spec;
+        private final int nodesPerTree;
+        private final long coldLoadNanos;
+        private final long p50LoadNanos;
+        private final long p99LoadNanos;
+        private final long retainedBytesPerView;
+        private final double coldLookupNanos;
+        private final double warmLookupNanos;
+
+        Result(CorpusSpec spec, int nodesPerTree, long coldLoadNanos, long p50LoadNanos, long p99LoadNanos,
+               long retainedBytesPerView, double coldLookupNanos, double warmLookupNanos) {
+            this.spec = spec;
+            this.nodesPerTree = nodesPerTree;
+            this.coldLoadNanos = coldLoadNanos;
+            this.p50LoadNanos = p50LoadNanos;
+            this.p99LoadNanos = p99LoadNanos;
+            this.retainedBytesPerView = retainedBytesPerView;
+            this.coldLookupNanos = coldLookupNanos;
+            this.warmLookupNanos = warmLookupNanos;
+        }
+
+        public CorpusSpec getSpec() {
+            return spec;
+        }
+
+        /**
+         * @return The number of nodes in the scene graph of a single woven root view, including all included views
+         */
+        public int getNodesPerTree() {
+            return nodesPerTree;
+        }
+
+        /**
+         * @return The median latency of the first load of a root view
+         */
+        public long getColdLoadNanos() {
+            return coldLoadNanos;
+        }
+
+        public long getP50LoadNanos() {
+            return p50LoadNanos;
+        }
+
+        public long getP99LoadNanos() {
+            return p99LoadNanos;
+        }
+
+        /**
+         * @return The estimated heap retained per woven view, not counting the views it includes. May be imprecise or
+         * even negative for small corpora.
+         */
+        public long getRetainedBytesPerView() {
+            return retainedBytesPerView;
+        }
+
+        /**
+         * @return The mean cost of the first by-type lookup of every controller bean
+         */
+        public double getColdLookupNanos() {
+            return coldLookupNanos;
+        }
+
+        /**
+         * @return The mean cost of a repeated by-type lookup of a controller bean
+         */
+        public double getWarmLookupNanos() {
+            return warmLookupNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-60s %7d %7d %10d %10d %10d %10d %10.0f %10.0f",
+                    spec, spec.getTotalViews(), nodesPerTree, coldLoadNanos / 1000, p50LoadNanos / 1000,
+                    p99LoadNanos / 1000, retainedBytesPerView, coldLookupNanos, warmLookupNanos);
+        }
+    }
+}
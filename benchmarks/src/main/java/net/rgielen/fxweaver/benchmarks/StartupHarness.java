@@ -0,0 +1,238 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import io.avaje.inject.BeanScope;
+import net.rgielen.fxweaver.avaje.AvajeFxContextLoader;
+import net.rgielen.fxweaver.benchmarks.startup.GreetingController;
+import net.rgielen.fxweaver.benchmarks.startup.StartupConfiguration;
+import net.rgielen.fxweaver.core.FxContextLoader;
+import net.rgielen.fxweaver.core.FxWeaver;
+import net.rgielen.fxweaver.spring.SpringFxContextLoader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * StartupHarness compares the cold start of {@link AvajeFxContextLoader} with {@link SpringFxContextLoader}, both
+ * providing the same bean graph from the <tt>startup</tt> package: two singletons and a prototype controller, plus the
+ * weaver itself for Spring.
+ * <p/>
+ * Every run starts a fresh JVM with the classpath of the harness, so class loading and JIT warm-up are part of the
+ * figures, as they are for a real application. Each run reports
+ * <ul>
+ *     <li>the time until <tt>start()</tt> of the context loader returns,</li>
+ *     <li>the time of the first <tt>loadView</tt> afterwards, which is dominated by loading <tt>FXMLLoader</tt> and
+ *     JavaFX and is the same for both containers,</li>
+ *     <li>the JVM uptime when the first view has been woven.</li>
+ * </ul>
+ * Run <tt>main</tt> with the number of runs per container, 10 by default. Medians and minimums are reported, as the
+ * maximums mostly show the noise of the machine.
+ *
+ * @author Rene Gielen
+ */
+public class StartupHarness {
+
+    static final String SPRING = "spring";
+    static final String AVAJE = "avaje";
+
+    private static final String MEASURE = "--measure";
+
+    private final int runs;
+
+    /**
+     * Create a harness.
+     *
+     * @param runs The number of JVMs to start per container
+     */
+    public StartupHarness(int runs) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs must be positive");
+        }
+        this.runs = runs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && MEASURE.equals(args[0])) {
+            System.out.println(measure(args[1]).toLine());
+            return;
+        }
+        StartupHarness harness = new StartupHarness(args.length > 0 ? Integer.parseInt(args[0]) : 10);
+        PrintStream out = System.out;
+        out.println(Result.HEADER);
+        out.println(harness.run(SPRING));
+        out.println(harness.run(AVAJE));
+    }
+
+    /**
+     * Start the given container in {@link #runs} fresh JVMs, one after another.
+     *
+     * @param container {@value #SPRING} or {@value #AVAJE}
+     * @return The medians and minimums of all runs
+     * @throws Exception if a run fails
+     */
+    public Result run(String container) throws Exception {
+        List<Measurement> measurements = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            measurements.add(fork(container));
+        }
+        return new Result(container, measurements);
+    }
+
+    /**
+     * Measure the start of a container in the current JVM. Only the first call per JVM measures a cold start.
+     *
+     * @param container {@value #SPRING} or {@value #AVAJE}
+     * @return The measurement
+     */
+    static Measurement measure(String container) {
+        long start = System.nanoTime();
+        FxWeaver fxWeaver = contextLoader(container).start();
+        long started = System.nanoTime();
+        fxWeaver.loadView(GreetingController.class);
+        long woven = System.nanoTime();
+        return new Measurement(started - start, woven - started,
+                ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000);
+    }
+
+    private static FxContextLoader<?> contextLoader(String container) {
+        switch (container) {
+            case SPRING:
+                return new SpringFxContextLoader(() -> new AnnotationConfigApplicationContext(StartupConfiguration.class));
+            case AVAJE:
+                return new AvajeFxContextLoader(() -> BeanScope.builder().build());
+            default:
+                throw new IllegalArgumentException("Unknown container " + container);
+        }
+    }
+
+    private static Measurement fork(String container) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                StartupHarness.class.getName(), MEASURE, container)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String line;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            line = reader.readLine();
+        }
+        if (process.waitFor() != 0 || line == null) {
+            throw new IllegalStateException("Measuring " + container + " failed with exit code " + process.exitValue());
+        }
+        return Measurement.fromLine(line);
+    }
+
+    /**
+     * A single cold start, in nanoseconds.
+     */
+    static final class Measurement {
+
+        private final long startNanos;
+        private final long firstViewNanos;
+        private final long uptimeNanos;
+
+        Measurement(long startNanos, long firstViewNanos, long uptimeNanos) {
+            this.startNanos = startNanos;
+            this.firstViewNanos = firstViewNanos;
+            this.uptimeNanos = uptimeNanos;
+        }
+
+        long getStartNanos() {
+            return startNanos;
+        }
+
+        long getFirstViewNanos() {
+            return firstViewNanos;
+        }
+
+        long getUptimeNanos() {
+            return uptimeNanos;
+        }
+
+        String toLine() {
+            return startNanos + " " + firstViewNanos + " " + uptimeNanos;
+        }
+
+        static Measurement fromLine(String line) {
+            long[] values = Arrays.stream(line.trim().split(" ")).mapToLong(Long::parseLong).toArray();
+            return new Measurement(values[0], values[1], values[2]);
+        }
+    }
+
+    /**
+     * The cold starts of a container. Times are milliseconds.
+     */
+    public static final class Result {
+
+        static final String HEADER = String.format("%-10s %5s %12s %12s %12s %12s %12s",
+                "container", "runs", "start p50", "start min", "view p50", "view min", "uptime p50");
+
+        private final String container;
+        private final int runs;
+        private final long[] start;
+        private final long[] firstView;
+        private final long[] uptime;
+
+        Result(String container, List<Measurement> measurements) {
+            this.container = container;
+            this.runs = measurements.size();
+            this.start = sorted(measurements.stream().mapToLong(Measurement::getStartNanos).toArray());
+            this.firstView = sorted(measurements.stream().mapToLong(Measurement::getFirstViewNanos).toArray());
+            this.uptime = sorted(measurements.stream().mapToLong(Measurement::getUptimeNanos).toArray());
+        }
+
+        public String getContainer() {
+            return container;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        /**
+         * @return The median time until <tt>start()</tt> of the context loader returned
+         */
+        public double getStartMillis() {
+            return toMillis(start[runs / 2]);
+        }
+
+        /**
+         * @return The median time of the first <tt>loadView</tt> after the start
+         */
+        public double getFirstViewMillis() {
+            return toMillis(firstView[runs / 2]);
+        }
+
+        /**
+         * @return The median JVM uptime after the first view has been woven
+         */
+        public double getUptimeMillis() {
+            return toMillis(uptime[runs / 2]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %5d %12.1f %12.1f %12.1f %12.1f %12.1f", container, runs,
+                    getStartMillis(), toMillis(start[0]), getFirstViewMillis(), toMillis(firstView[0]),
+                    getUptimeMillis());
+        }
+
+        private static long[] sorted(long[] values) {
+            Arrays.sort(values);
+            return values;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package net.rgielen.fxweaver.benchmarks.startup;
+
+import io.avaje.inject.Prototype;
+
+/**
+ * Prototype controller of the view woven once per startup.
+ *
+ * @author Rene Gielen
+ */
+@Prototype
+public class GreetingController {
+
+    private final GreetingService greetingService;
+
+    public GreetingController(GreetingService greetingService) {
+        this.greetingService = greetingService;
+    }
+
+    public GreetingService getGreetingService() {
+        return greetingService;
+    }
+}
@@ -0,0 +1,16 @@
+package net.rgielen.fxweaver.benchmarks.startup;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Singleton at the bottom of the bean graph started by {@link net.rgielen.fxweaver.benchmarks.StartupHarness}.
+ *
+ * @author Rene Gielen
+ */
+@Singleton
+public class GreetingRepository {
+
+    public String findGreeting() {
+        return "Hello";
+    }
+}
@@ -0,0 +1,22 @@
+package net.rgielen.fxweaver.benchmarks.startup;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Singleton depending on {@link GreetingRepository}.
+ *
+ * @author Rene Gielen
+ */
+@Singleton
+public class GreetingService {
+
+    private final GreetingRepository repository;
+
+    public GreetingService(GreetingRepository repository) {
+        this.repository = repository;
+    }
+
+    public String greet(String name) {
+        return repository.findGreeting() + " " + name;
+    }
+}
@@ -0,0 +1,38 @@
+package net.rgielen.fxweaver.benchmarks.startup;
+
+import net.rgielen.fxweaver.spring.SpringFxWeaver;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+
+/**
+ * Spring configuration equivalent to the bean graph Avaje Inject generates from the annotations of this package.
+ *
+ * @author Rene Gielen
+ */
+@Configuration
+public class StartupConfiguration {
+
+    @Bean
+    public GreetingRepository greetingRepository() {
+        return new GreetingRepository();
+    }
+
+    @Bean
+    public GreetingService greetingService(GreetingRepository repository) {
+        return new GreetingService(repository);
+    }
+
+    @Bean
+    @Scope(BeanDefinition.SCOPE_PROTOTYPE)
+    public GreetingController greetingController(GreetingService greetingService) {
+        return new GreetingController(greetingService);
+    }
+
+    @Bean
+    public SpringFxWeaver fxWeaver(ConfigurableApplicationContext applicationContext) {
+        return new SpringFxWeaver(applicationContext);
+    }
+}
@@ -0,0 +1,39 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import net.rgielen.fxweaver.benchmarks.FxViewComplexityReport.Entry;
+import net.rgielen.fxweaver.benchmarks.FxViewComplexityReport.Report;
+import net.rgielen.fxweaver.benchmarks.report.HeavyController;
+import net.rgielen.fxweaver.benchmarks.report.InjectedController;
+import net.rgielen.fxweaver.benchmarks.report.LightController;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxViewComplexityReportTest {
+
+    @Test
+    public void annotatedControllersAreReportedHeaviestFirst() throws Exception {
+        Path classes = Paths.get(HeavyController.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        Report report = new FxViewComplexityReport(false).analyze(List.of(classes));
+
+        assertThat(report.getAnalyzed()).extracting(Entry::getControllerClassName)
+                .containsExactly(HeavyController.class.getName(), LightController.class.getName());
+        assertThat(report.getAnalyzed().get(0).getComplexity().getNodeCount()).isEqualTo(5);
+        assertThat(report.getAnalyzed().get(0).getComplexity().getMaxDepth()).isEqualTo(3);
+        assertThat(report.getSkipped()).extracting(Entry::getControllerClassName)
+                .containsExactly(InjectedController.class.getName());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        report.print(new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains(HeavyController.class.getName(), "Region=3", "skipped " + InjectedController.class.getName());
+    }
+}
@@ -0,0 +1,68 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import net.rgielen.fxweaver.core.FxControllerAndView;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxmlCorpusGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generatedCorpusCanBeWovenIncludingNestedIncludes() throws Exception {
+        CorpusSpec spec = CorpusSpec.of(2, 10, 3, 2, 2);
+
+        try (Corpus corpus = new FxmlCorpusGenerator().generate(folder.getRoot().toPath(), spec)) {
+            assertThat(corpus.getRootControllers()).hasSize(2);
+            assertThat(corpus.getControllers()).hasSize(spec.getTotalViews()).hasSize(14);
+
+            FxWeaver fxWeaver = new FxWeaver(FxmlCorpusGeneratorTest::instantiate, () -> {});
+            FxControllerAndView<?, Node> controllerAndView =
+                    corpus.call(() -> fxWeaver.load(corpus.getRootControllers().get(0)));
+
+            Object controller = controllerAndView.getController();
+            assertThat(controller.getClass().getField("leaf").get(controller)).isInstanceOf(Node.class);
+            assertThat(controller.getClass().getField("initializations").get(controller)).isEqualTo(1);
+            assertThat(countNodes(controllerAndView.getView().get())).isEqualTo(7 * 10);
+        }
+    }
+
+    @Test
+    public void harnessReportsMeasurementsPerCorpus() throws Exception {
+        CorpusSpec spec = CorpusSpec.of(3, 20, 4, 1, 2);
+
+        try (Corpus corpus = new FxmlCorpusGenerator().generate(folder.getRoot().toPath(), spec)) {
+            ScalabilityHarness.Result result = new ScalabilityHarness(2).run(corpus);
+
+            assertThat(result.getNodesPerTree()).isEqualTo(3 * 20);
+            assertThat(result.getP50LoadNanos()).isPositive().isLessThanOrEqualTo(result.getP99LoadNanos());
+            assertThat(result.getWarmLookupNanos()).isPositive();
+            assertThat(result.toString()).contains("views=3");
+        }
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,31 @@
+package net.rgielen.fxweaver.benchmarks;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StartupHarnessTest {
+
+    @Test
+    public void forkedRunsAreReportedPerContainer() throws Exception {
+        StartupHarness.Result result = new StartupHarness(1).run(StartupHarness.AVAJE);
+
+        assertThat(result.getContainer()).isEqualTo("avaje");
+        assertThat(result.getRuns()).isEqualTo(1);
+        assertThat(result.getStartMillis()).isPositive();
+        assertThat(result.getFirstViewMillis()).isPositive();
+        assertThat(result.getUptimeMillis()).isGreaterThan(result.getStartMillis() + result.getFirstViewMillis());
+    }
+
+    @Test
+    public void bothContainersWeaveTheSameView() throws Exception {
+        assertThat(StartupHarness.measure(StartupHarness.SPRING).getStartNanos()).isPositive();
+        assertThat(StartupHarness.measure(StartupHarness.AVAJE).getStartNanos()).isPositive();
+    }
+
+    @Test
+    public void unknownContainersAreRejected() throws Exception {
+        assertThatThrownBy(() -> StartupHarness.measure("guice")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
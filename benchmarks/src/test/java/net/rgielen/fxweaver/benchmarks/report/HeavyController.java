@@ -0,0 +1,7 @@
+package net.rgielen.fxweaver.benchmarks.report;
+
+import net.rgielen.fxweaver.core.FxmlView;
+
+@FxmlView
+public class HeavyController {
+}
@@ -0,0 +1,10 @@
+package net.rgielen.fxweaver.benchmarks.report;
+
+import net.rgielen.fxweaver.core.FxmlView;
+
+@FxmlView
+public class InjectedController {
+
+    public InjectedController(Object dependency) {
+    }
+}
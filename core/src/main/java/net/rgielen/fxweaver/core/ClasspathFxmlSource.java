@@ -0,0 +1,54 @@
+package net.rgielen.fxweaver.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link FxmlSource} resolving views through {@link Class#getResource(String)}, the same way {@link FxWeaver} does
+ * without any source. Useful to give classpath views precedence over, or fall back to them after, other sources.
+ * <p/>
+ * Views in class directories are read and cached like by {@link DirectoryFxmlSource}. Views in archives are read once
+ * and cached for the lifetime of the source, since archives on the classpath do not change.
+ *
+ * @author Rene Gielen
+ */
+public class ClasspathFxmlSource implements FxmlSource {
+
+    private final FxmlFileCache fileCache = new FxmlFileCache(DirectoryFxmlSource.DEFAULT_MAP_THRESHOLD);
+    private final Map<String, FxmlContent> archiveCache = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<FxmlContent> resolve(Class<?> controllerClass, String location) throws IOException {
+        URL url = controllerClass.getResource(location);
+        if (url == null) {
+            return Optional.empty();
+        }
+        if ("file".equals(url.getProtocol())) {
+            return Optional.of(fileCache.get(toPath(url)));
+        }
+        FxmlContent content = archiveCache.get(url.toExternalForm());
+        if (content == null) {
+            try (InputStream in = url.openStream()) {
+                content = new FxmlContent(url, ByteBuffer.wrap(in.readAllBytes()));
+            }
+            archiveCache.put(url.toExternalForm(), content);
+        }
+        return Optional.of(content);
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid file URL " + url, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package net.rgielen.fxweaver.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * An {@link FxmlSource} reading views from a directory laid out like the classpath, e.g. the view directory of a
+ * plugin.
+ * <p/>
+ * Files are read through a {@link java.nio.channels.FileChannel}, large files are memory-mapped. Content is cached
+ * and only read again if size or modification time of a file changed. Views resolved from a directory refer to
+ * includes, images and stylesheets relative to their file location.
+ *
+ * @author Rene Gielen
+ */
+public class DirectoryFxmlSource implements FxmlSource {
+
+    /**
+     * Files of at least this size are memory-mapped by default.
+     */
+    public static final long DEFAULT_MAP_THRESHOLD = 64 * 1024;
+
+    private final Path root;
+    private final FxmlFileCache cache;
+
+    /**
+     * Create a source memory-mapping files of at least {@value #DEFAULT_MAP_THRESHOLD} bytes.
+     *
+     * @param root The directory to resolve views in
+     */
+    public DirectoryFxmlSource(Path root) {
+        this(root, DEFAULT_MAP_THRESHOLD);
+    }
+
+    /**
+     * Create a source.
+     *
+     * @param root         The directory to resolve views in
+     * @param mapThreshold The minimum size of files to memory-map instead of reading them onto the heap
+     */
+    public DirectoryFxmlSource(Path root, long mapThreshold) {
+        this.root = root.toAbsolutePath().normalize();
+        this.cache = new FxmlFileCache(mapThreshold);
+    }
+
+    @Override
+    public Optional<FxmlContent> resolve(Class<?> controllerClass, String location) throws IOException {
+        Path file = root.resolve(FxmlSource.resourceName(controllerClass, location)).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(cache.get(file));
+    }
+
+    /**
+     * Drop all cached content.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryFxmlSource{" + root + '}';
+    }
+}
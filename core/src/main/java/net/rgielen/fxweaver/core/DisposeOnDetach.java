@@ -0,0 +1,95 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Disposes the {@link FxDisposable} controllers of a woven view once the view has left its scene for good.
+ * <p/>
+ * Controllers are disposed only once. A view attached to a scene again after disposal is not re-armed, since its
+ * controllers have released their resources by then, but reported as a likely mistake.
+ *
+ * @author Rene Gielen
+ */
+final class DisposeOnDetach implements ChangeListener<Scene> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DisposeOnDetach.class);
+
+    private final Node view;
+    private final List<FxDisposable> disposables;
+    private boolean disposed;
+
+    private DisposeOnDetach(Node view, List<FxDisposable> disposables) {
+        this.view = view;
+        this.disposables = disposables;
+    }
+
+    static void register(Node view, List<FxDisposable> disposables) {
+        if (view != null && !disposables.isEmpty()) {
+            DisposeOnDetach listener = new DisposeOnDetach(view, disposables);
+            view.getProperties().put(DisposeOnDetach.class, listener);
+            view.sceneProperty().addListener(listener);
+        }
+    }
+
+    /**
+     * Dispose the controllers of a view right away, whether it is still attached or not, e.g. once it has been replaced
+     * by a reloaded version.
+     *
+     * @param view     The view to dispose the controllers of
+     * @param retained A controller that has been woven into another view since and must not be disposed. May be
+     *                 <tt>null</tt>.
+     */
+    static void disposeNow(Node view, Object retained) {
+        Object listener = view.getProperties().get(DisposeOnDetach.class);
+        if (listener instanceof DisposeOnDetach) {
+            ((DisposeOnDetach) listener).dispose(retained);
+        }
+    }
+
+    @Override
+    public void changed(ObservableValue<? extends Scene> observable, Scene oldScene, Scene newScene) {
+        if (disposed) {
+            if (newScene != null) {
+                LOG.warn("View {} attached to a scene again after its controllers {} were disposed. Views must not be "
+                        + "reused once they have been detached for good.", view, disposables);
+            }
+            return;
+        }
+        if (newScene == null) {
+            // a view being moved to another parent is detached only until the move is complete
+            Platform.runLater(this::disposeIfDetached);
+        }
+    }
+
+    private void disposeIfDetached() {
+        if (view.getScene() == null) {
+            dispose(null);
+        }
+    }
+
+    private void dispose(Object retained) {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        // the listener stays registered to warn about views reused after disposal
+        for (FxDisposable disposable : disposables) {
+            if (disposable == retained) {
+                continue;
+            }
+            try {
+                disposable.dispose();
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to dispose " + disposable, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package net.rgielen.fxweaver.core;
+
+/**
+ * A controller of a woven cell view, as used by {@link FxListCellFactory} and {@link FxTableCellFactory}.
+ * <p/>
+ * Cells of virtualized controls such as {@link javafx.scene.control.ListView} are reused for different items while
+ * scrolling. The view of such a cell is woven once, when the cell is created, and its controller is rebound to the
+ * item currently displayed by the cell on every call to {@link #updateItem(Object, boolean)}. Controllers thus need to
+ * be prototype scoped beans, and must not keep state that belongs to a previous item.
+ * <p/>
+ * Example:
+ * <pre>
+ *     &#64;Component
+ *     &#64;Scope("prototype")
+ *     &#64;FxmlView
+ *     public class PersonCellController implements FxCellController&lt;Person&gt; {
+ *         &#64;FXML
+ *         private Label name;
+ *
+ *         public void updateItem(Person person, boolean empty) {
+ *             name.setText(empty ? null : person.getName());
+ *         }
+ *     }
+ * </pre>
+ *
+ * @param <T> The item type
+ * @author Rene Gielen
+ */
+public interface FxCellController<T> {
+
+    /**
+     * Show the given item in the view of this controller. Called on the JavaFX application thread whenever the cell
+     * holding the view displays another item, and thus frequently while scrolling.
+     *
+     * @param item  The item to show. May be <tt>null</tt>, especially if the cell is empty.
+     * @param empty Whether the cell is empty, i.e. does not display any item. The view is hidden in that case.
+     */
+    void updateItem(T item, boolean empty);
+
+}
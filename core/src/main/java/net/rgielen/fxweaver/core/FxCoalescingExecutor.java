@@ -0,0 +1,172 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FxCoalescingExecutor runs UI updates submitted from background threads on the JavaFX application thread, without
+ * flooding its event queue.
+ * <p/>
+ * Instead of one {@link Platform#runLater(Runnable)} per update, all updates submitted until the JavaFX application
+ * thread gets to them are collected and run as a single batch, so that at most one <tt>runLater</tt> is pending at any
+ * time. Updates submitted with a key are coalesced: if an update for the same key is still waiting, it is replaced,
+ * so that only the latest update per key is applied per batch. Updates run in the order their key was first submitted
+ * to the batch. Queue depth and coalescing figures are exposed through the {@link FxCoalescingExecutorMBean} JMX
+ * interface.
+ * <p/>
+ * Example, applying at most one price update per instrument and pulse:
+ * <pre>
+ *     marketData.onTick(tick -&gt; uiExecutor.execute(tick.getInstrument(),
+ *             () -&gt; priceLabel(tick.getInstrument()).setText(tick.getPrice())));
+ * </pre>
+ *
+ * @author Rene Gielen
+ */
+public class FxCoalescingExecutor implements Executor, FxCoalescingExecutorMBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxCoalescingExecutor.class);
+
+    /**
+     * The JMX object name used by {@link #registerMBean()}.
+     */
+    public static final String OBJECT_NAME = "net.rgielen.fxweaver:type=FxCoalescingExecutor";
+
+    private final Executor fxExecutor;
+    private Map<Object, Runnable> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+    private int maxQueueDepth;
+    private long submittedCount;
+    private long coalescedCount;
+    private long batchCount;
+    private long longestBatchNanos;
+
+    /**
+     * Create an executor running its batches through {@link Platform#runLater(Runnable)}.
+     */
+    public FxCoalescingExecutor() {
+        this(Platform::runLater);
+    }
+
+    FxCoalescingExecutor(Executor fxExecutor) {
+        this.fxExecutor = fxExecutor;
+    }
+
+    /**
+     * Run an update with the next batch. Updates submitted this way are never coalesced.
+     *
+     * @param command The update to run on the JavaFX application thread
+     */
+    @Override
+    public void execute(Runnable command) {
+        submit(new Object(), command);
+    }
+
+    /**
+     * Run an update with the next batch, replacing an update for the same key still waiting for it.
+     *
+     * @param key     The key identifying what is updated, e.g. the row or instrument, compared by <tt>equals</tt>
+     * @param command The update to run on the JavaFX application thread
+     */
+    public void execute(Object key, Runnable command) {
+        submit(Objects.requireNonNull(key, "key"), command);
+    }
+
+    private void submit(Object key, Runnable command) {
+        Objects.requireNonNull(command, "command");
+        boolean schedule;
+        synchronized (this) {
+            submittedCount++;
+            if (pending.put(key, command) != null) {
+                coalescedCount++;
+            }
+            maxQueueDepth = Math.max(maxQueueDepth, pending.size());
+            schedule = !scheduled;
+            scheduled = true;
+        }
+        if (schedule) {
+            try {
+                fxExecutor.execute(this::runBatch);
+            } catch (RuntimeException e) {
+                // keep the updates for the next attempt to schedule a batch
+                synchronized (this) {
+                    scheduled = false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void runBatch() {
+        Map<Object, Runnable> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            scheduled = false;
+        }
+        long start = System.nanoTime();
+        for (Runnable command : batch.values()) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                LOG.warn("UI update failed", e);
+            }
+        }
+        long duration = System.nanoTime() - start;
+        synchronized (this) {
+            batchCount++;
+            longestBatchNanos = Math.max(longestBatchNanos, duration);
+        }
+    }
+
+    /**
+     * Register this instance with the platform MBean server as {@value #OBJECT_NAME}.
+     */
+    public void registerMBean() {
+        MBeans.register(this, OBJECT_NAME);
+    }
+
+    /**
+     * Unregister this instance from the platform MBean server, unless another instance has been registered as
+     * {@value #OBJECT_NAME} since.
+     */
+    public void unregisterMBean() {
+        MBeans.unregister(this, OBJECT_NAME);
+    }
+
+    @Override
+    public synchronized int getQueueDepth() {
+        return pending.size();
+    }
+
+    @Override
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    @Override
+    public synchronized long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    @Override
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    @Override
+    public synchronized long getBatchCount() {
+        return batchCount;
+    }
+
+    @Override
+    public synchronized long getLongestBatchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(longestBatchNanos);
+    }
+}
@@ -0,0 +1,40 @@
+package net.rgielen.fxweaver.core;
+
+/**
+ * JMX management interface of {@link FxCoalescingExecutor}.
+ *
+ * @author Rene Gielen
+ */
+public interface FxCoalescingExecutorMBean {
+
+    /**
+     * @return The number of updates waiting for the next batch
+     */
+    int getQueueDepth();
+
+    /**
+     * @return The highest number of updates that were waiting for a batch at the same time
+     */
+    int getMaxQueueDepth();
+
+    /**
+     * @return The number of updates submitted so far
+     */
+    long getSubmittedCount();
+
+    /**
+     * @return The number of keyed updates replaced by a later update for the same key before they were run
+     */
+    long getCoalescedCount();
+
+    /**
+     * @return The number of batches run on the JavaFX application thread so far
+     */
+    long getBatchCount();
+
+    /**
+     * @return The duration of the longest batch run so far, in milliseconds
+     */
+    long getLongestBatchMillis();
+
+}
@@ -0,0 +1,48 @@
+package net.rgielen.fxweaver.core;
+
+import java.lang.annotation.*;
+
+/**
+ * Controllers annotated with @FxCodeView declare that their view is built in plain Java by a {@link FxViewFactory},
+ * instead of being loaded from a FXML file as with {@link FxmlView}.
+ * <ul>
+ *     <li>
+ *         When no {@link FxCodeView#value()} is given, the controller itself has to implement {@link FxViewFactory}.
+ *     </li>
+ *     <li>
+ *         When a {@link FxCodeView#value()} is given, the factory is obtained as bean from the bean factory of
+ *         {@link FxWeaver}.
+ *     </li>
+ * </ul>
+ * <p/>
+ * Examples:
+ * <pre>
+ *     &#64;FxCodeView
+ *     public class Foo implements FxViewFactory&lt;Foo, Pane&gt; {
+ *          // the controller builds its own view
+ *     }
+ *
+ *     &#64;FxCodeView(FooView.class)
+ *     public class Foo {
+ *          // FooView builds the view for Foo
+ *     }
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxViewFactory
+ * @see FxWeaver#load(Class)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FxCodeView {
+
+    /**
+     * The factory building the view.
+     * <p/>
+     * If not given, the controller class itself is used as factory.
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends FxViewFactory> value() default FxViewFactory.class;
+
+}
@@ -15,4 +15,23 @@ public interface FxControllerAndView<C, V extends Node> {
 
     Optional<V> getView();
 
+    /**
+     * Look up a node of the view by its <tt>fx:id</tt>.
+     * <p/>
+     * Views loaded from FXML by {@link FxWeaver} come with an index of all nodes declaring an <tt>fx:id</tt>, built
+     * during load, so no scene graph traversal is needed. Nodes added to the view later on are not part of that index.
+     * Implementations without such an index fall back to {@link Node#lookup(String)}.
+     *
+     * @param fxId     The <tt>fx:id</tt> of the node
+     * @param nodeType The expected type of the node
+     * @param <N>      The node type
+     * @return The node, or {@link Optional#empty()} if no node with the given <tt>fx:id</tt> exists
+     * @throws ClassCastException if the node found is not of the expected type
+     */
+    default <N extends Node> Optional<N> lookup(String fxId, Class<N> nodeType) {
+        return getView()
+                .map(view -> view.lookup("#" + fxId))
+                .map(nodeType::cast);
+    }
+
 }
@@ -0,0 +1,181 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * FxControllerAndViewProvider hands out a new {@link FxControllerAndView} of a controller class on every call to
+ * {@link #get()}, e.g. for every opened dialog or every row, keeping a small queue of instances loaded ahead of time.
+ * <p/>
+ * Whenever an instance is taken, the queue is refilled through the refill executor, one load per task, so that the
+ * next call rarely has to wait for a load. By default, refill tasks are posted with {@link Platform#runLater(Runnable)}
+ * and thus run on the JavaFX application thread once it is done with the current event. If the queue is empty, the
+ * instance is loaded right away. Nothing is loaded ahead of time before the first call to {@link #get()} or
+ * {@link #prefetch()}, so that providers can be created during dependency injection before the JavaFX toolkit runs.
+ * <p/>
+ * Queued instances are shared by nobody, which requires the controller class to be a prototype scoped bean. Queued
+ * views have never been attached to a scene and are thus never disposed.
+ * <p/>
+ * Example:
+ * <pre>
+ *     FxControllerAndViewProvider&lt;DetailsController, VBox&gt; details = fxWeaver.provider(DetailsController.class);
+ *     ...
+ *     table.setOnMouseClicked(e -&gt; showDialog(details.get().getView().get()));
+ * </pre>
+ *
+ * @param <C> The controller type
+ * @param <V> The view type
+ * @author Rene Gielen
+ * @see FxWeaver#provider(Class)
+ */
+public class FxControllerAndViewProvider<C, V extends Node> implements Supplier<FxControllerAndView<C, V>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxControllerAndViewProvider.class);
+
+    /**
+     * The number of instances kept queued by default.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 2;
+
+    private final FxWeaver fxWeaver;
+    private final Class<C> controllerClass;
+    private final int queueSize;
+    private final Executor refillExecutor;
+    private final Queue<FxControllerAndView<C, V>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final AtomicBoolean tracked = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a provider keeping {@value #DEFAULT_QUEUE_SIZE} instances queued, refilled on the JavaFX application
+     * thread.
+     *
+     * @param fxWeaver        The weaver to load instances with
+     * @param controllerClass The controller class to provide instances of
+     */
+    public FxControllerAndViewProvider(FxWeaver fxWeaver, Class<C> controllerClass) {
+        this(fxWeaver, controllerClass, DEFAULT_QUEUE_SIZE, Platform::runLater);
+    }
+
+    /**
+     * Create a provider.
+     *
+     * @param fxWeaver        The weaver to load instances with
+     * @param controllerClass The controller class to provide instances of
+     * @param queueSize       The number of instances to keep queued. <tt>0</tt> loads every instance on demand.
+     * @param refillExecutor  The executor to run refill tasks with. Views that require the JavaFX application thread
+     *                        for loading must be refilled on it.
+     */
+    public FxControllerAndViewProvider(FxWeaver fxWeaver, Class<C> controllerClass, int queueSize,
+                                       Executor refillExecutor) {
+        if (queueSize < 0) {
+            throw new IllegalArgumentException("queueSize must not be negative");
+        }
+        this.fxWeaver = fxWeaver;
+        this.controllerClass = controllerClass;
+        this.queueSize = queueSize;
+        this.refillExecutor = refillExecutor;
+    }
+
+    /**
+     * Take a queued instance, or load one right away if none is queued, and trigger refilling the queue.
+     *
+     * @return A new instance, not handed out before
+     */
+    @Override
+    public FxControllerAndView<C, V> get() {
+        FxControllerAndView<C, V> controllerAndView = queue.poll();
+        if (controllerAndView != null) {
+            queued.decrementAndGet();
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            controllerAndView = fxWeaver.load(controllerClass);
+        }
+        prefetch();
+        return controllerAndView;
+    }
+
+    /**
+     * Start filling the queue, e.g. while the application is idle after startup.
+     */
+    public void prefetch() {
+        if (queueSize > 0 && tracked.compareAndSet(false, true)) {
+            fxWeaver.getStatistics().trackProvider(controllerClass, this);
+        }
+        if (queued.get() < queueSize && refilling.compareAndSet(false, true)) {
+            schedule();
+        }
+    }
+
+    /**
+     * @return The number of instances to keep queued
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return The number of instances currently queued
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return The number of instances handed out from the queue
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of instances that had to be loaded on demand because the queue was empty
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public Class<C> getControllerClass() {
+        return controllerClass;
+    }
+
+    private void schedule() {
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to refill queue of {}", controllerClass.getName(), e);
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            queue.add(fxWeaver.load(controllerClass));
+            queued.incrementAndGet();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to load {} ahead of time", controllerClass.getName(), e);
+            refilling.set(false);
+            return;
+        }
+        if (queued.get() < queueSize) {
+            schedule();
+        } else {
+            refilling.set(false);
+            // an instance taken between the check and resetting the flag must not leave the queue short
+            prefetch();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.rgielen.fxweaver.core;
+
+/**
+ * Controllers implementing FxDisposable get notified when the view woven for them by {@link FxWeaver} has left its
+ * scene for good, giving them the chance to unregister listeners and bindings they created in <tt>initialize</tt>.
+ * <p/>
+ * A view is considered gone for good if it is still detached from any scene after the pending JavaFX events have been
+ * processed, so moving a view from one parent to another does not trigger disposal. Views that never get attached to a
+ * scene are never disposed. Controllers of views included with <tt>fx:include</tt> are disposed together with the
+ * including view.
+ * <p/>
+ * Controllers are disposed only once, so views must not be cached and attached to a scene again after they have been
+ * detached for good. Load a new view instead, or keep the view attached, e.g. hidden, while it is not shown.
+ * <p/>
+ * Example, using {@link FxSubscriptions} to keep track of registrations:
+ * <pre>
+ *     &#64;FxmlView
+ *     public class PriceController implements FxDisposable {
+ *
+ *         private final FxSubscriptions subscriptions = new FxSubscriptions();
+ *
+ *         &#64;FXML
+ *         public void initialize() {
+ *             subscriptions.bind(priceLabel.textProperty(), model.priceProperty().asString());
+ *         }
+ *
+ *         &#64;Override
+ *         public void dispose() {
+ *             subscriptions.dispose();
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxSubscriptions
+ */
+public interface FxDisposable {
+
+    /**
+     * Release all resources that would otherwise keep the view reachable. Called on the JavaFX application thread.
+     */
+    void dispose();
+
+}
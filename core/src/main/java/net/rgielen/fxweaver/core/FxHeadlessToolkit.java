@@ -0,0 +1,59 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Starts the JavaFX toolkit without a display, e.g. for tests, batch rendering or reports on build servers.
+ * <p/>
+ * Unless another glass platform is configured through the <tt>glass.platform</tt> system property, the toolkit is run
+ * headless on Monocle with software rendering, which requires <tt>org.testfx:openjfx-monocle</tt> on the classpath.
+ * Implicit exit is disabled, so that the toolkit keeps running when the last window is closed.
+ *
+ * @author Rene Gielen
+ */
+public final class FxHeadlessToolkit {
+
+    /**
+     * The message of the exception thrown by {@link Platform#startup(Runnable)} if the toolkit is running already.
+     */
+    private static final String ALREADY_INITIALIZED = "Toolkit already initialized";
+
+    private FxHeadlessToolkit() {
+    }
+
+    /**
+     * Start the toolkit and wait for it to run. Does nothing if the toolkit is running already.
+     *
+     * @throws InterruptedException  if interrupted while waiting for the toolkit to start
+     * @throws IllegalStateException if the toolkit did not start within 30 seconds, or cannot be started any more
+     *                               because {@link Platform#exit()} has been called
+     */
+    public static void start() throws InterruptedException {
+        start(Platform::startup);
+    }
+
+    static synchronized void start(Consumer<Runnable> startup) throws InterruptedException {
+        if (System.getProperty("glass.platform") == null) {
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            startup.accept(latch::countDown);
+        } catch (IllegalStateException e) {
+            if (!ALREADY_INITIALIZED.equals(e.getMessage())) {
+                throw e;
+            }
+            latch.countDown();
+        }
+        if (!latch.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("JavaFX toolkit did not start within 30 seconds");
+        }
+        Platform.setImplicitExit(false);
+    }
+}
@@ -0,0 +1,429 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * FxHotReloader is a development facility re-weaving live views in place when their FXML or CSS source files change,
+ * without restarting the application.
+ * <p/>
+ * The given source roots, e.g. <tt>src/main/resources</tt>, are watched for changes. A changed file is mapped to its
+ * classpath resource name relative to its source root, and matched against the locations of all live views registered
+ * by {@link FxWeaver#setHotReloader(FxHotReloader)}:
+ * <ul>
+ * <li>Views loaded from a changed FXML file are loaded again from the source file, reusing their controller instance
+ * and re-running its <tt>initialize</tt> method. The new view replaces the old one in its parent, keeping its layout
+ * constraints, or as scene root. Once the new view is in place, the {@link FxDisposable} controllers of views
+ * included by the old view are disposed. The reused controller is not disposed, since it has been initialized for the
+ * new view by then, so registrations its first <tt>initialize</tt> made towards the old nodes stay in place until the
+ * new view is disposed. Views included with <tt>fx:include</tt> are re-woven with the view including them.</li>
+ * <li>Stylesheets of all showing scenes and their nodes referring to a changed CSS file are replaced by the source
+ * file with a version query, e.g. <tt>app.css?v=2</tt>, so that JavaFX does not serve the stale stylesheet from its
+ * cache.</li>
+ * </ul>
+ * Caches of the registered weavers are cleared after every change. If a changed FXML file cannot be loaded, the error
+ * is logged and the old view is kept, with the <tt>@FXML</tt> fields of its controller restored to its nodes. Changes are collected until the source roots have been quiet for a short while,
+ * so that saving several files at once reloads each view only once.
+ * <p/>
+ * Example:
+ * <pre>
+ *     FxHotReloader hotReloader = new FxHotReloader(Paths.get("src/main/resources"));
+ *     hotReloader.start();
+ *     fxWeaver.setHotReloader(hotReloader);
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setHotReloader(FxHotReloader)
+ */
+public class FxHotReloader implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxHotReloader.class);
+
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(100);
+
+    private final List<Path> sourceRoots;
+    private final Executor fxExecutor;
+    private final List<LiveView> liveViews = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
+    private int stylesheetVersion;
+    private volatile int reloadCount;
+
+    /**
+     * Create a reloader.
+     *
+     * @param sourceRoots The source directories holding FXML and CSS files the way they are laid out on the classpath
+     */
+    public FxHotReloader(Path... sourceRoots) {
+        this(Platform::runLater, sourceRoots);
+    }
+
+    FxHotReloader(Executor fxExecutor, Path... sourceRoots) {
+        this.fxExecutor = fxExecutor;
+        this.sourceRoots = Stream.of(sourceRoots)
+                .map(root -> root.toAbsolutePath().normalize())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Start watching the source roots on a daemon thread.
+     *
+     * @throws IOException if the source roots cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        close();
+        watchService = FileSystems.getDefault().newWatchService();
+        WatchService service = watchService;
+        for (Path root : sourceRoots) {
+            registerAll(service, root);
+        }
+        Thread watcher = new Thread(() -> watch(service), "fxweaver-hot-reload");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stop watching the source roots.
+     */
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.debug("Unable to close watch service", e);
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * @return The number of live views and stylesheet references replaced so far
+     */
+    public int getReloadCount() {
+        return reloadCount;
+    }
+
+    /**
+     * @return The number of registered views still alive
+     */
+    public int getLiveViewCount() {
+        liveViews.removeIf(LiveView::isCollected);
+        return liveViews.size();
+    }
+
+    void track(FxWeaver fxWeaver, URL location, ResourceBundle resourceBundle,
+               FxControllerAndView<?, ?> controllerAndView) {
+        Node view = controllerAndView.getView().orElse(null);
+        if (view != null && controllerAndView.getController() != null) {
+            liveViews.removeIf(LiveView::isCollected);
+            liveViews.add(new LiveView(fxWeaver, location, resourceBundle, controllerAndView.getController(), view));
+        }
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(service, service.take(), changed);
+                WatchKey key;
+                while ((key = service.poll(QUIET_PERIOD.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    collect(service, key, changed);
+                }
+                if (!changed.isEmpty()) {
+                    fxExecutor.execute(() -> changed(changed));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Stopped watching {}", sourceRoots);
+        }
+    }
+
+    private void collect(WatchService service, WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (Files.isDirectory(file)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    try {
+                        registerAll(service, file);
+                    } catch (IOException e) {
+                        LOG.warn("Unable to watch {}", file, e);
+                    }
+                }
+            } else if (isSource(file) && Files.exists(file)) {
+                changed.add(file);
+            }
+        }
+        key.reset();
+    }
+
+    private static void registerAll(WatchService service, Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    /**
+     * Re-weave the views and stylesheets affected by the given changed source files. Must be called on the JavaFX
+     * application thread.
+     */
+    void changed(Collection<Path> files) {
+        Set<FxWeaver> weavers = new LinkedHashSet<>();
+        liveViews.removeIf(LiveView::isCollected);
+        for (Path file : files) {
+            String resource = resourceName(file);
+            if (resource == null) {
+                continue;
+            }
+            LOG.info("Reloading {}", resource);
+            if (resource.endsWith(".css")) {
+                reloadStylesheet(resource, file);
+                liveViews.forEach(liveView -> weavers.add(liveView.fxWeaver));
+            } else {
+                for (LiveView liveView : liveViews) {
+                    if (matches(liveView.location.toExternalForm(), resource) && reloadView(liveView, file)) {
+                        weavers.add(liveView.fxWeaver);
+                    }
+                }
+            }
+        }
+        weavers.forEach(FxWeaver::clearCaches);
+    }
+
+    private boolean reloadView(LiveView liveView, Path file) {
+        Object controller = liveView.controller.get();
+        Node oldView = liveView.view.get();
+        if (controller == null || oldView == null) {
+            return false;
+        }
+        URL source;
+        try {
+            source = file.toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+        Consumer<Node> replacement = replacement(oldView);
+        if (replacement == null) {
+            LOG.warn("Unable to replace view {} of {} in {}, reload its parent view instead", oldView,
+                    controller.getClass().getName(), oldView.getParent());
+            return false;
+        }
+        Map<Field, Object> injectedFields = injectedFields(controller);
+        Node newView;
+        try {
+            newView = liveView.fxWeaver.reload(controller, source, liveView.resourceBundle)
+                    .getView()
+                    .orElseThrow(() -> new FxLoadException("No view defined in " + source));
+            if (oldView.getParent() == null && !(newView instanceof Parent)) {
+                throw new FxLoadException("View defined in " + source + " cannot be used as scene root");
+            }
+        } catch (RuntimeException e) {
+            // a view failing halfway may have injected some of its nodes already
+            injectedFields.forEach((field, value) -> restore(controller, field, value));
+            LOG.warn("Unable to reload {}, keeping the current view", source, e);
+            return false;
+        }
+        // layout constraints such as vbox-vgrow are kept in the properties with string keys
+        oldView.getProperties().forEach((key, value) -> {
+            if (key instanceof String) {
+                newView.getProperties().put(key, value);
+            }
+        });
+        replacement.accept(newView);
+        // the reused controller has been initialized for the new view already and is disposed along with it
+        DisposeOnDetach.disposeNow(oldView, controller);
+        liveViews.remove(liveView);
+        liveViews.add(new LiveView(liveView.fxWeaver, source, liveView.resourceBundle, controller, newView));
+        reloadCount++;
+        return true;
+    }
+
+    /**
+     * @return How to put a new view in place of the given one, or <tt>null</tt> if its parent is not supported
+     */
+    private static Consumer<Node> replacement(Node oldView) {
+        Parent parent = oldView.getParent();
+        if (parent == null) {
+            Scene scene = oldView.getScene();
+            if (scene != null && scene.getRoot() == oldView) {
+                return newView -> scene.setRoot((Parent) newView);
+            }
+            return null;
+        }
+        if (parent instanceof BorderPane) {
+            BorderPane borderPane = (BorderPane) parent;
+            if (borderPane.getCenter() == oldView) {
+                return borderPane::setCenter;
+            } else if (borderPane.getTop() == oldView) {
+                return borderPane::setTop;
+            } else if (borderPane.getBottom() == oldView) {
+                return borderPane::setBottom;
+            } else if (borderPane.getLeft() == oldView) {
+                return borderPane::setLeft;
+            } else if (borderPane.getRight() == oldView) {
+                return borderPane::setRight;
+            }
+            return null;
+        }
+        ObservableList<Node> children;
+        if (parent instanceof Pane) {
+            children = ((Pane) parent).getChildren();
+        } else if (parent instanceof Group) {
+            children = ((Group) parent).getChildren();
+        } else {
+            return null;
+        }
+        return newView -> children.set(children.indexOf(oldView), newView);
+    }
+
+    /**
+     * @return The values of the fields of the given controller <tt>FXMLLoader</tt> injects into, i.e. non-static fields
+     * annotated with {@link FXML} or public
+     */
+    private static Map<Field, Object> injectedFields(Object controller) {
+        Map<Field, Object> values = new HashMap<>();
+        for (Class<?> c = controller.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)
+                        || !(Modifier.isPublic(modifiers) || field.isAnnotationPresent(FXML.class))) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    values.put(field, field.get(controller));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    LOG.debug("Unable to access {}, it will not be restored if reloading fails", field, e);
+                }
+            }
+        }
+        return values;
+    }
+
+    private static void restore(Object controller, Field field, Object value) {
+        try {
+            field.set(controller, value);
+        } catch (IllegalAccessException e) {
+            LOG.warn("Unable to restore " + field + " after failed reload", e);
+        }
+    }
+
+    private void reloadStylesheet(String resource, Path file) {
+        String replacement = file.toUri() + "?v=" + ++stylesheetVersion;
+        for (Window window : new ArrayList<>(Window.getWindows())) {
+            Scene scene = window.getScene();
+            if (scene != null) {
+                replaceStylesheet(scene.getStylesheets(), resource, replacement);
+                replaceStylesheets(scene.getRoot(), resource, replacement);
+            }
+        }
+    }
+
+    private void replaceStylesheets(Parent parent, String resource, String replacement) {
+        replaceStylesheet(parent.getStylesheets(), resource, replacement);
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            if (child instanceof Parent) {
+                replaceStylesheets((Parent) child, resource, replacement);
+            }
+        }
+    }
+
+    private void replaceStylesheet(ObservableList<String> stylesheets, String resource, String replacement) {
+        for (int i = 0; i < stylesheets.size(); i++) {
+            if (matches(stylesheets.get(i), resource)) {
+                stylesheets.set(i, replacement);
+                reloadCount++;
+            }
+        }
+    }
+
+    private String resourceName(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        for (Path root : sourceRoots) {
+            if (absolute.startsWith(root)) {
+                return root.relativize(absolute).toString().replace('\\', '/');
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String location, String resource) {
+        int query = location.indexOf('?');
+        String path = query < 0 ? location : location.substring(0, query);
+        return path.endsWith("/" + resource) || path.equals(resource);
+    }
+
+    private static boolean isSource(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".fxml") || name.endsWith(".css");
+    }
+
+    private static final class LiveView {
+
+        final FxWeaver fxWeaver;
+        final URL location;
+        final ResourceBundle resourceBundle;
+        final WeakReference<Object> controller;
+        final WeakReference<Node> view;
+
+        LiveView(FxWeaver fxWeaver, URL location, ResourceBundle resourceBundle, Object controller, Node view) {
+            this.fxWeaver = fxWeaver;
+            this.location = location;
+            this.resourceBundle = resourceBundle;
+            this.controller = new WeakReference<>(controller);
+            this.view = new WeakReference<>(view);
+        }
+
+        boolean isCollected() {
+            return controller.get() == null || view.get() == null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FxLeakDetector is an opt-in diagnostic facility tracking every view returned by {@link FxWeaver} with weak
+ * references.
+ * <p/>
+ * A view that has been shown in a window once and is then found detached from any showing window, yet still not
+ * garbage collected, for a given number of consecutive scans is reported as suspected leak. Reports go to the log and
+ * to the {@link FxLeakDetectorMBean} JMX interface, stating the controller class and the stack trace of the
+ * {@link FxWeaver#load(Class)} call that created the view.
+ * <p/>
+ * Example:
+ * <pre>
+ *     FxLeakDetector leakDetector = new FxLeakDetector();
+ *     leakDetector.registerMBean();
+ *     leakDetector.start(Duration.ofMinutes(1));
+ *     fxWeaver.setLeakDetector(leakDetector);
+ * </pre>
+ * Capturing allocation stack traces comes at a cost, so this is not meant to be enabled by default.
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setLeakDetector(FxLeakDetector)
+ */
+public class FxLeakDetector implements FxLeakDetectorMBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxLeakDetector.class);
+
+    /**
+     * The JMX object name used by {@link #registerMBean()}.
+     */
+    public static final String OBJECT_NAME = "net.rgielen.fxweaver:type=FxLeakDetector";
+
+    private static final int MAX_REPORTS = 100;
+
+    private final int detachedScanThreshold;
+    private final Set<TrackedView> trackedViews = ConcurrentHashMap.newKeySet();
+    private final Deque<String> suspectedLeaks = new ArrayDeque<>();
+    private int suspectedLeakCount;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Create a leak detector reporting views that were found detached in two consecutive scans.
+     */
+    public FxLeakDetector() {
+        this(2);
+    }
+
+    /**
+     * Create a leak detector.
+     *
+     * @param detachedScanThreshold The number of consecutive scans a formerly shown view has to be found detached,
+     *                              yet still reachable, to be reported
+     */
+    public FxLeakDetector(int detachedScanThreshold) {
+        if (detachedScanThreshold < 1) {
+            throw new IllegalArgumentException("detachedScanThreshold must be positive");
+        }
+        this.detachedScanThreshold = detachedScanThreshold;
+    }
+
+    /**
+     * Start tracking the view of a woven controller.
+     *
+     * @param controllerClass   The controller class the view was loaded for
+     * @param controllerAndView The weaving result. Results without view are ignored.
+     */
+    public void track(Class<?> controllerClass, FxControllerAndView<?, ?> controllerAndView) {
+        controllerAndView.getView().ifPresent(
+                view -> trackedViews.add(new TrackedView(view, controllerClass,
+                        new Throwable("View of " + controllerClass.getName() + " allocated")))
+        );
+    }
+
+    /**
+     * Periodically run a garbage collection followed by a {@link #scan()}.
+     *
+     * @param interval The time between two scans
+     */
+    public synchronized void start(Duration interval) {
+        stop();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fxweaver-leak-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            System.gc();
+            scan();
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop periodic scans started by {@link #start(Duration)}.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Register this instance with the platform MBean server as {@value #OBJECT_NAME}.
+     */
+    public void registerMBean() {
+        MBeans.register(this, OBJECT_NAME);
+    }
+
+    /**
+     * Unregister this instance from the platform MBean server, unless another instance has been registered as
+     * {@value #OBJECT_NAME} since.
+     */
+    public void unregisterMBean() {
+        MBeans.unregister(this, OBJECT_NAME);
+    }
+
+    /**
+     * Scan all tracked views for suspected leaks. The scan is performed on the JavaFX application thread, so it is
+     * scheduled to run there if called from another thread.
+     */
+    @Override
+    public void scan() {
+        if (Platform.isFxApplicationThread()) {
+            scanTrackedViews();
+        } else {
+            Platform.runLater(this::scanTrackedViews);
+        }
+    }
+
+    @Override
+    public int getTrackedViewCount() {
+        trackedViews.removeIf(trackedView -> trackedView.view.get() == null);
+        return trackedViews.size();
+    }
+
+    @Override
+    public synchronized int getSuspectedLeakCount() {
+        return suspectedLeakCount;
+    }
+
+    @Override
+    public synchronized String[] getSuspectedLeaks() {
+        return suspectedLeaks.toArray(new String[0]);
+    }
+
+    void scanTrackedViews() {
+        for (Iterator<TrackedView> iterator = trackedViews.iterator(); iterator.hasNext(); ) {
+            TrackedView trackedView = iterator.next();
+            Node view = trackedView.view.get();
+            if (view == null) {
+                iterator.remove();
+            } else if (isShowing(view)) {
+                trackedView.shown = true;
+                trackedView.detachedScans = 0;
+            } else if (trackedView.shown && ++trackedView.detachedScans == detachedScanThreshold) {
+                report(trackedView, view);
+            }
+        }
+    }
+
+    private static boolean isShowing(Node view) {
+        Scene scene = view.getScene();
+        Window window = scene != null ? scene.getWindow() : null;
+        return window != null && window.isShowing();
+    }
+
+    private void report(TrackedView trackedView, Node view) {
+        StringWriter stackTrace = new StringWriter();
+        trackedView.allocation.printStackTrace(new PrintWriter(stackTrace));
+        String report = "Suspected leak: view " + view.getClass().getName() + " of controller "
+                + trackedView.controllerClass.getName() + " is detached from any showing window but still reachable. "
+                + stackTrace;
+        LOG.warn(report);
+        synchronized (this) {
+            suspectedLeakCount++;
+            if (suspectedLeaks.size() == MAX_REPORTS) {
+                suspectedLeaks.removeFirst();
+            }
+            suspectedLeaks.addLast(report);
+        }
+    }
+
+    private static final class TrackedView {
+
+        final WeakReference<Node> view;
+        final Class<?> controllerClass;
+        final Throwable allocation;
+        boolean shown;
+        int detachedScans;
+
+        TrackedView(Node view, Class<?> controllerClass, Throwable allocation) {
+            this.view = new WeakReference<>(view);
+            this.controllerClass = controllerClass;
+            this.allocation = allocation;
+        }
+    }
+}
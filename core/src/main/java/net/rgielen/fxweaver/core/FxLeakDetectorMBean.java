@@ -0,0 +1,31 @@
+package net.rgielen.fxweaver.core;
+
+/**
+ * JMX management interface of {@link FxLeakDetector}.
+ *
+ * @author Rene Gielen
+ */
+public interface FxLeakDetectorMBean {
+
+    /**
+     * @return The number of woven views currently tracked, i.e. not yet garbage collected
+     */
+    int getTrackedViewCount();
+
+    /**
+     * @return The number of views reported as suspected leak so far
+     */
+    int getSuspectedLeakCount();
+
+    /**
+     * @return Descriptions of the views reported as suspected leak, including controller class and allocation stack
+     * trace
+     */
+    String[] getSuspectedLeaks();
+
+    /**
+     * Scan all tracked views for suspected leaks.
+     */
+    void scan();
+
+}
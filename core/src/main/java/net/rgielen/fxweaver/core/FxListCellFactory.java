@@ -0,0 +1,80 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FxListCellFactory creates {@link ListCell}s displaying their items in woven views, e.g. to render list rows with an
+ * FXML-defined layout.
+ * <p/>
+ * The view of each cell is woven only once, when the {@link ListView} creates the cell. Since a list view creates only
+ * about as many cells as fit into its viewport and reuses them while scrolling, views are never loaded while
+ * scrolling. Instead, the controller of the view is rebound to the item displayed through
+ * {@link FxCellController#updateItem(Object, boolean)}. The view of an empty cell is hidden.
+ * <p/>
+ * {@link FxDisposable} controllers are disposed once their cell has left the scene, e.g. when the list view is removed
+ * or its cell factory is replaced.
+ * <p/>
+ * Example:
+ * <pre>
+ *     personList.setCellFactory(fxWeaver.listCellFactory(PersonCellController.class));
+ * </pre>
+ *
+ * @param <T> The item type
+ * @author Rene Gielen
+ * @see FxWeaver#listCellFactory(Class)
+ */
+public class FxListCellFactory<T> implements Callback<ListView<T>, ListCell<T>> {
+
+    private final FxWeaver fxWeaver;
+    private final Class<? extends FxCellController<T>> controllerClass;
+    private final AtomicLong wovenCount = new AtomicLong();
+
+    /**
+     * Create a factory.
+     *
+     * @param fxWeaver        The weaver to weave cell views with
+     * @param controllerClass The controller class of the cell views, typically a prototype scoped bean
+     */
+    public FxListCellFactory(FxWeaver fxWeaver, Class<? extends FxCellController<T>> controllerClass) {
+        this.fxWeaver = fxWeaver;
+        this.controllerClass = controllerClass;
+    }
+
+    @Override
+    public ListCell<T> call(ListView<T> listView) {
+        WovenListCell<T> cell = new WovenListCell<>();
+        cell.wovenCell = WovenCell.weave(fxWeaver, controllerClass, cell);
+        wovenCount.incrementAndGet();
+        return cell;
+    }
+
+    /**
+     * @return The number of cell views woven so far
+     */
+    public long getWovenCount() {
+        return wovenCount.get();
+    }
+
+    public Class<? extends FxCellController<T>> getControllerClass() {
+        return controllerClass;
+    }
+
+    static final class WovenListCell<T> extends ListCell<T> {
+
+        private WovenCell<T> wovenCell;
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            wovenCell.update(item, empty);
+        }
+
+        FxCellController<T> getController() {
+            return wovenCell.getController();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package net.rgielen.fxweaver.core;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runtime statistics of the views loaded by a {@link FxWeaver}, per controller class.
+ * <p/>
+ * Load times are kept for the most recent {@value #SAMPLES} loads of each controller class, so percentiles reflect
+ * current behaviour rather than startup. Controllers, {@link LazyFxControllerAndView} instances and
+ * {@link FxControllerAndViewProvider}s are only weakly referenced, so tracking them never keeps them alive.
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#getStatistics()
+ */
+public class FxLoadStatistics {
+
+    static final int SAMPLES = 256;
+
+    private final Map<Class<?>, Entry> entries = new ConcurrentHashMap<>();
+
+    void recordLoad(Class<?> controllerClass, URL location, long nanos, Object controller, int internedValues) {
+        entry(controllerClass).recordLoad(location, nanos, controller, internedValues);
+    }
+
+    void recordComplexity(Class<?> controllerClass, FxViewComplexity complexity) {
+        entry(controllerClass).recordComplexity(complexity);
+    }
+
+    void trackLazy(Class<?> controllerClass, LazyFxControllerAndView<?, ?> controllerAndView) {
+        entry(controllerClass).trackLazy(controllerAndView);
+    }
+
+    void trackProvider(Class<?> controllerClass, FxControllerAndViewProvider<?, ?> provider) {
+        entry(controllerClass).trackProvider(provider);
+    }
+
+    void recordPooledWindow(Class<?> controllerClass) {
+        entry(controllerClass).recordPooledWindow();
+    }
+
+    /**
+     * @return A snapshot of the statistics of all controller classes loaded or lazily requested so far, ordered by
+     * class name
+     */
+    public List<ControllerStatistics> getControllerStatistics() {
+        List<ControllerStatistics> statistics = new ArrayList<>();
+        entries.forEach((controllerClass, entry) -> statistics.add(entry.snapshot(controllerClass)));
+        statistics.sort(Comparator.comparing(s -> s.getControllerClass().getName()));
+        return statistics;
+    }
+
+    /**
+     * Forget all statistics recorded so far.
+     */
+    public void reset() {
+        entries.clear();
+    }
+
+    private Entry entry(Class<?> controllerClass) {
+        return entries.computeIfAbsent(controllerClass, c -> new Entry());
+    }
+
+    private static final class Entry {
+
+        private static final int MIN_PRUNE_SIZE = 64;
+
+        private final long[] samples = new long[SAMPLES];
+        private final List<WeakReference<Object>> instances = new ArrayList<>();
+        private final List<WeakReference<LazyFxControllerAndView<?, ?>>> lazyInstances = new ArrayList<>();
+        private final List<WeakReference<FxControllerAndViewProvider<?, ?>>> providers = new ArrayList<>();
+        private long loadCount;
+        private long pooledWindows;
+        private long internedValues;
+        private FxViewComplexity complexity;
+        private URL location;
+        private int pruneInstancesAt = MIN_PRUNE_SIZE;
+        private int pruneLazyInstancesAt = MIN_PRUNE_SIZE;
+
+        synchronized void recordLoad(URL location, long nanos, Object controller, int internedValues) {
+            samples[(int) (loadCount++ % SAMPLES)] = nanos;
+            this.internedValues += internedValues;
+            if (location != null) {
+                this.location = location;
+            }
+            if (controller != null) {
+                instances.add(new WeakReference<>(controller));
+                if (instances.size() >= pruneInstancesAt) {
+                    instances.removeIf(reference -> reference.get() == null);
+                    pruneInstancesAt = Math.max(MIN_PRUNE_SIZE, instances.size() * 2);
+                }
+            }
+        }
+
+        synchronized void recordComplexity(FxViewComplexity complexity) {
+            this.complexity = this.complexity == null ? complexity : this.complexity.plus(complexity);
+        }
+
+        synchronized void trackLazy(LazyFxControllerAndView<?, ?> controllerAndView) {
+            lazyInstances.add(new WeakReference<>(controllerAndView));
+            if (lazyInstances.size() >= pruneLazyInstancesAt) {
+                lazyInstances.removeIf(Entry::isMaterializedOrCollected);
+                pruneLazyInstancesAt = Math.max(MIN_PRUNE_SIZE, lazyInstances.size() * 2);
+            }
+        }
+
+        synchronized void trackProvider(FxControllerAndViewProvider<?, ?> provider) {
+            providers.removeIf(reference -> reference.get() == null);
+            providers.add(new WeakReference<>(provider));
+        }
+
+        synchronized void recordPooledWindow() {
+            pooledWindows++;
+        }
+
+        synchronized ControllerStatistics snapshot(Class<?> controllerClass) {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(loadCount, SAMPLES));
+            Arrays.sort(sorted);
+            Set<Object> live = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (WeakReference<Object> reference : instances) {
+                Object instance = reference.get();
+                if (instance != null) {
+                    live.add(instance);
+                }
+            }
+            int unmaterialized = 0;
+            for (WeakReference<LazyFxControllerAndView<?, ?>> reference : lazyInstances) {
+                if (!isMaterializedOrCollected(reference)) {
+                    unmaterialized++;
+                }
+            }
+            boolean cached = false;
+            int queuedInstances = 0;
+            for (WeakReference<FxControllerAndViewProvider<?, ?>> reference : providers) {
+                FxControllerAndViewProvider<?, ?> provider = reference.get();
+                if (provider != null) {
+                    cached = true;
+                    queuedInstances += provider.getQueuedCount();
+                }
+            }
+            return new ControllerStatistics(controllerClass, location, loadCount,
+                    percentile(sorted, 50), percentile(sorted, 99), live.size(), unmaterialized, internedValues, complexity,
+                    cached, queuedInstances, pooledWindows);
+        }
+
+        private static boolean isMaterializedOrCollected(WeakReference<LazyFxControllerAndView<?, ?>> reference) {
+            LazyFxControllerAndView<?, ?> controllerAndView = reference.get();
+            return controllerAndView == null || controllerAndView.isInitialized();
+        }
+
+        private static Duration percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, index)]);
+        }
+    }
+
+    /**
+     * The statistics of a single controller class.
+     */
+    public static final class ControllerStatistics {
+
+        private final Class<?> controllerClass;
+        private final URL location;
+        private final long loadCount;
+        private final Duration p50;
+        private final Duration p99;
+        private final int liveInstances;
+        private final int unmaterializedLazyInstances;
+        private final long internedValues;
+        private final FxViewComplexity complexity;
+        private final boolean cached;
+        private final int queuedInstances;
+        private final long pooledWindows;
+
+        ControllerStatistics(Class<?> controllerClass, URL location, long loadCount, Duration p50, Duration p99,
+                             int liveInstances, int unmaterializedLazyInstances, long internedValues,
+                             FxViewComplexity complexity, boolean cached, int queuedInstances, long pooledWindows) {
+            this.controllerClass = controllerClass;
+            this.location = location;
+            this.loadCount = loadCount;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.liveInstances = liveInstances;
+            this.unmaterializedLazyInstances = unmaterializedLazyInstances;
+            this.internedValues = internedValues;
+            this.complexity = complexity;
+            this.cached = cached;
+            this.queuedInstances = queuedInstances;
+            this.pooledWindows = pooledWindows;
+        }
+
+        public Class<?> getControllerClass() {
+            return controllerClass;
+        }
+
+        /**
+         * @return The location of the FXML view last loaded for the controller, or <tt>null</tt> if it has none
+         */
+        public URL getLocation() {
+            return location;
+        }
+
+        public long getLoadCount() {
+            return loadCount;
+        }
+
+        /**
+         * @return The median load time of the recent loads
+         */
+        public Duration getP50() {
+            return p50;
+        }
+
+        /**
+         * @return The 99th percentile load time of the recent loads
+         */
+        public Duration getP99() {
+            return p99;
+        }
+
+        /**
+         * @return The number of distinct controller instances not garbage collected yet
+         */
+        public int getLiveInstances() {
+            return liveInstances;
+        }
+
+        /**
+         * @return The number of {@link LazyFxControllerAndView} instances obtained by
+         * {@link FxWeaver#loadLazy(Class)} that were not loaded yet
+         */
+        public int getUnmaterializedLazyInstances() {
+            return unmaterializedLazyInstances;
+        }
+
+        /**
+         * @return The number of values of the views loaded so far that were replaced by an equal shared instance, or
+         * 0 if no {@link FxValueInterner} is set
+         */
+        public long getInternedValues() {
+            return internedValues;
+        }
+
+        /**
+         * @return The complexity of all views of the controller analyzed so far, added up, or <tt>null</tt> if
+         * complexity analysis is not enabled
+         * @see FxWeaver#setComplexityAnalysisEnabled(boolean)
+         */
+        public FxViewComplexity getComplexity() {
+            return complexity;
+        }
+
+        /**
+         * @return Whether instances of the controller are loaded ahead of time and cached by a
+         * {@link FxControllerAndViewProvider}
+         * @see FxWeaver#provider(Class)
+         */
+        public boolean isCached() {
+            return cached;
+        }
+
+        /**
+         * @return The number of instances currently cached by {@link FxControllerAndViewProvider}s
+         */
+        public int getQueuedInstances() {
+            return queuedInstances;
+        }
+
+        /**
+         * @return Whether views of the controller were shown in windows taken from a {@link FxWindowPool}
+         * @see FxWeaver#setWindowPool(FxWindowPool)
+         */
+        public boolean isPooled() {
+            return pooledWindows > 0;
+        }
+
+        /**
+         * @return The number of windows taken from a {@link FxWindowPool} to show views of the controller in
+         */
+        public long getPooledWindows() {
+            return pooledWindows;
+        }
+
+        @Override
+        public String toString() {
+            return "ControllerStatistics{" +
+                    "controllerClass=" + controllerClass.getName() +
+                    ", loadCount=" + loadCount +
+                    ", p50=" + p50 +
+                    ", p99=" + p99 +
+                    ", liveInstances=" + liveInstances +
+                    ", unmaterializedLazyInstances=" + unmaterializedLazyInstances +
+                    ", internedValues=" + internedValues +
+                    ", complexity=" + complexity +
+                    ", cached=" + cached +
+                    ", queuedInstances=" + queuedInstances +
+                    ", pooledWindows=" + pooledWindows +
+                    '}';
+        }
+    }
+}
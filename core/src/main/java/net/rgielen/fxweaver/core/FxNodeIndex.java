@@ -0,0 +1,138 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable index of the nodes of a woven view by their <tt>fx:id</tt>, built from the {@link FXMLLoader} namespace.
+ * <p/>
+ * Small indexes are kept as plain parallel arrays and scanned linearly, larger ones as open addressing hash table in
+ * the same two arrays, so no entry objects are allocated in either case.
+ *
+ * @author Rene Gielen
+ */
+final class FxNodeIndex {
+
+    static final FxNodeIndex EMPTY = new FxNodeIndex(new String[0], new Node[0], 0);
+
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private final String[] ids;
+    private final Node[] nodes;
+    private final int size;
+
+    private FxNodeIndex(String[] ids, Node[] nodes, int size) {
+        this.ids = ids;
+        this.nodes = nodes;
+        this.size = size;
+    }
+
+    /**
+     * Build an index of all {@link Node} values in the given FXML namespace.
+     *
+     * @param namespace The namespace as provided by {@link FXMLLoader#getNamespace()}. May be <tt>null</tt>.
+     */
+    static FxNodeIndex of(Map<String, Object> namespace) {
+        if (namespace == null) {
+            return EMPTY;
+        }
+        int size = 0;
+        for (Map.Entry<String, Object> entry : namespace.entrySet()) {
+            if (isIndexed(entry)) {
+                size++;
+            }
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        int capacity = size <= LINEAR_SCAN_LIMIT ? size : tableSizeFor(size);
+        String[] ids = new String[capacity];
+        Node[] nodes = new Node[capacity];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : namespace.entrySet()) {
+            if (!isIndexed(entry)) {
+                continue;
+            }
+            if (size <= LINEAR_SCAN_LIMIT) {
+                ids[i] = entry.getKey();
+                nodes[i++] = (Node) entry.getValue();
+            } else {
+                int slot = slot(entry.getKey(), capacity);
+                while (ids[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                ids[slot] = entry.getKey();
+                nodes[slot] = (Node) entry.getValue();
+            }
+        }
+        return new FxNodeIndex(ids, nodes, size);
+    }
+
+    /**
+     * Build an index of all nodes with an {@link Node#getId() id} in the scene graph below and including the given
+     * root, for views not loaded from FXML. The first node found wins for duplicate ids.
+     *
+     * @param root The root of the view
+     */
+    static FxNodeIndex ofIds(Node root) {
+        Map<String, Object> ids = new LinkedHashMap<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.poll();
+            if (node.getId() != null) {
+                ids.putIfAbsent(node.getId(), node);
+            }
+            if (node instanceof Parent) {
+                pending.addAll(((Parent) node).getChildrenUnmodifiable());
+            }
+        }
+        return of(ids);
+    }
+
+    /**
+     * @param fxId The <tt>fx:id</tt> to look up
+     * @return The node with the given <tt>fx:id</tt> or <tt>null</tt> if there is none
+     */
+    Node get(String fxId) {
+        if (size <= LINEAR_SCAN_LIMIT) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i].equals(fxId)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+        int mask = ids.length - 1;
+        for (int slot = slot(fxId, ids.length); ids[slot] != null; slot = (slot + 1) & mask) {
+            if (ids[slot].equals(fxId)) {
+                return nodes[slot];
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean isIndexed(Map.Entry<String, Object> entry) {
+        return entry.getValue() instanceof Node && !FXMLLoader.CONTROLLER_KEYWORD.equals(entry.getKey());
+    }
+
+    private static int tableSizeFor(int size) {
+        // keep the load factor at or below 0.5
+        return Integer.highestOneBit(size * 2 - 1) << 1;
+    }
+
+    private static int slot(String fxId, int capacity) {
+        int hash = fxId.hashCode();
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+}
@@ -0,0 +1,304 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.fxml.JavaFXBuilderFactory;
+import javafx.scene.image.Image;
+import javafx.scene.text.Font;
+import javafx.util.Builder;
+import javafx.util.BuilderFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * FxResourceCache decodes images and fonts referenced by FXML views in the background and shares the decoded images
+ * among all views loaded by {@link FxWeaver}.
+ * <p/>
+ * Once set with {@link FxWeaver#setResourceCache(FxResourceCache)}, every <tt>&lt;Image url="..."/&gt;</tt> element
+ * in a loaded FXML document is served from the cache, so repeated views share one decoded {@link Image} instead of
+ * holding duplicate pixel buffers. {@link FxWeaver#preload(Class[])} scans the FXML documents of the given controllers,
+ * including their <tt>fx:include</tt>s, and decodes the referenced images as well as the fonts declared in
+ * <tt>@font-face</tt> rules of their stylesheets in parallel, before the views are actually loaded.
+ * <p/>
+ * The cache is bounded by number of images and by their decoded size, evicting least recently used images first.
+ * <p/>
+ * Images declared with <tt>backgroundLoading="true"</tt> never block loading the view: they are served from the cache
+ * once decoded, otherwise the view gets an uncached image loading in the background, while the cache decodes the image
+ * with its executor for later views.
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setResourceCache(FxResourceCache)
+ * @see FxWeaver#preload(Class[])
+ */
+public class FxResourceCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxResourceCache.class);
+
+    private final Executor executor;
+    private final WeightedCache<ImageKey, CompletableFuture<Image>> images;
+    private final Set<String> loadedFonts = ConcurrentHashMap.newKeySet();
+    private final BuilderFactory builderFactory = new CachingBuilderFactory();
+
+    /**
+     * Create a cache for up to 1024 images or 64 MiB of decoded pixel data, decoding in the common fork join pool.
+     */
+    public FxResourceCache() {
+        this(1024, 64L * 1024 * 1024, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param maxImages The maximum number of images to keep
+     * @param maxBytes  The maximum size of all decoded images, assuming 4 bytes per pixel
+     * @param executor  The executor to decode images and fonts with
+     */
+    public FxResourceCache(int maxImages, long maxBytes, Executor executor) {
+        this.executor = executor;
+        this.images = new WeightedCache<>(maxImages, maxBytes, FxResourceCache::weigh);
+    }
+
+    /**
+     * Get an image from the cache, decoding it on the calling thread if it is neither cached nor being decoded.
+     */
+    public Image getImage(ImageKey key) {
+        try {
+            return image(key, Runnable::run).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Decode the images and fonts referenced by the given FXML document and the documents it includes in the
+     * background.
+     *
+     * @param fxml The location of the FXML document
+     * @return A future completing when all resources are decoded
+     */
+    public CompletableFuture<Void> preload(URL fxml) {
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        preload(fxml, loads, new ArrayList<>());
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * @return The number of cached images
+     */
+    public int getImageCount() {
+        return images.size();
+    }
+
+    /**
+     * @return The estimated size of all decoded images in bytes
+     */
+    public long getImageBytes() {
+        return images.weight();
+    }
+
+    /**
+     * Remove all images from the cache. Fonts stay registered with JavaFX.
+     */
+    public void clear() {
+        images.clear();
+    }
+
+    /**
+     * @return A {@link BuilderFactory} serving images from this cache and delegating to {@link JavaFXBuilderFactory}
+     * for all other types
+     */
+    public BuilderFactory getBuilderFactory() {
+        return builderFactory;
+    }
+
+    private void preload(URL fxml, List<CompletableFuture<?>> loads, List<URL> visited) {
+        if (visited.contains(fxml)) {
+            return;
+        }
+        visited.add(fxml);
+        try {
+            FxmlResources resources = FxmlResources.scan(fxml);
+            resources.images.forEach(key -> loads.add(image(key, executor)));
+            resources.stylesheets.forEach(stylesheet -> loads.add(
+                    CompletableFuture.runAsync(() -> loadFonts(stylesheet), executor)));
+            resources.includes.forEach(include -> preload(include, loads, visited));
+        } catch (IOException e) {
+            LOG.warn("Unable to preload resources of " + fxml, e);
+        }
+    }
+
+    private CompletableFuture<Image> image(ImageKey key, Executor decodeExecutor) {
+        CompletableFuture<Image> image;
+        boolean created = false;
+        synchronized (images) {
+            image = images.get(key);
+            if (image == null) {
+                image = new CompletableFuture<>();
+                images.put(key, image);
+                created = true;
+            }
+        }
+        if (created) {
+            CompletableFuture<Image> decoding = image;
+            decodeExecutor.execute(() -> {
+                try {
+                    decoding.complete(key.decode());
+                    images.updateWeight(key, decoding);
+                } catch (RuntimeException e) {
+                    images.remove(key, decoding);
+                    decoding.completeExceptionally(e);
+                }
+            });
+        }
+        return image;
+    }
+
+    private void loadFonts(URL stylesheet) {
+        try (InputStream in = stylesheet.openStream()) {
+            String css = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            for (URL font : FxmlResources.fontFaces(css, stylesheet)) {
+                if (loadedFonts.add(font.toString()) && Font.loadFont(font.toString(), 0) == null) {
+                    LOG.warn("Unable to load font {} declared in {}", font, stylesheet);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to read stylesheet " + stylesheet, e);
+        }
+    }
+
+    private static long weigh(CompletableFuture<Image> image) {
+        Image decoded = image.getNow(null);
+        return decoded != null ? 4L * (long) decoded.getWidth() * (long) decoded.getHeight() : 0;
+    }
+
+    /**
+     * Identifies a decoded image by its URL and the decoding parameters available in FXML.
+     */
+    public static final class ImageKey {
+
+        private final String url;
+        private final double requestedWidth;
+        private final double requestedHeight;
+        private final boolean preserveRatio;
+        private final boolean smooth;
+
+        public ImageKey(String url, double requestedWidth, double requestedHeight,
+                        boolean preserveRatio, boolean smooth) {
+            this.url = Objects.requireNonNull(url, "url");
+            this.requestedWidth = requestedWidth;
+            this.requestedHeight = requestedHeight;
+            this.preserveRatio = preserveRatio;
+            this.smooth = smooth;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        Image decode() {
+            return new Image(url, requestedWidth, requestedHeight, preserveRatio, smooth, false);
+        }
+
+        Image decodeInBackground() {
+            return new Image(url, requestedWidth, requestedHeight, preserveRatio, smooth, true);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ImageKey)) {
+                return false;
+            }
+            ImageKey imageKey = (ImageKey) o;
+            return Double.compare(imageKey.requestedWidth, requestedWidth) == 0
+                    && Double.compare(imageKey.requestedHeight, requestedHeight) == 0
+                    && preserveRatio == imageKey.preserveRatio
+                    && smooth == imageKey.smooth
+                    && url.equals(imageKey.url);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, requestedWidth, requestedHeight, preserveRatio, smooth);
+        }
+
+        @Override
+        public String toString() {
+            return "ImageKey{" +
+                    "url='" + url + '\'' +
+                    ", requestedWidth=" + requestedWidth +
+                    ", requestedHeight=" + requestedHeight +
+                    ", preserveRatio=" + preserveRatio +
+                    ", smooth=" + smooth +
+                    '}';
+        }
+    }
+
+    private class CachingBuilderFactory implements BuilderFactory {
+
+        private final BuilderFactory delegate = new JavaFXBuilderFactory();
+
+        @Override
+        public Builder<?> getBuilder(Class<?> type) {
+            return type == Image.class ? new ImageBuilder() : delegate.getBuilder(type);
+        }
+    }
+
+    /**
+     * Collects the properties of an <tt>&lt;Image&gt;</tt> element, the way FXMLLoader feeds map based builders.
+     */
+    private class ImageBuilder extends AbstractMap<String, Object> implements Builder<Image> {
+
+        private final Map<String, Object> properties = new HashMap<>();
+
+        @Override
+        public Object put(String key, Object value) {
+            return properties.put(key, value);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return properties.entrySet();
+        }
+
+        @Override
+        public Image build() {
+            Object url = properties.get("url");
+            if (url == null) {
+                throw new IllegalArgumentException("Image requires a url");
+            }
+            ImageKey key = new ImageKey(url.toString(),
+                    doubleProperty("requestedWidth"),
+                    doubleProperty("requestedHeight"),
+                    Boolean.parseBoolean(String.valueOf(properties.get("preserveRatio"))),
+                    !"false".equals(String.valueOf(properties.get("smooth"))));
+            if (Boolean.parseBoolean(String.valueOf(properties.get("backgroundLoading")))) {
+                CompletableFuture<Image> image = image(key, executor);
+                return image.isDone() && !image.isCompletedExceptionally() ? image.join() : key.decodeInBackground();
+            }
+            return getImage(key);
+        }
+
+        private double doubleProperty(String name) {
+            Object value = properties.get(name);
+            return value != null ? Double.parseDouble(value.toString()) : 0;
+        }
+    }
+}
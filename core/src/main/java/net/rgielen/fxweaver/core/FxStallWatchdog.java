@@ -0,0 +1,326 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * FxStallWatchdog is an opt-in diagnostic facility measuring the responsiveness of the JavaFX application thread.
+ * <p/>
+ * A heartbeat is posted to the JavaFX application thread periodically. If it is not run within the given threshold,
+ * the thread is considered stalled and the stall is reported, stating the stack trace of the JavaFX application
+ * thread and the {@link FxWeaver} load in progress, if any: controller class, FXML location and load phase. This
+ * makes slow <tt>initialize</tt> methods and oversized FXML views visible in production. Reports go to the log, to
+ * registered listeners and to the {@link FxStallWatchdogMBean} JMX interface.
+ * <p/>
+ * Example:
+ * <pre>
+ *     FxStallWatchdog watchdog = new FxStallWatchdog(Duration.ofMillis(500));
+ *     watchdog.registerMBean();
+ *     watchdog.start();
+ *     fxWeaver.setStallWatchdog(watchdog);
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setStallWatchdog(FxStallWatchdog)
+ */
+public class FxStallWatchdog implements FxStallWatchdogMBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxStallWatchdog.class);
+
+    /**
+     * The JMX object name used by {@link #registerMBean()}.
+     */
+    public static final String OBJECT_NAME = "net.rgielen.fxweaver:type=FxStallWatchdog";
+
+    private static final int MAX_REPORTS = 100;
+    private static final long MIN_CHECK_INTERVAL_MILLIS = 10;
+
+    private final long thresholdNanos;
+    private final Executor fxExecutor;
+    private final List<Consumer<Stall>> listeners = new CopyOnWriteArrayList<>();
+    private final Deque<String> recentStalls = new ArrayDeque<>();
+    private volatile Thread fxThread;
+    private volatile LoadContext loadContext;
+    private long heartbeatPosted;
+    private boolean stallReported;
+    private int stallCount;
+    private long longestStallNanos;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Create a watchdog.
+     *
+     * @param threshold The time the JavaFX application thread has to be unresponsive to be reported as stalled
+     */
+    public FxStallWatchdog(Duration threshold) {
+        this(threshold, Platform::runLater);
+    }
+
+    FxStallWatchdog(Duration threshold, Executor fxExecutor) {
+        if (threshold.isNegative() || threshold.isZero()) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.fxExecutor = fxExecutor;
+    }
+
+    /**
+     * Start posting heartbeats and checking for stalls.
+     */
+    public synchronized void start() {
+        stop();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "fxweaver-stall-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(MIN_CHECK_INTERVAL_MILLIS, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 4);
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop checking for stalls.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Register a listener notified of every detected stall, on the watchdog thread.
+     */
+    public void addListener(Consumer<Stall> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Register this instance with the platform MBean server as {@value #OBJECT_NAME}.
+     */
+    public void registerMBean() {
+        MBeans.register(this, OBJECT_NAME);
+    }
+
+    /**
+     * Unregister this instance from the platform MBean server, unless another instance has been registered as
+     * {@value #OBJECT_NAME} since.
+     */
+    public void unregisterMBean() {
+        MBeans.unregister(this, OBJECT_NAME);
+    }
+
+    @Override
+    public synchronized int getStallCount() {
+        return stallCount;
+    }
+
+    @Override
+    public synchronized long getLongestStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(longestStallNanos);
+    }
+
+    @Override
+    public synchronized String[] getRecentStalls() {
+        return recentStalls.toArray(new String[0]);
+    }
+
+    void enter(Class<?> controllerClass, URL location) {
+        if (Thread.currentThread() == fxThread) {
+            loadContext = new LoadContext(controllerClass, location, "resolving", loadContext);
+        }
+    }
+
+    void phase(String phase) {
+        LoadContext current = loadContext;
+        if (current != null && Thread.currentThread() == fxThread) {
+            loadContext = new LoadContext(current.controllerClass, current.location, phase, current.parent);
+        }
+    }
+
+    void exit() {
+        LoadContext current = loadContext;
+        if (current != null && Thread.currentThread() == fxThread) {
+            loadContext = current.parent;
+        }
+    }
+
+    void check() {
+        long now = System.nanoTime();
+        boolean post = false;
+        boolean stalled = false;
+        synchronized (this) {
+            if (heartbeatPosted == 0) {
+                heartbeatPosted = now;
+                stallReported = false;
+                post = true;
+            } else {
+                stalled = !stallReported && now - heartbeatPosted > thresholdNanos;
+                if (stalled) {
+                    stallReported = true;
+                    stallCount++;
+                }
+            }
+        }
+        if (post) {
+            try {
+                fxExecutor.execute(this::heartbeat);
+            } catch (IllegalStateException e) {
+                LOG.debug("JavaFX toolkit not running, skipping heartbeat");
+                synchronized (this) {
+                    heartbeatPosted = 0;
+                }
+            }
+        } else if (stalled) {
+            report(now);
+        }
+    }
+
+    private void heartbeat() {
+        fxThread = Thread.currentThread();
+        long duration;
+        boolean reported;
+        synchronized (this) {
+            duration = System.nanoTime() - heartbeatPosted;
+            reported = stallReported;
+            heartbeatPosted = 0;
+            if (reported) {
+                longestStallNanos = Math.max(longestStallNanos, duration);
+            }
+        }
+        if (reported) {
+            LOG.info("JavaFX application thread responsive again after {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    private void report(long now) {
+        Thread thread = fxThread;
+        LoadContext context = loadContext;
+        Stall stall;
+        synchronized (this) {
+            stall = new Stall(Duration.ofNanos(now - heartbeatPosted),
+                    thread != null ? thread.getStackTrace() : new StackTraceElement[0],
+                    context != null ? context.controllerClass : null,
+                    context != null ? context.location : null,
+                    context != null ? context.phase : null);
+        }
+        String report = stall.toString();
+        Exception location = new Exception("JavaFX application thread stalled at");
+        location.setStackTrace(stall.getStackTrace());
+        LOG.warn(report, location);
+        synchronized (this) {
+            if (recentStalls.size() == MAX_REPORTS) {
+                recentStalls.removeFirst();
+            }
+            recentStalls.addLast(report + System.lineSeparator() + stackTraceToString(stall.getStackTrace()));
+        }
+        for (Consumer<Stall> listener : listeners) {
+            try {
+                listener.accept(stall);
+            } catch (RuntimeException e) {
+                LOG.warn("Stall listener failed", e);
+            }
+        }
+    }
+
+    private static String stackTraceToString(StackTraceElement[] stackTrace) {
+        StringBuilder builder = new StringBuilder();
+        for (StackTraceElement element : stackTrace) {
+            builder.append("\tat ").append(element).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    private static final class LoadContext {
+
+        final Class<?> controllerClass;
+        final URL location;
+        final String phase;
+        final LoadContext parent;
+
+        LoadContext(Class<?> controllerClass, URL location, String phase, LoadContext parent) {
+            this.controllerClass = controllerClass;
+            this.location = location;
+            this.phase = phase;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * A detected stall of the JavaFX application thread.
+     */
+    public static final class Stall {
+
+        private final Duration duration;
+        private final StackTraceElement[] stackTrace;
+        private final Class<?> controllerClass;
+        private final URL location;
+        private final String phase;
+
+        Stall(Duration duration, StackTraceElement[] stackTrace, Class<?> controllerClass, URL location,
+              String phase) {
+            this.duration = duration;
+            this.stackTrace = stackTrace;
+            this.controllerClass = controllerClass;
+            this.location = location;
+            this.phase = phase;
+        }
+
+        /**
+         * @return The time the JavaFX application thread had been unresponsive when the stall was detected
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return The stack trace of the JavaFX application thread when the stall was detected
+         */
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+
+        /**
+         * @return The controller class of the innermost {@link FxWeaver} load in progress, or <tt>null</tt> if
+         * none was in progress
+         */
+        public Class<?> getControllerClass() {
+            return controllerClass;
+        }
+
+        /**
+         * @return The FXML location of the load in progress, or <tt>null</tt>
+         */
+        public URL getLocation() {
+            return location;
+        }
+
+        /**
+         * @return The phase of the load in progress, e.g. <tt>loading FXML</tt>, or <tt>null</tt>
+         */
+        public String getPhase() {
+            return phase;
+        }
+
+        @Override
+        public String toString() {
+            return "JavaFX application thread stalled for " + duration.toMillis() + " ms" + (controllerClass != null
+                    ? " while loading " + controllerClass.getName() + " from " + location + ", phase " + phase
+                    : " outside of any view load");
+        }
+    }
+}
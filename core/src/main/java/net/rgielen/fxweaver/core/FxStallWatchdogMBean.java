@@ -0,0 +1,26 @@
+package net.rgielen.fxweaver.core;
+
+/**
+ * JMX management interface of {@link FxStallWatchdog}.
+ *
+ * @author Rene Gielen
+ */
+public interface FxStallWatchdogMBean {
+
+    /**
+     * @return The number of stalls of the JavaFX application thread detected so far
+     */
+    int getStallCount();
+
+    /**
+     * @return The duration of the longest stall that has ended so far, in milliseconds
+     */
+    long getLongestStallMillis();
+
+    /**
+     * @return Descriptions of the most recent stalls, including the view load in progress and the stack trace of the
+     * JavaFX application thread
+     */
+    String[] getRecentStalls();
+
+}
@@ -0,0 +1,116 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.Property;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FxSubscriptions registers listeners, bindings and event handlers and keeps track of them, so that all of them can be
+ * removed again with a single call to {@link #dispose()}.
+ * <p/>
+ * It is meant to be used by controllers implementing {@link FxDisposable}, with all registrations towards models that
+ * live longer than the view going through a FxSubscriptions instance.
+ * <p/>
+ * The implementation is <tt>NOT</tt> threadsafe, since JavaFX GUI is supposed to work single threaded.
+ *
+ * @author Rene Gielen
+ * @see FxDisposable
+ */
+public class FxSubscriptions implements FxDisposable {
+
+    private final List<Runnable> removals = new ArrayList<>();
+
+    /**
+     * Add a {@link ChangeListener} to the given observable value.
+     */
+    public <T> void listenChange(ObservableValue<T> observable, ChangeListener<? super T> listener) {
+        observable.addListener(listener);
+        removals.add(() -> observable.removeListener(listener));
+    }
+
+    /**
+     * Add an {@link InvalidationListener} to the given observable.
+     */
+    public void listenInvalidation(Observable observable, InvalidationListener listener) {
+        observable.addListener(listener);
+        removals.add(() -> observable.removeListener(listener));
+    }
+
+    /**
+     * Add a {@link ListChangeListener} to the given observable list.
+     */
+    public <E> void listenList(ObservableList<E> list, ListChangeListener<? super E> listener) {
+        list.addListener(listener);
+        removals.add(() -> list.removeListener(listener));
+    }
+
+    /**
+     * Bind the given property to an observable value, unbinding it on dispose.
+     */
+    public <T> void bind(Property<T> property, ObservableValue<? extends T> observable) {
+        property.bind(observable);
+        removals.add(property::unbind);
+    }
+
+    /**
+     * Bind two properties bidirectionally, unbinding them on dispose.
+     */
+    public <T> void bindBidirectional(Property<T> property, Property<T> other) {
+        property.bindBidirectional(other);
+        removals.add(() -> property.unbindBidirectional(other));
+    }
+
+    /**
+     * Add an event handler to the given node.
+     */
+    public <E extends Event> void handle(Node node, EventType<E> eventType, EventHandler<? super E> handler) {
+        node.addEventHandler(eventType, handler);
+        removals.add(() -> node.removeEventHandler(eventType, handler));
+    }
+
+    /**
+     * Add an event handler to the given window, e.g. the stage a dialog view is shown in.
+     */
+    public <E extends Event> void handleWindow(Window window, EventType<E> eventType,
+                                               EventHandler<? super E> handler) {
+        window.addEventHandler(eventType, handler);
+        removals.add(() -> window.removeEventHandler(eventType, handler));
+    }
+
+    /**
+     * Register an arbitrary action to be run on dispose.
+     */
+    public void onDispose(Runnable action) {
+        removals.add(action);
+    }
+
+    /**
+     * The number of registrations not yet disposed.
+     */
+    public int size() {
+        return removals.size();
+    }
+
+    /**
+     * Remove all registrations, in reverse order of their creation. Calling dispose more than once is harmless.
+     */
+    @Override
+    public void dispose() {
+        for (int i = removals.size() - 1; i >= 0; i--) {
+            removals.get(i).run();
+        }
+        removals.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FxTableCellFactory creates {@link TableCell}s displaying their cell values in woven views, e.g. to render table
+ * cells with an FXML-defined layout.
+ * <p/>
+ * As with {@link FxListCellFactory}, the view of each cell is woven only once, when the table creates the cell, and
+ * its controller is rebound to the cell value displayed through {@link FxCellController#updateItem(Object, boolean)}
+ * while scrolling. The view of an empty cell is hidden.
+ * <p/>
+ * Example:
+ * <pre>
+ *     addressColumn.setCellValueFactory(features -&gt; new SimpleObjectProperty&lt;&gt;(features.getValue().getAddress()));
+ *     addressColumn.setCellFactory(fxWeaver.tableCellFactory(AddressCellController.class));
+ * </pre>
+ *
+ * @param <S> The row item type
+ * @param <T> The cell value type
+ * @author Rene Gielen
+ * @see FxWeaver#tableCellFactory(Class)
+ */
+public class FxTableCellFactory<S, T> implements Callback<TableColumn<S, T>, TableCell<S, T>> {
+
+    private final FxWeaver fxWeaver;
+    private final Class<? extends FxCellController<T>> controllerClass;
+    private final AtomicLong wovenCount = new AtomicLong();
+
+    /**
+     * Create a factory.
+     *
+     * @param fxWeaver        The weaver to weave cell views with
+     * @param controllerClass The controller class of the cell views, typically a prototype scoped bean
+     */
+    public FxTableCellFactory(FxWeaver fxWeaver, Class<? extends FxCellController<T>> controllerClass) {
+        this.fxWeaver = fxWeaver;
+        this.controllerClass = controllerClass;
+    }
+
+    @Override
+    public TableCell<S, T> call(TableColumn<S, T> tableColumn) {
+        WovenTableCell<S, T> cell = new WovenTableCell<>();
+        cell.wovenCell = WovenCell.weave(fxWeaver, controllerClass, cell);
+        wovenCount.incrementAndGet();
+        return cell;
+    }
+
+    /**
+     * @return The number of cell views woven so far
+     */
+    public long getWovenCount() {
+        return wovenCount.get();
+    }
+
+    public Class<? extends FxCellController<T>> getControllerClass() {
+        return controllerClass;
+    }
+
+    static final class WovenTableCell<S, T> extends TableCell<S, T> {
+
+        private WovenCell<T> wovenCell;
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            wovenCell.update(item, empty);
+        }
+
+        FxCellController<T> getController() {
+            return wovenCell.getController();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records a timeline of spans and marks, exported in the Chrome trace event format, which can be opened with
+ * <tt>chrome://tracing</tt> or <a href="https://ui.perfetto.dev">Perfetto</a>.
+ * <p/>
+ * Tracing is enabled by setting the system property {@value #TRACE_FILE_PROPERTY} to the file the trace should be
+ * written to, e.g. <tt>-Dfxweaver.trace=startup.json</tt>. The trace is written when the JVM shuts down, or on
+ * {@link #flush()}. Timestamps are relative to the JVM start, so the timeline covers everything from process start to
+ * the first frame. When tracing is disabled, {@link #begin(String, String)} returns a shared no-op span, so traced code
+ * does not allocate.
+ * <p/>
+ * {@link FxWeaver} traces every view load and controller creation, nested loads and the controllers of included FXML
+ * views showing up as nested spans, and marks the first pulse after a woven view was shown. Application code may add
+ * its own spans:
+ * <pre>
+ * try (FxTracer.Span span = FxTracer.begin("app", "StageReadyEvent")) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Rene Gielen
+ */
+public final class FxTracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxTracer.class);
+
+    /**
+     * The system property naming the file to write the trace to.
+     */
+    public static final String TRACE_FILE_PROPERTY = "fxweaver.trace";
+
+    static final int MAX_EVENTS = 500_000;
+
+    private static volatile Recorder recorder;
+    private static final AtomicBoolean firstPulseTraced = new AtomicBoolean();
+
+    static {
+        String file = System.getProperty(TRACE_FILE_PROPERTY);
+        if (file != null && !file.isEmpty()) {
+            start(Paths.get(file));
+        }
+    }
+
+    private FxTracer() {
+    }
+
+    /**
+     * @return Whether tracing is enabled
+     */
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * Begin a span on the current thread, to be ended by {@link Span#close()} on the same thread.
+     *
+     * @param category The category of the span, e.g. <tt>fxweaver</tt> or <tt>spring</tt>
+     * @param name     The name of the span
+     * @return The span, or a no-op span if tracing is disabled
+     */
+    public static Span begin(String category, String name) {
+        Recorder current = recorder;
+        return current != null ? new Span(current, category, name) : Span.NOOP;
+    }
+
+    /**
+     * Record an instant event on the current thread.
+     *
+     * @param category The category of the event
+     * @param name     The name of the event
+     */
+    public static void mark(String category, String name) {
+        Recorder current = recorder;
+        if (current != null) {
+            current.record(new Event(name, category, 'i', current.now(), 0, Thread.currentThread(), null));
+        }
+    }
+
+    /**
+     * Write the trace recorded so far to the file given by {@value #TRACE_FILE_PROPERTY}.
+     */
+    public static void flush() {
+        Recorder current = recorder;
+        if (current != null) {
+            current.writeSafely();
+        }
+    }
+
+    /**
+     * Mark the first pulse after the given view was shown in a scene, once per JVM.
+     */
+    static void traceFirstPulse(Node view) {
+        if (recorder == null || firstPulseTraced.get()) {
+            return;
+        }
+        view.sceneProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(javafx.beans.value.ObservableValue<? extends Scene> observable, Scene oldScene,
+                                Scene newScene) {
+                if (newScene != null) {
+                    observable.removeListener(this);
+                    Runnable[] listener = new Runnable[1];
+                    listener[0] = () -> {
+                        newScene.removePostLayoutPulseListener(listener[0]);
+                        if (firstPulseTraced.compareAndSet(false, true)) {
+                            mark("fxweaver", "first pulse");
+                        }
+                    };
+                    newScene.addPostLayoutPulseListener(listener[0]);
+                }
+            }
+        });
+    }
+
+    static synchronized void start(Path file) {
+        if (recorder == null) {
+            Recorder started = new Recorder(file);
+            Runtime.getRuntime().addShutdownHook(new Thread(started::writeSafely, "fxweaver-trace-writer"));
+            recorder = started;
+        }
+    }
+
+    static synchronized void stop() {
+        recorder = null;
+        firstPulseTraced.set(false);
+    }
+
+    static List<Event> events() {
+        Recorder current = recorder;
+        return current != null ? new ArrayList<>(current.events) : List.of();
+    }
+
+    /**
+     * A span of the trace, recorded as complete event when closed.
+     */
+    public static final class Span implements AutoCloseable {
+
+        static final Span NOOP = new Span(null, null, null);
+
+        private final Recorder recorder;
+        private final String category;
+        private String name;
+        private final long start;
+        private Map<String, Object> args;
+
+        private Span(Recorder recorder, String category, String name) {
+            this.recorder = recorder;
+            this.category = category;
+            this.name = name;
+            this.start = recorder != null ? recorder.now() : 0;
+        }
+
+        /**
+         * Rename the span, e.g. once details only known after it began are available.
+         *
+         * @return This span
+         */
+        public Span name(String name) {
+            if (recorder != null) {
+                this.name = name;
+            }
+            return this;
+        }
+
+        /**
+         * Add an argument shown with the span.
+         *
+         * @return This span
+         */
+        public Span arg(String key, Object value) {
+            if (recorder != null) {
+                if (args == null) {
+                    args = new LinkedHashMap<>();
+                }
+                args.put(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (recorder != null) {
+                recorder.record(new Event(name, category, 'X', start, recorder.now() - start,
+                        Thread.currentThread(), args));
+            }
+        }
+    }
+
+    static final class Event {
+
+        final String name;
+        final String category;
+        final char phase;
+        final long timestamp;
+        final long duration;
+        final long threadId;
+        final Map<String, Object> args;
+
+        Event(String name, String category, char phase, long timestamp, long duration, Thread thread,
+              Map<String, Object> args) {
+            this.name = name;
+            this.category = category;
+            this.phase = phase;
+            this.timestamp = timestamp;
+            this.duration = duration;
+            this.threadId = thread.getId();
+            this.args = args;
+        }
+    }
+
+    private static final class Recorder {
+
+        private final Path file;
+        private final long origin;
+        private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+
+        Recorder(Path file) {
+            this.file = file;
+            this.origin = System.nanoTime()
+                    - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+
+        /**
+         * @return Microseconds since JVM start
+         */
+        long now() {
+            return (System.nanoTime() - origin) / 1_000;
+        }
+
+        void record(Event event) {
+            if (size.incrementAndGet() > MAX_EVENTS) {
+                return;
+            }
+            threadNames.computeIfAbsent(event.threadId, id -> Thread.currentThread().getName());
+            events.add(event);
+        }
+
+        void writeSafely() {
+            try {
+                write();
+                LOG.info("Trace written to {}", file.toAbsolutePath());
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to write trace to {}", file, e);
+            }
+        }
+
+        synchronized void write() throws IOException {
+            long pid = ProcessHandle.current().pid();
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+                boolean first = true;
+                for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+                    first = separate(out, first);
+                    out.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":" + pid + ",\"tid\":" + thread.getKey()
+                            + ",\"args\":{\"name\":");
+                    string(out, thread.getValue());
+                    out.write("}}");
+                }
+                for (Event event : events) {
+                    first = separate(out, first);
+                    out.write("{\"name\":");
+                    string(out, event.name);
+                    out.write(",\"cat\":");
+                    string(out, event.category);
+                    out.write(",\"ph\":\"" + event.phase + "\",\"ts\":" + event.timestamp);
+                    if (event.phase == 'X') {
+                        out.write(",\"dur\":" + event.duration);
+                    } else {
+                        out.write(",\"s\":\"t\"");
+                    }
+                    out.write(",\"pid\":" + pid + ",\"tid\":" + event.threadId);
+                    if (event.args != null) {
+                        out.write(",\"args\":{");
+                        boolean firstArg = true;
+                        for (Map.Entry<String, Object> arg : event.args.entrySet()) {
+                            firstArg = separate(out, firstArg);
+                            string(out, arg.getKey());
+                            out.write(':');
+                            string(out, String.valueOf(arg.getValue()));
+                        }
+                        out.write('}');
+                    }
+                    out.write('}');
+                }
+                out.write("]}");
+            }
+        }
+
+        private static boolean separate(Writer out, boolean first) throws IOException {
+            if (!first) {
+                out.write(',');
+            }
+            return false;
+        }
+
+        private static void string(Writer out, String value) throws IOException {
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else if (c < 0x20) {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+            out.write('"');
+        }
+    }
+}
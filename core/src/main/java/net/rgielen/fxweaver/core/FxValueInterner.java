@@ -0,0 +1,211 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.property.Property;
+import javafx.css.StyleOrigin;
+import javafx.css.StyleableProperty;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FxValueInterner de-duplicates immutable values across woven views, so that e.g. 500 identical tiles share one
+ * {@link Insets}, {@link Font} or style String instead of holding 500 equal copies each.
+ * <p/>
+ * After a view is loaded, every node of its scene graph is searched for properties holding an {@link Insets},
+ * {@link Font}, {@link Color}, {@link CornerRadii}, {@link Background} or {@link Border}, or the inline <tt>style</tt>.
+ * A value equal to one seen before is replaced by the instance seen first. Values are only weakly referenced, so the
+ * interner never keeps them alive.
+ * <p/>
+ * Only values set by the view itself are replaced, i.e. properties that are neither bound nor set by CSS or left at
+ * their default. Since the replacement is equal to the original value, change listeners are not notified, while
+ * invalidation listeners are. Inline styles are the exception, as string properties ignore equal values: they are
+ * reset before being replaced, which listeners registered during load observe as two changes.
+ * <p/>
+ * Example:
+ * <pre>
+ *     fxWeaver.setValueInterner(new FxValueInterner());
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setValueInterner(FxValueInterner)
+ * @see FxLoadStatistics.ControllerStatistics#getInternedValues()
+ */
+public class FxValueInterner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxValueInterner.class);
+
+    private static final List<Class<?>> INTERNED_TYPES = List.of(
+            Insets.class, Font.class, Color.class, CornerRadii.class, Background.class, Border.class);
+
+    private static final String STYLE = "style";
+
+    private static final ClassValue<List<Accessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected List<Accessor> computeValue(Class<?> type) {
+            return accessors(type);
+        }
+    };
+
+    private final Map<Object, WeakReference<Object>> values = new WeakHashMap<>();
+    private final LongAdder internedValues = new LongAdder();
+
+    /**
+     * Look up the shared instance equal to the given value, registering the value itself if there is none yet.
+     *
+     * @param value The value to intern. May be <tt>null</tt>.
+     * @param <T>   The value type
+     * @return The shared instance equal to the given value, or <tt>null</tt> if the value was <tt>null</tt>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        synchronized (values) {
+            WeakReference<Object> reference = values.get(value);
+            Object shared = reference != null ? reference.get() : null;
+            if (shared == null) {
+                values.put(value, new WeakReference<>(value));
+                return value;
+            }
+            return (T) shared;
+        }
+    }
+
+    /**
+     * Replace the values of all nodes of the given view by their shared instances.
+     *
+     * @param view The root of the view
+     * @return The number of values replaced by a shared instance
+     */
+    public int internView(Node view) {
+        int replaced = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(view);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            for (Accessor accessor : ACCESSORS.get(node.getClass())) {
+                if (accessor.intern(node, this)) {
+                    replaced++;
+                }
+            }
+            if (node instanceof Parent) {
+                for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                    pending.push(child);
+                }
+            }
+        }
+        internedValues.add(replaced);
+        return replaced;
+    }
+
+    /**
+     * @return The number of values replaced by a shared instance so far
+     */
+    public long getInternedValues() {
+        return internedValues.sum();
+    }
+
+    /**
+     * @return The number of distinct values currently shared
+     */
+    public int getSharedValues() {
+        synchronized (values) {
+            return values.size();
+        }
+    }
+
+    private static List<Accessor> accessors(Class<?> type) {
+        List<Accessor> accessors = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                    || !method.getName().endsWith("Property")
+                    || !Property.class.isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            String name = method.getName().substring(0, method.getName().length() - "Property".length());
+            Method getter = getter(type, name);
+            if (getter != null && isInterned(name, getter.getReturnType())) {
+                accessors.add(new Accessor(getter, method));
+            }
+        }
+        return accessors;
+    }
+
+    private static boolean isInterned(String name, Class<?> type) {
+        if (type == String.class) {
+            return STYLE.equals(name);
+        }
+        return type == Paint.class || INTERNED_TYPES.stream().anyMatch(t -> t.isAssignableFrom(type));
+    }
+
+    private static Method getter(Class<?> type, String name) {
+        try {
+            return type.getMethod("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A value property of a node class. The plain getter is called first, so that lazily created properties are only
+     * instantiated if there is a value to replace.
+     */
+    private static final class Accessor {
+
+        private final Method getter;
+        private final Method property;
+
+        Accessor(Method getter, Method property) {
+            this.getter = getter;
+            this.property = property;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean intern(Node node, FxValueInterner interner) {
+            try {
+                Object value = getter.invoke(node);
+                if (value == null || value instanceof Paint && !(value instanceof Color)) {
+                    return false;
+                }
+                Object shared = interner.intern(value);
+                if (shared == value) {
+                    return false;
+                }
+                Property<Object> p = (Property<Object>) property.invoke(node);
+                if (p.isBound() || p instanceof StyleableProperty
+                        && ((StyleableProperty<?>) p).getStyleOrigin() != StyleOrigin.USER) {
+                    return false;
+                }
+                if (value instanceof String) {
+                    // string properties ignore equal values, so the shared instance can only be set after a reset
+                    p.setValue(null);
+                }
+                p.setValue(shared);
+                return true;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.debug("Unable to intern {} of {}", property.getName(), node, e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.Observable;
+import javafx.beans.property.Property;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The structural complexity of one or more woven views: node count by type, maximum depth, number of listeners and
+ * bindings on node properties and an estimate of the heap they retain.
+ * <p/>
+ * Listeners and bindings are found by inspecting the properties nodes have instantiated so far, which requires
+ * reflective access to JavaFX internals. If that access is denied, e.g. when JavaFX is on the module path without
+ * being opened, these figures are lower bounds. Retained bytes are estimated from the field layout of nodes and
+ * their properties, assuming compressed references, and do not include shared values, images or CSS.
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setComplexityAnalysisEnabled(boolean)
+ * @see FxLoadStatistics.ControllerStatistics#getComplexity()
+ */
+public final class FxViewComplexity {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxViewComplexity.class);
+
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int REFERENCE_BYTES = 4;
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return new Layout(type);
+        }
+    };
+
+    private final int views;
+    private final Map<Class<?>, Integer> nodeCountByType;
+    private final int nodeCount;
+    private final int maxDepth;
+    private final int listenerCount;
+    private final int bindingCount;
+    private final long estimatedBytes;
+
+    private FxViewComplexity(int views, Map<Class<?>, Integer> nodeCountByType, int maxDepth, int listenerCount,
+                             int bindingCount, long estimatedBytes) {
+        this.views = views;
+        this.nodeCountByType = sortedByCount(nodeCountByType);
+        this.nodeCount = nodeCountByType.values().stream().mapToInt(Integer::intValue).sum();
+        this.maxDepth = maxDepth;
+        this.listenerCount = listenerCount;
+        this.bindingCount = bindingCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Analyze the scene graph below and including the given root.
+     *
+     * @param view The root of the view
+     * @return The complexity of the view
+     */
+    public static FxViewComplexity analyze(Node view) {
+        Map<Class<?>, Integer> nodeCountByType = new HashMap<>();
+        int maxDepth = 0;
+        int listeners = 0;
+        int bindings = 0;
+        long bytes = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        pending.push(view);
+        depths.push(1);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int depth = depths.pop();
+            maxDepth = Math.max(maxDepth, depth);
+            nodeCountByType.merge(node.getClass(), 1, Integer::sum);
+            Layout layout = LAYOUTS.get(node.getClass());
+            bytes += layout.shallowBytes;
+            for (Field field : layout.observableFields) {
+                Object observable = read(field, node);
+                if (observable == null) {
+                    continue;
+                }
+                bytes += LAYOUTS.get(observable.getClass()).shallowBytes;
+                listeners += countListeners(observable);
+                if (observable instanceof Property && ((Property<?>) observable).isBound()) {
+                    bindings++;
+                }
+            }
+            if (node instanceof Parent) {
+                List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+                bytes += align(OBJECT_HEADER_BYTES + 4 + (long) REFERENCE_BYTES * children.size());
+                for (Node child : children) {
+                    pending.push(child);
+                    depths.push(depth + 1);
+                }
+            }
+        }
+        return new FxViewComplexity(1, nodeCountByType, maxDepth, listeners, bindings, bytes);
+    }
+
+    /**
+     * Add up the complexity of two sets of views. The maximum depth is the maximum of both.
+     *
+     * @param other The complexity to add
+     * @return The combined complexity
+     */
+    public FxViewComplexity plus(FxViewComplexity other) {
+        Map<Class<?>, Integer> combined = new HashMap<>(nodeCountByType);
+        other.nodeCountByType.forEach((type, count) -> combined.merge(type, count, Integer::sum));
+        return new FxViewComplexity(views + other.views, combined, Math.max(maxDepth, other.maxDepth),
+                listenerCount + other.listenerCount, bindingCount + other.bindingCount,
+                estimatedBytes + other.estimatedBytes);
+    }
+
+    /**
+     * @return The number of views analyzed
+     */
+    public int getViews() {
+        return views;
+    }
+
+    /**
+     * @return The number of nodes per node class, most frequent first
+     */
+    public Map<Class<?>, Integer> getNodeCountByType() {
+        return nodeCountByType;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return The maximum nesting depth of the scene graph, 1 for a view consisting of its root only
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return The number of invalidation and change listeners registered on the instantiated node properties
+     */
+    public int getListenerCount() {
+        return listenerCount;
+    }
+
+    /**
+     * @return The number of bound node properties
+     */
+    public int getBindingCount() {
+        return bindingCount;
+    }
+
+    /**
+     * @return The estimated heap retained by the nodes and their instantiated properties
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "FxViewComplexity{" +
+                "views=" + views +
+                ", nodeCount=" + nodeCount +
+                ", maxDepth=" + maxDepth +
+                ", listenerCount=" + listenerCount +
+                ", bindingCount=" + bindingCount +
+                ", estimatedBytes=" + estimatedBytes +
+                '}';
+    }
+
+    private static Map<Class<?>, Integer> sortedByCount(Map<Class<?>, Integer> counts) {
+        List<Map.Entry<Class<?>, Integer>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<Class<?>, Integer>comparingByValue().reversed()
+                .thenComparing(entry -> entry.getKey().getName()));
+        Map<Class<?>, Integer> sorted = new LinkedHashMap<>();
+        entries.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    private static int countListeners(Object observable) {
+        Field helperField = LAYOUTS.get(observable.getClass()).helperField;
+        Object helper = helperField != null ? read(helperField, observable) : null;
+        if (helper == null) {
+            return 0;
+        }
+        Layout helperLayout = LAYOUTS.get(helper.getClass());
+        if (helperLayout.invalidationSizeField == null || helperLayout.changeSizeField == null) {
+            // single listener helpers have no size fields
+            return 1;
+        }
+        Object invalidationSize = read(helperLayout.invalidationSizeField, helper);
+        Object changeSize = read(helperLayout.changeSizeField, helper);
+        return (invalidationSize instanceof Integer ? (Integer) invalidationSize : 0)
+                + (changeSize instanceof Integer ? (Integer) changeSize : 0);
+    }
+
+    private static Object read(Field field, Object o) {
+        try {
+            return field.get(o);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * The reflective field layout of a class relevant for the analysis. Fields that cannot be made accessible are
+     * left out.
+     */
+    private static final class Layout {
+
+        final long shallowBytes;
+        final List<Field> observableFields = new ArrayList<>();
+        final Field helperField;
+        final Field invalidationSizeField;
+        final Field changeSizeField;
+
+        Layout(Class<?> type) {
+            long bytes = OBJECT_HEADER_BYTES;
+            Field helper = null;
+            Field invalidationSize = null;
+            Field changeSize = null;
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    bytes += fieldBytes(field.getType());
+                    boolean observable = Observable.class.isAssignableFrom(field.getType());
+                    boolean helperCandidate = "helper".equals(field.getName()) && helper == null;
+                    boolean sizeCandidate = field.getType() == int.class
+                            && ("invalidationSize".equals(field.getName()) || "changeSize".equals(field.getName()));
+                    if (!(observable || helperCandidate || sizeCandidate) || !makeAccessible(field)) {
+                        continue;
+                    }
+                    if (observable) {
+                        observableFields.add(field);
+                    } else if (helperCandidate) {
+                        helper = field;
+                    } else if ("invalidationSize".equals(field.getName())) {
+                        invalidationSize = field;
+                    } else {
+                        changeSize = field;
+                    }
+                }
+            }
+            observableFields.sort(Comparator.comparing(Field::getName));
+            this.shallowBytes = align(bytes);
+            this.helperField = helper;
+            this.invalidationSizeField = invalidationSize;
+            this.changeSizeField = changeSize;
+        }
+
+        private static int fieldBytes(Class<?> type) {
+            if (type == long.class || type == double.class) {
+                return 8;
+            } else if (type == int.class || type == float.class) {
+                return 4;
+            } else if (type == short.class || type == char.class) {
+                return 2;
+            } else if (type == byte.class || type == boolean.class) {
+                return 1;
+            }
+            return REFERENCE_BYTES;
+        }
+
+        private static boolean makeAccessible(Field field) {
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (RuntimeException e) {
+                LOG.trace("Unable to inspect {}", field, e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Node;
+
+import java.util.ResourceBundle;
+
+/**
+ * Builds the view of a controller in plain Java, as code-first alternative to a FXML view.
+ * <p/>
+ * Factories are referenced by {@link FxCodeView} and are obtained from the bean factory of {@link FxWeaver}, so they
+ * may be managed beans themselves. The view is woven with the controller bean the same way FXML views are, just
+ * without any FXML parsing.
+ * <p/>
+ * Example:
+ * <pre>
+ *     public class GreetingView implements FxViewFactory&lt;GreetingController, Label&gt; {
+ *         public Label createView(GreetingController controller, ResourceBundle resourceBundle) {
+ *             Label label = new Label();
+ *             label.setId("greeting");
+ *             label.textProperty().bind(controller.greetingProperty());
+ *             return label;
+ *         }
+ *     }
+ * </pre>
+ *
+ * @param <C> The controller type
+ * @param <V> The view type
+ * @author Rene Gielen
+ * @see FxCodeView
+ */
+@FunctionalInterface
+public interface FxViewFactory<C, V extends Node> {
+
+    /**
+     * Create the view for the given controller. Nodes given an {@link Node#getId() id} can be looked up with
+     * {@link FxControllerAndView#lookup(String, Class)}, just like nodes with an <tt>fx:id</tt> in FXML views.
+     *
+     * @param controller     The managed controller instance the view is woven with
+     * @param resourceBundle The {@link ResourceBundle} the view was requested with. May be <tt>null</tt>
+     * @return The view
+     */
+    V createView(C controller, ResourceBundle resourceBundle);
+
+}
@@ -2,16 +2,35 @@ package net.rgielen.fxweaver.core;
 
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableColumn;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
 import javafx.util.Callback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
 
 /**
  * FxWeaver is the core weaving facility, enabling Controllers and Views to be instantiated by a dependency injection
@@ -21,6 +40,8 @@ import java.util.ResourceBundle;
  * declared as Spring managed bean, it will get created and injected by Spring.
  * <p>
  * If a managed Controller class contains an {@link FxmlView} annotation, attached FXML views are injected as well.
+ * <p>
+ * Controllers implementing {@link FxDisposable} are disposed once their view has left its scene for good.
  *
  * <pre>
  *     ConfigurableApplicationContext applicationContext = ...
@@ -43,6 +64,19 @@ public class FxWeaver {
 
     private final Callback<Class<?>, Object> beanFactory;
     private final Runnable closeCommand;
+    private FxLeakDetector leakDetector;
+    private FxStallWatchdog stallWatchdog;
+    private FxResourceCache resourceCache;
+    private FxValueInterner valueInterner;
+    private FxWindowPool windowPool;
+    private FxHotReloader hotReloader;
+    private List<FxmlSource> fxmlSources = List.of();
+    private boolean localeSwitchingEnabled;
+    private boolean complexityAnalysisEnabled;
+    private boolean methodHandleInjectionEnabled;
+    private final Map<String, FxmlTemplate> fxmlTemplates = new ConcurrentHashMap<>();
+    private final FxLoadStatistics statistics = new FxLoadStatistics();
+    private final List<WeakReference<Node>> localizedViews = new CopyOnWriteArrayList<>();
 
     /**
      * Create a FxWeaver instance.
@@ -375,32 +409,318 @@ public class FxWeaver {
     protected <C, V extends Node> FxControllerAndView<C, V> load(Class<C> controllerClass,
                                                                  String location,
                                                                  ResourceBundle resourceBundle) {
-        return Optional.ofNullable(location)
-                .map(controllerClass::getResource)
-                .map(url -> this.<C, V>loadByView(url, resourceBundle))
-                .orElseGet(() -> SimpleFxControllerAndView.ofController(getBean(controllerClass)));
+        FxControllerAndView<C, V> controllerAndView;
+        FxStallWatchdog watchdog = stallWatchdog;
+        try (FxTracer.Span span = FxTracer.begin("fxweaver", controllerClass.getSimpleName())) {
+            long start = System.nanoTime();
+            Optional<FxmlContent> content = resolveFxml(controllerClass, location);
+            Optional<URL> url = content.map(FxmlContent::getLocation)
+                    .or(() -> Optional.ofNullable(location).map(controllerClass::getResource));
+            span.arg("location", url.orElse(null));
+            if (watchdog != null) {
+                watchdog.enter(controllerClass, url.orElse(null));
+            }
+            try {
+                controllerAndView = url
+                        .map(u -> this.<C, V>loadByView(u, content.orElse(null), resourceBundle))
+                        .or(() -> Optional.ofNullable(controllerClass.getAnnotation(FxCodeView.class))
+                                .map(codeView -> this.<C, V>loadByCode(controllerClass, codeView, resourceBundle)))
+                        .orElseGet(() -> SimpleFxControllerAndView.ofController(getBean(controllerClass)));
+                int internedValues = 0;
+                if (valueInterner != null && controllerAndView.getView().isPresent()) {
+                    stallPhase("interning values");
+                    internedValues = valueInterner.internView(controllerAndView.getView().get());
+                }
+                statistics.recordLoad(controllerClass, url.orElse(null), System.nanoTime() - start,
+                        controllerAndView.getController(), internedValues);
+                if (complexityAnalysisEnabled && controllerAndView.getView().isPresent()) {
+                    stallPhase("analyzing view");
+                    statistics.recordComplexity(controllerClass,
+                            FxViewComplexity.analyze(controllerAndView.getView().get()));
+                }
+                if (hotReloader != null && url.isPresent()) {
+                    hotReloader.track(this, url.get(), resourceBundle, controllerAndView);
+                }
+            } finally {
+                if (watchdog != null) {
+                    watchdog.exit();
+                }
+            }
+        }
+        if (leakDetector != null) {
+            leakDetector.track(controllerClass, controllerAndView);
+        }
+        if (FxTracer.isEnabled()) {
+            controllerAndView.getView().ifPresent(FxTracer::traceFirstPulse);
+        }
+        return controllerAndView;
+    }
+
+    /**
+     * Load a controller with its view and show the view in a window, e.g. a dialog. The window shell is taken from the
+     * {@link FxWindowPool} set by {@link #setWindowPool(FxWindowPool)}, if any, and returned to it once the window is
+     * hidden. Windows are sized to their view and shown without waiting for them to be closed. Must be called on the
+     * JavaFX application thread.
+     * <p/>
+     * The window can be accessed through the scene of the view, e.g. for setting its title:
+     * <pre>
+     *     FxControllerAndView&lt;TiledDialogController, VBox&gt; dialog =
+     *             fxWeaver.openWindow(TiledDialogController.class, primaryStage, Modality.WINDOW_MODAL);
+     *     ((Stage) dialog.getView().get().getScene().getWindow()).setTitle("Details");
+     * </pre>
+     *
+     * @param controllerClass The controller class of which a weaved instance should be shown
+     * @param owner           The owner of the window. May be <tt>null</tt>.
+     * @param modality        The modality of the window
+     * @param <V>             The view type
+     * @param <C>             The controller type
+     * @return The managed instance of the requested controller and its view, already showing
+     * @throws IllegalStateException if the controller class comes without a view
+     */
+    public <C, V extends Node> FxControllerAndView<C, V> openWindow(Class<C> controllerClass, Window owner,
+                                                                    Modality modality) {
+        FxControllerAndView<C, V> controllerAndView = load(controllerClass);
+        Node view = controllerAndView.getView()
+                .orElseThrow(() -> new IllegalStateException(controllerClass.getName() + " has no view"));
+        Stage stage;
+        if (windowPool != null) {
+            stage = windowPool.acquire(owner, modality);
+            statistics.recordPooledWindow(controllerClass);
+        } else {
+            stage = new FxWindowPool(0).acquire(owner, modality);
+        }
+        stage.getScene().setRoot(view instanceof Parent ? (Parent) view : new Group(view));
+        stage.sizeToScene();
+        stage.show();
+        return controllerAndView;
+    }
+
+    /**
+     * Provide a {@link LazyFxControllerAndView} deferring {@link #load(Class)} until controller or view are first
+     * accessed, e.g. when being injected outside of the JavaFX application thread. Instances not loaded yet are
+     * reported by {@link #getStatistics()}.
+     *
+     * @param controllerClass The controller class of which a weaved instance should be provided
+     * @param <V>             The view type
+     * @param <C>             The controller type
+     * @return A lazy container for the managed instance of the requested controller and the corresponding view
+     */
+    public <C, V extends Node> LazyFxControllerAndView<C, V> loadLazy(Class<C> controllerClass) {
+        LazyFxControllerAndView<C, V> controllerAndView = new LazyFxControllerAndView<>(() -> load(controllerClass));
+        statistics.trackLazy(controllerClass, controllerAndView);
+        return controllerAndView;
+    }
+
+    /**
+     * Provide a {@link FxControllerAndViewProvider} handing out a new instance of the given controller class with its
+     * view on every call, keeping {@value FxControllerAndViewProvider#DEFAULT_QUEUE_SIZE} instances loaded ahead of
+     * time on the JavaFX application thread.
+     *
+     * @param controllerClass The controller class of which weaved instances should be provided
+     * @param <V>             The view type
+     * @param <C>             The controller type
+     * @return A provider of new instances of the requested controller and the corresponding view
+     */
+    public <C, V extends Node> FxControllerAndViewProvider<C, V> provider(Class<C> controllerClass) {
+        return new FxControllerAndViewProvider<>(this, controllerClass);
+    }
+
+    /**
+     * Provide a {@link ListView} cell factory creating cells which display their items in views of the given cell
+     * controller class, each woven once per cell and rebound to the displayed items while scrolling.
+     *
+     * @param controllerClass The controller class of the cell views
+     * @param <T>             The item type
+     * @return A cell factory weaving cell views with this weaver
+     */
+    public <T> FxListCellFactory<T> listCellFactory(Class<? extends FxCellController<T>> controllerClass) {
+        return new FxListCellFactory<>(this, controllerClass);
+    }
+
+    /**
+     * Provide a {@link TableColumn} cell factory creating cells which display their cell values in views of the given
+     * cell controller class, each woven once per cell and rebound to the displayed values while scrolling.
+     *
+     * @param controllerClass The controller class of the cell views
+     * @param <S>             The row item type
+     * @param <T>             The cell value type
+     * @return A cell factory weaving cell views with this weaver
+     */
+    public <S, T> FxTableCellFactory<S, T> tableCellFactory(Class<? extends FxCellController<T>> controllerClass) {
+        return new FxTableCellFactory<>(this, controllerClass);
+    }
+
+    private Optional<FxmlContent> resolveFxml(Class<?> controllerClass, String location) {
+        if (location == null) {
+            return Optional.empty();
+        }
+        for (FxmlSource source : fxmlSources) {
+            try {
+                Optional<FxmlContent> content = source.resolve(controllerClass, location);
+                if (content.isPresent()) {
+                    return content;
+                }
+            } catch (IOException e) {
+                throw new FxLoadException("Unable to read FXML " + location + " of " + controllerClass.getName()
+                        + " from " + source, e);
+            }
+        }
+        return Optional.empty();
     }
 
-    private <C, V extends Node> FxControllerAndView<C, V> loadByView(URL url, ResourceBundle resourceBundle) {
-        return loadByViewUsingFxmlLoader(new FXMLLoader(), url, resourceBundle);
+    private <C, V extends Node> FxControllerAndView<C, V> loadByView(URL url, FxmlContent content,
+                                                                     ResourceBundle resourceBundle) {
+        return loadByViewUsingFxmlLoader(new FXMLLoader(), url, content, resourceBundle, beanFactory);
     }
 
     <C, V extends Node> FxControllerAndView<C, V> loadByViewUsingFxmlLoader(FXMLLoader loader, URL url,
                                                                             ResourceBundle resourceBundle) {
-        try (InputStream fxmlStream = url.openStream()) {
+        return loadByViewUsingFxmlLoader(loader, url, null, resourceBundle, beanFactory);
+    }
+
+    /**
+     * Weave the view at the given location again, reusing the given controller instead of requesting a new one from
+     * the bean factory. Controllers of included views are requested from the bean factory as usual.
+     */
+    <C, V extends Node> FxControllerAndView<C, V> reload(C controller, URL url, ResourceBundle resourceBundle) {
+        boolean[] reused = {false};
+        return loadByViewUsingFxmlLoader(new FXMLLoader(), url, null, resourceBundle, type -> {
+            if (!reused[0] && type.isInstance(controller)) {
+                reused[0] = true;
+                return controller;
+            }
+            return beanFactory.call(type);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C, V extends Node> FxControllerAndView<C, V> loadByViewUsingFxmlLoader(
+            FXMLLoader loader, URL url, FxmlContent content, ResourceBundle resourceBundle,
+            Callback<Class<?>, Object> controllerFactory) {
+        try {
             LOG.debug("Loading FXML resource at {}", url);
+            List<FxDisposable> disposables = new ArrayList<>();
             loader.setLocation(url);
-            loader.setControllerFactory(beanFactory);
-            if (resourceBundle != null) {
+            loader.setControllerFactory(type -> {
+                Object controller;
+                stallPhase("creating controller ", type);
+                FxTracer.Span span = FxTracer.begin("bean", type.getSimpleName());
+                try {
+                    controller = controllerFactory.call(type);
+                } finally {
+                    span.close();
+                }
+                stallPhase("loading FXML");
+                if (controller instanceof FxDisposable) {
+                    disposables.add((FxDisposable) controller);
+                }
+                return controller;
+            });
+            ResourceBindings.RecordingResourceBundle recordingBundle = null;
+            if (resourceBundle != null && localeSwitchingEnabled) {
+                recordingBundle = new ResourceBindings.RecordingResourceBundle(resourceBundle);
+                loader.setResources(recordingBundle);
+            } else if (resourceBundle != null) {
                 loader.setResources(resourceBundle);
             }
-            V view = loader.load(fxmlStream);
-            return SimpleFxControllerAndView.of(loader.getController(), view);
+            if (resourceCache != null) {
+                loader.setBuilderFactory(resourceCache.getBuilderFactory());
+            }
+            stallPhase("loading FXML");
+            FxmlTemplate template = methodHandleInjectionEnabled ? fxmlTemplate(url, content) : FxmlTemplate.INELIGIBLE;
+            Class<?> controllerClass = template.isEligible()
+                    ? loadControllerClass(loader, template.getControllerClassName()) : null;
+            FxmlInjector injector = controllerClass != null ? FxmlInjector.of(controllerClass) : null;
+            V view;
+            Object controller;
+            if (injector != null && injector.supports(template.getHandlerNames())) {
+                controller = loader.getControllerFactory().call(controllerClass);
+                loader.getNamespace().put("controller", controller);
+                injector.bindHandlers(controller, template.getHandlerNames(), loader.getNamespace());
+                view = loader.load(template.openStream());
+                injector.inject(controller, loader.getNamespace(), url, loader.getResources());
+            } else {
+                try (InputStream fxmlStream = content != null ? content.openStream() : url.openStream()) {
+                    view = loader.load(fxmlStream);
+                }
+                controller = loader.getController();
+            }
+            stallPhase("post-processing view");
+            if (recordingBundle != null && view != null) {
+                registerResourceBindings(view, ResourceBindings.collect(view, loader.getNamespace(), recordingBundle));
+            }
+            DisposeOnDetach.register(view, disposables);
+            return SimpleFxControllerAndView.of((C) controller, view, FxNodeIndex.of(loader.getNamespace()));
         } catch (IOException e) {
             throw new FxLoadException("Unable to load FXML file " + url, e);
         }
     }
 
+    private FxmlTemplate fxmlTemplate(URL url, FxmlContent content) {
+        String key = content != null ? url + "#" + content.getContentHash() : url.toString();
+        return fxmlTemplates.computeIfAbsent(key, k -> {
+            try (InputStream fxmlStream = content != null ? content.openStream() : url.openStream()) {
+                return FxmlTemplate.parse(fxmlStream);
+            } catch (IOException | XMLStreamException e) {
+                // left to FXMLLoader to report
+                LOG.debug("Unable to prepare FXML file {} for direct injection", url, e);
+                return FxmlTemplate.INELIGIBLE;
+            }
+        });
+    }
+
+    private static Class<?> loadControllerClass(FXMLLoader loader, String controllerClassName) {
+        try {
+            return Class.forName(controllerClassName, false, loader.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C, V extends Node> FxControllerAndView<C, V> loadByCode(Class<C> controllerClass, FxCodeView codeView,
+                                                                     ResourceBundle resourceBundle) {
+        C controller = getBean(controllerClass);
+        Object factory = codeView.value() == FxViewFactory.class ? controller : getBean(codeView.value());
+        if (!(factory instanceof FxViewFactory)) {
+            throw new FxLoadException(controllerClass.getName() + " is annotated with @"
+                    + FxCodeView.class.getSimpleName() + " without a factory, but does not implement "
+                    + FxViewFactory.class.getSimpleName());
+        }
+        LOG.debug("Creating view of {} with {}", controllerClass.getName(), factory);
+        stallPhase("creating view with ", factory.getClass());
+        V view = ((FxViewFactory<C, V>) factory).createView(controller, resourceBundle);
+        if (view == null) {
+            throw new FxLoadException(factory + " created no view for " + controllerClass.getName());
+        }
+        List<FxDisposable> disposables = new ArrayList<>();
+        if (controller instanceof FxDisposable) {
+            disposables.add((FxDisposable) controller);
+        }
+        DisposeOnDetach.register(view, disposables);
+        return SimpleFxControllerAndView.of(controller, view, FxNodeIndex.ofIds(view));
+    }
+
+    private void stallPhase(String phase) {
+        if (stallWatchdog != null) {
+            stallWatchdog.phase(phase);
+        }
+    }
+
+    private void stallPhase(String phase, Class<?> subject) {
+        if (stallWatchdog != null) {
+            stallWatchdog.phase(phase + subject.getName());
+        }
+    }
+
+    private void registerResourceBindings(Node view, ResourceBindings bindings) {
+        if (!bindings.isEmpty()) {
+            view.getProperties().put(ResourceBindings.class, bindings);
+            localizedViews.removeIf(reference -> reference.get() == null);
+            localizedViews.add(new WeakReference<>(view));
+        }
+    }
+
     /**
      * Build a FXML view location reference for controller classes, based on {@link FxmlView} annotation or simple
      * classname.
@@ -408,19 +728,285 @@ public class FxWeaver {
      * @param c The class to build a FXML location for. If it does not contain a {@link FxmlView} annotation to specify
      *          resource to load, it is assumed that the view resides in the same package, named
      *          {c.getSimpleName()}.fxml
-     * @return a resource location suitable for loading by {@link Class#getResource(String)}
+     * @return a resource location suitable for loading by {@link Class#getResource(String)}, or <tt>null</tt> for
+     * classes annotated with {@link FxCodeView}
      */
     protected String buildFxmlReference(Class<?> c) {
+        if (c.isAnnotationPresent(FxCodeView.class)) {
+            return null;
+        }
         return Optional.ofNullable(c.getAnnotation(FxmlView.class)).map(FxmlView::value)
                 .map(s -> s.isEmpty() ? null : s)
                 .orElse(c.getSimpleName() + ".fxml");
     }
 
+    /**
+     * @return The load statistics of all controllers loaded by this weaver
+     */
+    public FxLoadStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return The resource cache set by {@link #setResourceCache(FxResourceCache)}, if any
+     */
+    public Optional<FxResourceCache> getResourceCache() {
+        return Optional.ofNullable(resourceCache);
+    }
+
+    /**
+     * Clear all caches held by this weaver. Views loaded afterwards reload their resources.
+     */
+    public void clearCaches() {
+        fxmlTemplates.clear();
+        if (resourceCache != null) {
+            resourceCache.clear();
+        }
+    }
+
+    /**
+     * Attribute stalls of the JavaFX application thread detected by the given watchdog to the view loads in progress.
+     *
+     * @param stallWatchdog The watchdog to inform about view loads. May be <tt>null</tt> to stop informing it.
+     */
+    public void setStallWatchdog(FxStallWatchdog stallWatchdog) {
+        this.stallWatchdog = stallWatchdog;
+    }
+
+    /**
+     * Enable leak detection for all views loaded from now on.
+     *
+     * @param leakDetector The leak detector to track loaded views. May be <tt>null</tt> to disable leak detection.
+     */
+    public void setLeakDetector(FxLeakDetector leakDetector) {
+        this.leakDetector = leakDetector;
+    }
+
+    /**
+     * De-duplicate immutable values such as insets, fonts, colors and inline styles across all views loaded from now on.
+     * The number of values replaced by a shared instance is reported per controller by {@link #getStatistics()}.
+     *
+     * @param valueInterner The interner to share values with. May be <tt>null</tt> to disable interning.
+     */
+    public void setValueInterner(FxValueInterner valueInterner) {
+        this.valueInterner = valueInterner;
+    }
+
+    /**
+     * Analyze the complexity of all views loaded from now on, and add it up per controller in {@link #getStatistics()}.
+     * The analysis takes place after the load time has been recorded.
+     *
+     * @param complexityAnalysisEnabled Whether to analyze loaded views
+     * @see FxViewComplexity
+     */
+    public void setComplexityAnalysisEnabled(boolean complexityAnalysisEnabled) {
+        this.complexityAnalysisEnabled = complexityAnalysisEnabled;
+    }
+
+    /**
+     * Inject <tt>@FXML</tt> fields, bind <tt>#handler</tt> methods and initialize controllers of all views loaded from
+     * now on through method handles looked up once per controller class, instead of the reflective lookups
+     * {@link FXMLLoader} performs on every load. Views using <tt>fx:include</tt>, <tt>fx:root</tt>, scripts or change
+     * listener handlers, and controllers not accessible to FxWeaver, are loaded by {@link FXMLLoader} as usual.
+     * <p/>
+     * Since the controller is not known to {@link FXMLLoader} anymore, {@link FXMLLoader#getController()} returns
+     * <tt>null</tt> for such views.
+     *
+     * @param methodHandleInjectionEnabled Whether to inject controllers through method handles
+     */
+    public void setMethodHandleInjectionEnabled(boolean methodHandleInjectionEnabled) {
+        this.methodHandleInjectionEnabled = methodHandleInjectionEnabled;
+    }
+
+    /**
+     * Reuse window shells for all windows opened by {@link #openWindow(Class, Window, Modality)} from now on.
+     *
+     * @param windowPool The pool to take window shells from. May be <tt>null</tt> to create a new window every time.
+     */
+    public void setWindowPool(FxWindowPool windowPool) {
+        this.windowPool = windowPool;
+    }
+
+    /**
+     * Resolve the FXML views of all controllers loaded from now on through the given sources, e.g. to load views of
+     * plugins from external directories or archives. Sources are queried in the given order. Views none of them
+     * resolves are looked up on the classpath.
+     *
+     * @param fxmlSources The sources to resolve views with. Passing none restores classpath lookup only.
+     */
+    public void setFxmlSources(FxmlSource... fxmlSources) {
+        this.fxmlSources = List.of(fxmlSources);
+    }
+
+    /**
+     * Register all FXML views loaded from now on with the given hot reloader, so that they get re-woven in place when
+     * their source changes. Meant for development only.
+     *
+     * @param hotReloader The reloader to register loaded views with. May be <tt>null</tt> to stop registering views.
+     */
+    public void setHotReloader(FxHotReloader hotReloader) {
+        this.hotReloader = hotReloader;
+    }
+
+    /**
+     * Share decoded images among all views loaded from now on, and enable {@link #preload(Class[])}.
+     *
+     * @param resourceCache The cache to serve images from. May be <tt>null</tt> to disable caching.
+     */
+    public void setResourceCache(FxResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * Decode the images and fonts referenced by the FXML views of the given controller classes in the background, so
+     * that loading the views later on does not have to. Requires a {@link FxResourceCache} to be set.
+     *
+     * @param controllerClasses The controller classes to preload the FXML view resources for
+     * @return A future completing when all resources are decoded
+     * @throws IllegalStateException if no resource cache is set
+     * @see #setResourceCache(FxResourceCache)
+     */
+    public CompletableFuture<Void> preload(Class<?>... controllerClasses) {
+        if (resourceCache == null) {
+            throw new IllegalStateException("Preloading requires a resource cache to be set");
+        }
+        return CompletableFuture.allOf(Arrays.stream(controllerClasses)
+                .map(c -> Optional.ofNullable(buildFxmlReference(c)).map(c::getResource).orElse(null))
+                .filter(Objects::nonNull)
+                .map(resourceCache::preload)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Record which properties of views loaded from now on are bound to <tt>%key</tt> resources, so that
+     * {@link #switchLocale(ResourceBundle)} can update them in place. Only views loaded with a {@link ResourceBundle}
+     * are recorded.
+     *
+     * @param localeSwitchingEnabled Whether to record resource bindings
+     */
+    public void setLocaleSwitchingEnabled(boolean localeSwitchingEnabled) {
+        this.localeSwitchingEnabled = localeSwitchingEnabled;
+    }
+
+    /**
+     * Re-apply the text of all recorded resource bindings of all live views from the given bundle, without reloading
+     * any FXML and keeping all controller state. Resources missing in the given bundle are left unchanged. Must be
+     * called on the JavaFX application thread.
+     *
+     * @param resourceBundle The bundle to take the resources from, usually of another locale than the one used for
+     *                       loading
+     * @see #setLocaleSwitchingEnabled(boolean)
+     */
+    public void switchLocale(ResourceBundle resourceBundle) {
+        for (WeakReference<Node> reference : localizedViews) {
+            Node view = reference.get();
+            if (view == null) {
+                localizedViews.remove(reference);
+            } else {
+                ((ResourceBindings) view.getProperties().get(ResourceBindings.class)).apply(resourceBundle);
+            }
+        }
+    }
+
     /**
      * Perform the provided close method and call {@link Platform#exit()}.
      */
     public void shutdown() {
         closeCommand.run();
+        exitPlatform();
+    }
+
+    /**
+     * Shut down within a bounded time, without freezing the UI while the bean factory closes.
+     * <p/>
+     * All windows are hidden at once, then the provided close method is run on a separate daemon thread. If it
+     * finishes within the given timeout, {@link Platform#exit()} is called. Otherwise the shutdown is reported by
+     * {@link #reportShutdown(Duration, Thread)} and the JVM is terminated by {@link #forceExit()}. This method returns
+     * immediately, so it is safe to call it from the JavaFX application thread.
+     *
+     * @param timeout The time to wait for the close method to finish
+     * @return A future completing after {@link Platform#exit()} was called, or exceptionally with a
+     * {@link TimeoutException} if the close method did not finish in time
+     */
+    public CompletableFuture<Void> shutdown(Duration timeout) {
+        hideWindows();
+        long start = System.nanoTime();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        Thread closer = new Thread(() -> {
+            if (closeCommand != null) {
+                closeCommand.run();
+            }
+        }, "fxweaver-shutdown-close");
+        closer.setDaemon(true);
+        Thread supervisor = new Thread(() -> {
+            try {
+                closer.join(Math.max(1, timeout.toMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            boolean closed = !closer.isAlive();
+            reportShutdown(Duration.ofNanos(System.nanoTime() - start), closed ? null : closer);
+            if (!closed) {
+                // forceExit skips shutdown hooks
+                FxTracer.flush();
+            }
+            exitPlatform();
+            if (closed) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(new TimeoutException("Close method did not finish within " + timeout));
+                forceExit();
+            }
+        }, "fxweaver-shutdown");
+        supervisor.setDaemon(true);
+        closer.start();
+        supervisor.start();
+        return result;
+    }
+
+    /**
+     * Report the outcome of {@link #shutdown(Duration)}. The default implementation logs the time it took to close
+     * and, if the close method did not finish in time, where it got stuck.
+     *
+     * @param elapsed The time the close method took, or the timeout if it did not finish
+     * @param stuck   The thread still running the close method if it did not finish in time, <tt>null</tt> otherwise
+     */
+    protected void reportShutdown(Duration elapsed, Thread stuck) {
+        if (stuck == null) {
+            LOG.debug("Closed in {} ms", elapsed.toMillis());
+        } else {
+            Exception location = new Exception("Close method still running at");
+            location.setStackTrace(stuck.getStackTrace());
+            LOG.warn("Close method did not finish within {} ms, forcing exit", elapsed.toMillis(), location);
+        }
+    }
+
+    /**
+     * Exit the JavaFX application at the end of {@link #shutdown()} and {@link #shutdown(Duration)}. The default
+     * implementation calls {@link Platform#exit()}.
+     */
+    protected void exitPlatform() {
         Platform.exit();
     }
+
+    /**
+     * Terminate the JVM after {@link #shutdown(Duration)} ran out of time. Shutdown hooks are not run, since they are
+     * likely to wait for the very resources that failed to close.
+     */
+    protected void forceExit() {
+        Runtime.getRuntime().halt(1);
+    }
+
+    private void hideWindows() {
+        Runnable hide = () -> new ArrayList<>(Window.getWindows()).forEach(Window::hide);
+        if (Platform.isFxApplicationThread()) {
+            hide.run();
+        } else {
+            try {
+                Platform.runLater(hide);
+            } catch (IllegalStateException e) {
+                LOG.debug("JavaFX toolkit not running, no windows to hide");
+            }
+        }
+    }
 }
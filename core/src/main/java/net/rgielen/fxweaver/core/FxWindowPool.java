@@ -0,0 +1,228 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * FxWindowPool keeps hidden {@link Stage}/{@link Scene} shells for reuse by {@link FxWeaver#openWindow(Class, Window,
+ * Modality)}, so that opening a dialog does not have to create, initialize and style a new window every time.
+ * <p/>
+ * Since owner and modality of a stage cannot be changed once it has been shown, shells are pooled per owner and
+ * modality. When a pooled stage is hidden, its view is detached, which disposes {@link FxDisposable} controllers, and
+ * the following is reset before the shell is returned to the pool: the title, the stylesheets, the handlers set through
+ * the <tt>onShowing</tt>, <tt>onShown</tt>, <tt>onHiding</tt>, <tt>onHidden</tt> and <tt>onCloseRequest</tt>
+ * properties, and the position, so that the window is centered again when shown next. The size follows the next view,
+ * since {@link FxWeaver#openWindow(Class, Window, Modality)} sizes the window to its scene.
+ * <p/>
+ * Handlers and filters added with {@link Stage#addEventHandler} or {@link Stage#addEventFilter} cannot be removed by
+ * the pool, since JavaFX offers no way to enumerate them. They stay on the shell, fire for the next window shown in it,
+ * and keep whatever they refer to reachable. Controllers should use the <tt>onXxx</tt> properties instead, or register
+ * window handlers through {@link FxSubscriptions#handleWindow} and dispose them as {@link FxDisposable}. Other stage
+ * settings made by a controller, e.g. the stage style or resizability, stay in place as well.
+ * <p/>
+ * Shells owned by a window are discarded once their owner is hidden. A stage must not be shown again by application
+ * code after it has been hidden, since it might have been handed out to another window by then. The native window
+ * itself is released and recreated by JavaFX on every hide and show.
+ * <p/>
+ * All methods except the statistics getters must be called on the JavaFX application thread.
+ * <p/>
+ * Example:
+ * <pre>
+ *     FxWindowPool windowPool = new FxWindowPool(2);
+ *     windowPool.setStylesheets("/styles/dialog.css");
+ *     windowPool.prewarm(primaryStage, Modality.WINDOW_MODAL, 1);
+ *     fxWeaver.setWindowPool(windowPool);
+ *     ...
+ *     fxWeaver.openWindow(TiledDialogController.class, primaryStage, Modality.WINDOW_MODAL);
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxWeaver#setWindowPool(FxWindowPool)
+ */
+public class FxWindowPool {
+
+    private final int maxIdlePerKey;
+    private final Map<Key, Deque<Stage>> idle = new HashMap<>();
+    private final Set<Window> watchedOwners = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final EventHandler<WindowEvent> ownerHidden = event -> discardOwnedBy((Window) event.getSource());
+    private List<String> stylesheets = Collections.emptyList();
+    private volatile int createdCount;
+    private volatile int reusedCount;
+
+    /**
+     * Create a pool.
+     *
+     * @param maxIdlePerKey The maximum number of hidden shells to keep per owner and modality. Shells hidden beyond
+     *                      that are discarded. <tt>0</tt> disables pooling.
+     */
+    public FxWindowPool(int maxIdlePerKey) {
+        if (maxIdlePerKey < 0) {
+            throw new IllegalArgumentException("maxIdlePerKey must not be negative");
+        }
+        this.maxIdlePerKey = maxIdlePerKey;
+    }
+
+    /**
+     * @param stylesheets The stylesheet URLs applied to every scene of this pool, and restored when a shell is returned
+     */
+    public void setStylesheets(String... stylesheets) {
+        this.stylesheets = List.of(stylesheets);
+    }
+
+    /**
+     * Create shells up front, e.g. while the application is idle after startup.
+     *
+     * @param owner    The owner of the windows to open later on. May be <tt>null</tt>.
+     * @param modality The modality of the windows to open later on
+     * @param count    The number of shells to create, capped to the maximum number of idle shells
+     */
+    public void prewarm(Window owner, Modality modality, int count) {
+        Key key = new Key(owner, modality);
+        Deque<Stage> shells = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+        while (shells.size() < Math.min(count, maxIdlePerKey)) {
+            shells.push(create(key));
+        }
+        watchOwner(owner);
+    }
+
+    /**
+     * Take a hidden shell from the pool, or create one if none is available. The shell is returned to the pool once
+     * it is hidden.
+     *
+     * @param owner    The owner of the window. May be <tt>null</tt>.
+     * @param modality The modality of the window
+     * @return A hidden stage with a scene holding an empty placeholder root
+     */
+    public Stage acquire(Window owner, Modality modality) {
+        Key key = new Key(owner, modality);
+        Deque<Stage> shells = idle.get(key);
+        Stage stage = shells != null ? shells.poll() : null;
+        if (stage != null) {
+            reusedCount++;
+            return stage;
+        }
+        return create(key);
+    }
+
+    /**
+     * @return The number of hidden shells currently pooled
+     */
+    public int getIdleCount() {
+        return idle.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /**
+     * @return The number of shells created so far
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return The number of times a pooled shell was handed out instead of creating a new one
+     */
+    public int getReusedCount() {
+        return reusedCount;
+    }
+
+    private Stage create(Key key) {
+        Stage stage = new Stage();
+        if (key.owner != null) {
+            stage.initOwner(key.owner);
+        }
+        stage.initModality(key.modality);
+        Scene scene = new Scene(new Group());
+        scene.getStylesheets().setAll(stylesheets);
+        stage.setScene(scene);
+        // released after the pending events, so that handlers of the hidden window still see it unchanged
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> Platform.runLater(() -> release(key, stage)));
+        createdCount++;
+        return stage;
+    }
+
+    private void release(Key key, Stage stage) {
+        if (stage.isShowing()) {
+            return;
+        }
+        Scene scene = stage.getScene();
+        if (scene == null) {
+            scene = new Scene(new Group());
+            stage.setScene(scene);
+        } else {
+            scene.setRoot(new Group());
+        }
+        scene.getStylesheets().setAll(stylesheets);
+        stage.setTitle(null);
+        stage.setOnShowing(null);
+        stage.setOnShown(null);
+        stage.setOnHiding(null);
+        stage.setOnHidden(null);
+        stage.setOnCloseRequest(null);
+        // the stage is hidden, so this only drops the position set while it was handed out
+        stage.centerOnScreen();
+        if (key.owner != null && !key.owner.isShowing()) {
+            return;
+        }
+        Deque<Stage> shells = idle.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (shells.size() < maxIdlePerKey) {
+            shells.push(stage);
+            watchOwner(key.owner);
+        }
+    }
+
+    private void watchOwner(Window owner) {
+        if (owner != null && maxIdlePerKey > 0 && watchedOwners.add(owner)) {
+            owner.addEventHandler(WindowEvent.WINDOW_HIDDEN, ownerHidden);
+        }
+    }
+
+    private void discardOwnedBy(Window owner) {
+        idle.keySet().removeIf(key -> key.owner == owner);
+        watchedOwners.remove(owner);
+        owner.removeEventHandler(WindowEvent.WINDOW_HIDDEN, ownerHidden);
+    }
+
+    private static final class Key {
+
+        final Window owner;
+        final Modality modality;
+
+        Key(Window owner, Modality modality) {
+            this.owner = owner;
+            this.modality = Objects.requireNonNull(modality, "modality");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return owner == key.owner && modality == key.modality;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(owner) + modality.hashCode();
+        }
+    }
+}
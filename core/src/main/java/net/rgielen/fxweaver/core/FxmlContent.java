@@ -0,0 +1,148 @@
+package net.rgielen.fxweaver.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The FXML of a view as resolved by an {@link FxmlSource}: its bytes, the base location to resolve relative
+ * references such as <tt>fx:include</tt>, images and stylesheets against, and a hash of its content.
+ * <p/>
+ * The bytes are kept in a read-only buffer, which may be memory-mapped, and streamed to the FXML loader without
+ * copying.
+ *
+ * @author Rene Gielen
+ */
+public final class FxmlContent {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final URL location;
+    private final ByteBuffer content;
+    private final String contentHash;
+
+    /**
+     * Create FXML content, computing its hash.
+     *
+     * @param location The location of the FXML, used as base location for relative references
+     * @param content  The FXML bytes between position and limit of the buffer
+     */
+    public FxmlContent(URL location, ByteBuffer content) {
+        this.location = location;
+        this.content = content.asReadOnlyBuffer();
+        this.contentHash = hash(content.duplicate());
+    }
+
+    /**
+     * Read FXML content from a file channel, memory-mapping it if it is at least <tt>mapThreshold</tt> bytes large.
+     *
+     * @param location     The location of the FXML
+     * @param channel      The channel to read from its current position on
+     * @param mapThreshold The minimum size of files to map into memory instead of reading them onto the heap
+     * @return The content
+     * @throws IOException if the channel cannot be read
+     */
+    public static FxmlContent read(URL location, FileChannel channel, long mapThreshold) throws IOException {
+        long size = channel.size() - channel.position();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(location + " is too large");
+        }
+        if (size >= mapThreshold) {
+            return new FxmlContent(location, channel.map(FileChannel.MapMode.READ_ONLY, channel.position(), size));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // read until the buffer is full
+        }
+        buffer.flip();
+        return new FxmlContent(location, buffer);
+    }
+
+    /**
+     * @return The location of the FXML, used as base location for relative references
+     */
+    public URL getLocation() {
+        return location;
+    }
+
+    /**
+     * @return A read-only view on the FXML bytes
+     */
+    public ByteBuffer getContent() {
+        return content.duplicate();
+    }
+
+    /**
+     * @return The size of the FXML in bytes
+     */
+    public int getSize() {
+        return content.remaining();
+    }
+
+    /**
+     * @return The SHA-256 hash of the FXML bytes, as hexadecimal string
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * @return A new stream over the FXML bytes
+     */
+    public InputStream openStream() {
+        ByteBuffer buffer = content.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.get(b, off, n);
+                return n;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "FxmlContent{" +
+                "location=" + location +
+                ", size=" + getSize() +
+                ", contentHash=" + contentHash +
+                '}';
+    }
+
+    private static String hash(ByteBuffer bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes);
+            byte[] hash = digest.digest();
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX[(hash[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX[hash[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+}
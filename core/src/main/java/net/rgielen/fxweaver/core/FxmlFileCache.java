@@ -0,0 +1,63 @@
+package net.rgielen.fxweaver.core;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches FXML files read by {@link FxmlSource}s, re-reading a file only if its size or modification time changed,
+ * and keeping the cached content if the re-read content has the same hash.
+ *
+ * @author Rene Gielen
+ */
+final class FxmlFileCache {
+
+    private final long mapThreshold;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    FxmlFileCache(long mapThreshold) {
+        this.mapThreshold = mapThreshold;
+    }
+
+    FxmlContent get(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Entry cached = entries.get(file);
+        if (cached != null && cached.size == attributes.size()
+                && cached.lastModified.equals(attributes.lastModifiedTime())) {
+            return cached.content;
+        }
+        FxmlContent content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            content = FxmlContent.read(file.toUri().toURL(), channel, mapThreshold);
+        }
+        if (cached != null && cached.content.getContentHash().equals(content.getContentHash())) {
+            // touched, but not changed
+            content = cached.content;
+        }
+        entries.put(file, new Entry(attributes.size(), attributes.lastModifiedTime(), content));
+        return content;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+
+        final long size;
+        final FileTime lastModified;
+        final FxmlContent content;
+
+        Entry(long size, FileTime lastModified, FxmlContent content) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.content = content;
+        }
+    }
+}
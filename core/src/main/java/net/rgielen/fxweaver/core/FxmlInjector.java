@@ -0,0 +1,183 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+/**
+ * Injects <tt>@FXML</tt> fields, binds <tt>#handler</tt> methods and initializes controllers through
+ * {@link VarHandle}s and {@link MethodHandle}s, which are looked up once per controller class instead of reflectively
+ * on every load, as {@link javafx.fxml.FXMLLoader} does.
+ * <p/>
+ * Fields and methods are found following the rules of {@link javafx.fxml.FXMLLoader}: non-static members annotated
+ * with {@link FXML} or public, declared by the controller class or one of its superclasses, the most specific one
+ * winning. Handler methods take either no parameter or a single event parameter, the latter being preferred.
+ * Controller classes that cannot be accessed through a private lookup, e.g. in modules not opened to FxWeaver, or
+ * that declare final injectable fields are not {@link #isEligible() eligible}.
+ *
+ * @author Rene Gielen
+ * @see FxmlTemplate
+ */
+final class FxmlInjector {
+
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class, Event.class);
+    private static final MethodType INITIALIZE_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ClassValue<FxmlInjector> INJECTORS = new ClassValue<>() {
+        @Override
+        protected FxmlInjector computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private static final FxmlInjector INELIGIBLE = new FxmlInjector(null, null, null);
+
+    private final Map<String, VarHandle> fields;
+    private final Map<String, MethodHandle> handlers;
+    private final MethodHandle initialize;
+
+    private FxmlInjector(Map<String, VarHandle> fields, Map<String, MethodHandle> handlers, MethodHandle initialize) {
+        this.fields = fields;
+        this.handlers = handlers;
+        this.initialize = initialize;
+    }
+
+    /**
+     * @param controllerClass The controller class
+     * @return The injector of the given class, looked up on first use
+     */
+    static FxmlInjector of(Class<?> controllerClass) {
+        return INJECTORS.get(controllerClass);
+    }
+
+    boolean isEligible() {
+        return fields != null;
+    }
+
+    /**
+     * @param handlerNames The names of handler methods referenced by a view
+     * @return Whether this injector is eligible and provides all the given handler methods
+     */
+    boolean supports(Collection<String> handlerNames) {
+        return isEligible() && handlers.keySet().containsAll(handlerNames);
+    }
+
+    /**
+     * Bind the given handler methods of the given controller and put them into the given namespace, so that a view
+     * rewritten by {@link FxmlTemplate} can refer to them.
+     */
+    void bindHandlers(Object controller, Collection<String> handlerNames, Map<String, Object> namespace) {
+        for (String handlerName : handlerNames) {
+            MethodHandle handler = handlers.get(handlerName);
+            namespace.put(FxmlTemplate.HANDLER_PREFIX + handlerName, (EventHandler<Event>) event -> {
+                try {
+                    handler.invokeExact(controller, event);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            });
+        }
+    }
+
+    /**
+     * Inject the objects of the given namespace into the matching fields of the given controller and initialize it.
+     */
+    void inject(Object controller, Map<String, Object> namespace, URL location, ResourceBundle resources) {
+        for (Map.Entry<String, Object> entry : namespace.entrySet()) {
+            if (!entry.getKey().startsWith(FxmlTemplate.HANDLER_PREFIX) && !"controller".equals(entry.getKey())) {
+                set(controller, entry.getKey(), entry.getValue());
+            }
+        }
+        if (location != null) {
+            set(controller, "location", location);
+        }
+        if (resources != null) {
+            set(controller, "resources", resources);
+        }
+        if (controller instanceof Initializable) {
+            ((Initializable) controller).initialize(location, resources);
+        } else if (initialize != null) {
+            try {
+                initialize.invokeExact(controller);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
+
+    private void set(Object controller, String name, Object value) {
+        VarHandle field = fields.get(name);
+        if (field != null) {
+            try {
+                field.set(controller, value);
+            } catch (ClassCastException e) {
+                throw new FxLoadException("Unable to inject " + name + " into " + controller.getClass().getName(), e);
+            }
+        }
+    }
+
+    private static FxmlInjector create(Class<?> type) {
+        Map<String, VarHandle> fields = new HashMap<>();
+        Map<String, MethodHandle> handlers = new HashMap<>();
+        Map<String, MethodHandle> parameterlessHandlers = new HashMap<>();
+        MethodHandle initialize = null;
+        try {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+                for (Field field : c.getDeclaredFields()) {
+                    if (!isInjectable(field.getModifiers(), field.isAnnotationPresent(FXML.class))
+                            || field.isSynthetic() || fields.containsKey(field.getName())) {
+                        continue;
+                    }
+                    if (Modifier.isFinal(field.getModifiers())) {
+                        return INELIGIBLE;
+                    }
+                    fields.put(field.getName(), lookup.unreflectVarHandle(field));
+                }
+                for (Method method : c.getDeclaredMethods()) {
+                    if (!isInjectable(method.getModifiers(), method.isAnnotationPresent(FXML.class))
+                            || method.isSynthetic() || method.isBridge()) {
+                        continue;
+                    }
+                    Class<?>[] parameterTypes = method.getParameterTypes();
+                    if (parameterTypes.length == 1 && Event.class.isAssignableFrom(parameterTypes[0])) {
+                        handlers.putIfAbsent(method.getName(), lookup.unreflect(method).asType(HANDLER_TYPE));
+                    } else if (parameterTypes.length == 0) {
+                        MethodHandle handle = lookup.unreflect(method);
+                        parameterlessHandlers.putIfAbsent(method.getName(),
+                                MethodHandles.dropArguments(handle, 1, Event.class).asType(HANDLER_TYPE));
+                        if (initialize == null && "initialize".equals(method.getName())) {
+                            initialize = handle.asType(INITIALIZE_TYPE);
+                        }
+                    }
+                }
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            return INELIGIBLE;
+        }
+        parameterlessHandlers.forEach(handlers::putIfAbsent);
+        return new FxmlInjector(Map.copyOf(fields), Map.copyOf(handlers), initialize);
+    }
+
+    private static boolean isInjectable(int modifiers, boolean annotated) {
+        return !Modifier.isStatic(modifiers) && (annotated || Modifier.isPublic(modifiers));
+    }
+}
@@ -0,0 +1,142 @@
+package net.rgielen.fxweaver.core;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The images, stylesheets and included documents referenced by a FXML document, resolved against its location the way
+ * {@link javafx.fxml.FXMLLoader} would resolve them.
+ *
+ * @author Rene Gielen
+ */
+final class FxmlResources {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+    private static final Pattern FONT_FACE = Pattern.compile("@font-face\\s*\\{([^}]*)}");
+    private static final Pattern URL_FUNCTION = Pattern.compile("url\\(\\s*['\"]?([^'\")]+)['\"]?\\s*\\)");
+
+    final List<FxResourceCache.ImageKey> images = new ArrayList<>();
+    final List<URL> stylesheets = new ArrayList<>();
+    final List<URL> includes = new ArrayList<>();
+
+    private FxmlResources() {
+    }
+
+    static FxmlResources scan(URL fxml) throws IOException {
+        FxmlResources resources = new FxmlResources();
+        try (InputStream in = fxml.openStream()) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                boolean inStylesheets = false;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if ("Image".equals(name) || "javafx.scene.image.Image".equals(name)) {
+                            resources.addImage(fxml, reader);
+                        } else if ("include".equals(name)) {
+                            String source = attribute(reader, "source");
+                            resources.addResolved(fxml, source != null ? "@" + source : null, resources.includes);
+                        } else if (inStylesheets) {
+                            resources.addResolved(fxml, attribute(reader, "value"), resources.stylesheets);
+                        }
+                        inStylesheets = inStylesheets || "stylesheets".equals(name);
+                        String stylesheets = attribute(reader, "stylesheets");
+                        if (stylesheets != null) {
+                            for (String stylesheet : stylesheets.split(",")) {
+                                resources.addResolved(fxml, stylesheet.trim(), resources.stylesheets);
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && "stylesheets".equals(reader.getLocalName())) {
+                        inStylesheets = false;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to scan FXML file " + fxml, e);
+        }
+        return resources;
+    }
+
+    /**
+     * Find the font URLs declared in <tt>@font-face</tt> rules of a stylesheet.
+     */
+    static List<URL> fontFaces(String css, URL stylesheet) {
+        List<URL> fonts = new ArrayList<>();
+        Matcher fontFace = FONT_FACE.matcher(css);
+        while (fontFace.find()) {
+            Matcher url = URL_FUNCTION.matcher(fontFace.group(1));
+            while (url.find()) {
+                try {
+                    fonts.add(new URL(stylesheet, url.group(1).trim()));
+                } catch (MalformedURLException e) {
+                    // not resolvable at build time, JavaFX will report it when applying the stylesheet
+                }
+            }
+        }
+        return fonts;
+    }
+
+    private void addImage(URL fxml, XMLStreamReader reader) {
+        String url = attribute(reader, "url");
+        if (url == null) {
+            return;
+        }
+        // FXMLLoader passes anything but @ prefixed locations to the Image as is
+        URL resolved = url.startsWith("@") ? resolve(fxml, url) : null;
+        images.add(new FxResourceCache.ImageKey(
+                resolved != null ? resolved.toString() : url,
+                doubleAttribute(reader, "requestedWidth"),
+                doubleAttribute(reader, "requestedHeight"),
+                Boolean.parseBoolean(attribute(reader, "preserveRatio")),
+                !"false".equals(attribute(reader, "smooth"))));
+    }
+
+    private void addResolved(URL fxml, String reference, List<URL> target) {
+        URL resolved = reference != null ? resolve(fxml, reference) : null;
+        if (resolved != null) {
+            target.add(resolved);
+        }
+    }
+
+    private static URL resolve(URL fxml, String reference) {
+        try {
+            if (reference.startsWith("@/")) {
+                ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+                return classLoader != null ? classLoader.getResource(reference.substring(2)) : null;
+            }
+            if (reference.startsWith("@")) {
+                return new URL(fxml, reference.substring(1));
+            }
+            return reference.indexOf(':') > 0 ? new URL(reference) : null;
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (localName.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static double doubleAttribute(XMLStreamReader reader, String localName) {
+        String value = attribute(reader, localName);
+        return value != null ? Double.parseDouble(value) : 0;
+    }
+}
@@ -0,0 +1,63 @@
+package net.rgielen.fxweaver.core;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * An FxmlSource resolves the FXML view of a controller class, e.g. from the classpath, a plugin directory or a plugin
+ * archive. Sources are registered with {@link FxWeaver#setFxmlSources(FxmlSource...)} and queried in order; if none
+ * of them resolves a view, it is looked up on the classpath as usual.
+ * <p/>
+ * Implementations are expected to be thread safe and to cache content that has not changed, using
+ * {@link FxmlContent#getContentHash()} to tell changed from unchanged content.
+ *
+ * @author Rene Gielen
+ * @see ClasspathFxmlSource
+ * @see DirectoryFxmlSource
+ * @see ZipFxmlSource
+ */
+public interface FxmlSource {
+
+    /**
+     * Resolve the FXML view of a controller class.
+     *
+     * @param controllerClass The controller class to resolve the view for
+     * @param location        The location of the view as built by {@link FxWeaver#buildFxmlReference(Class)}, either
+     *                        relative to the package of the controller class or absolute if starting with <tt>/</tt>
+     * @return The FXML content, or an empty optional if this source does not provide a view for the controller class
+     * @throws IOException if the view exists, but cannot be read
+     */
+    Optional<FxmlContent> resolve(Class<?> controllerClass, String location) throws IOException;
+
+    /**
+     * Check whether the view of a controller class has changed since it was resolved, e.g. to decide whether live views
+     * need to be reloaded. The default implementation resolves the view again and compares content hashes.
+     *
+     * @param controllerClass The controller class the content was resolved for
+     * @param location        The location the content was resolved for
+     * @param content         The content resolved before
+     * @return Whether the content differs or is gone
+     * @throws IOException if the view cannot be read
+     */
+    default boolean isModified(Class<?> controllerClass, String location, FxmlContent content) throws IOException {
+        return resolve(controllerClass, location)
+                .map(current -> !current.getContentHash().equals(content.getContentHash()))
+                .orElse(true);
+    }
+
+    /**
+     * Translate a view location relative to a controller class to a resource name as used in class loaders,
+     * directories and archives, e.g. <tt>com/example/MainController.fxml</tt>.
+     *
+     * @param controllerClass The controller class
+     * @param location        The location of the view, relative to the package of the controller class or absolute
+     * @return The resource name, without leading slash
+     */
+    static String resourceName(Class<?> controllerClass, String location) {
+        if (location.startsWith("/")) {
+            return location.substring(1);
+        }
+        String packageName = controllerClass.getPackageName();
+        return packageName.isEmpty() ? location : packageName.replace('.', '/') + "/" + location;
+    }
+}
@@ -0,0 +1,146 @@
+package net.rgielen.fxweaver.core;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartDocument;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * An FXML document rewritten for weaving with {@link FxmlInjector}: the <tt>fx:controller</tt> attribute is removed,
+ * so that {@link javafx.fxml.FXMLLoader} does not inject the controller reflectively, and <tt>#handler</tt> event
+ * handler references are turned into <tt>$</tt> references to namespace entries, which are bound to the controller
+ * methods before loading.
+ * <p/>
+ * Documents using features that require the controller to be known to the loader, such as <tt>fx:include</tt>,
+ * <tt>fx:root</tt>, scripts or change listener handlers, are not eligible for rewriting.
+ *
+ * @author Rene Gielen
+ */
+final class FxmlTemplate {
+
+    static final String HANDLER_PREFIX = "fxweaverHandler_";
+
+    static final FxmlTemplate INELIGIBLE = new FxmlTemplate(null, null, Collections.emptySet());
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final XMLEventFactory XML_EVENT_FACTORY = XMLEventFactory.newFactory();
+    private static final Pattern EVENT_HANDLER_ATTRIBUTE = Pattern.compile("on[A-Z]\\w*");
+
+    private final String controllerClassName;
+    private final byte[] rewritten;
+    private final Set<String> handlerNames;
+
+    private FxmlTemplate(String controllerClassName, byte[] rewritten, Set<String> handlerNames) {
+        this.controllerClassName = controllerClassName;
+        this.rewritten = rewritten;
+        this.handlerNames = handlerNames;
+    }
+
+    /**
+     * Parse and rewrite an FXML document.
+     *
+     * @param fxml The document
+     * @return The rewritten document, or {@link #INELIGIBLE}
+     */
+    static FxmlTemplate parse(InputStream fxml) throws XMLStreamException {
+        XMLEventReader reader = XML_INPUT_FACTORY.createXMLEventReader(fxml);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLEventWriter writer = XML_OUTPUT_FACTORY.createXMLEventWriter(out, "UTF-8");
+        String controllerClassName = null;
+        Set<String> handlerNames = new LinkedHashSet<>();
+        boolean root = true;
+        try {
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartDocument()) {
+                    StartDocument startDocument = (StartDocument) event;
+                    event = XML_EVENT_FACTORY.createStartDocument("UTF-8", startDocument.getVersion());
+                } else if (event.isStartElement()) {
+                    StartElement element = event.asStartElement();
+                    if (isFxml(element.getName()) && !"define".equals(element.getName().getLocalPart())
+                            && !"reference".equals(element.getName().getLocalPart())
+                            && !"copy".equals(element.getName().getLocalPart())) {
+                        // fx:include, fx:root and fx:script need the loader to know the controller
+                        return INELIGIBLE;
+                    }
+                    List<Attribute> attributes = new ArrayList<>();
+                    for (Iterator<Attribute> i = element.getAttributes(); i.hasNext(); ) {
+                        Attribute attribute = i.next();
+                        String name = attribute.getName().getLocalPart();
+                        String value = attribute.getValue();
+                        if (isFxml(attribute.getName()) && "controller".equals(name)) {
+                            if (!root) {
+                                return INELIGIBLE;
+                            }
+                            controllerClassName = value;
+                        } else if (value.startsWith("#")) {
+                            if (!EVENT_HANDLER_ATTRIBUTE.matcher(name).matches() || name.endsWith("Change")) {
+                                return INELIGIBLE;
+                            }
+                            String handlerName = value.substring(1);
+                            handlerNames.add(handlerName);
+                            attributes.add(XML_EVENT_FACTORY.createAttribute(attribute.getName(),
+                                    "$" + HANDLER_PREFIX + handlerName));
+                        } else {
+                            attributes.add(attribute);
+                        }
+                    }
+                    event = XML_EVENT_FACTORY.createStartElement(element.getName().getPrefix(),
+                            element.getName().getNamespaceURI(), element.getName().getLocalPart(),
+                            attributes.iterator(), element.getNamespaces(), element.getNamespaceContext());
+                    root = false;
+                }
+                writer.add(event);
+            }
+            writer.flush();
+        } finally {
+            reader.close();
+            writer.close();
+        }
+        if (controllerClassName == null) {
+            return INELIGIBLE;
+        }
+        return new FxmlTemplate(controllerClassName, out.toByteArray(), Collections.unmodifiableSet(handlerNames));
+    }
+
+    boolean isEligible() {
+        return rewritten != null;
+    }
+
+    String getControllerClassName() {
+        return controllerClassName;
+    }
+
+    /**
+     * @return The names of the controller methods referenced as event handlers
+     */
+    Set<String> getHandlerNames() {
+        return handlerNames;
+    }
+
+    InputStream openStream() {
+        return new ByteArrayInputStream(rewritten);
+    }
+
+    private static boolean isFxml(QName name) {
+        return "fx".equals(name.getPrefix()) || name.getNamespaceURI().startsWith("http://javafx.com/fxml");
+    }
+}
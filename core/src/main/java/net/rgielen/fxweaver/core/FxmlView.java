@@ -41,6 +41,7 @@ import java.lang.annotation.*;
  * @see FxWeaver
  * @see FxWeaver#loadView(Class)
  * @see FxWeaver#loadController(Class)
+ * @see FxCodeView
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
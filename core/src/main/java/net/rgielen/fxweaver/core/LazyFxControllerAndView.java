@@ -33,6 +33,18 @@ public class LazyFxControllerAndView<C, V extends Node> implements FxControllerA
         return initOrGet().getView();
     }
 
+    @Override
+    public <N extends Node> Optional<N> lookup(String fxId, Class<N> nodeType) {
+        return initOrGet().lookup(fxId, nodeType);
+    }
+
+    /**
+     * @return Whether the actual view and controller have been loaded already
+     */
+    public boolean isInitialized() {
+        return inner != null;
+    }
+
     @Override
     public String toString() {
         return "LazyFxControllerAndView{" +
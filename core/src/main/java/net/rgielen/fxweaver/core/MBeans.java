@@ -0,0 +1,68 @@
+package net.rgielen.fxweaver.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registers the MBeans of FxWeaver with the platform MBean server.
+ *
+ * @author Rene Gielen
+ */
+final class MBeans {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MBeans.class);
+
+    private static final Map<String, Object> REGISTERED = new HashMap<>();
+
+    private MBeans() {
+    }
+
+    /**
+     * Register the given MBean under the given name, replacing an MBean registered under that name before. Replacing
+     * another instance, e.g. one of a second application context, is logged, and unregistering the replaced instance
+     * later on leaves the given MBean in place. Failures are logged, since monitoring is not worth failing the
+     * application for.
+     */
+    static synchronized void register(Object mbean, String objectName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                if (REGISTERED.get(objectName) != mbean) {
+                    LOG.warn("Replacing " + objectName + " registered by another instance");
+                }
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            REGISTERED.put(objectName, mbean);
+        } catch (JMException e) {
+            LOG.warn("Unable to register " + objectName, e);
+        }
+    }
+
+    /**
+     * Unregister the MBean registered under the given name, if it is the given instance.
+     */
+    static synchronized void unregister(Object mbean, String objectName) {
+        if (REGISTERED.get(objectName) != mbean) {
+            return;
+        }
+        REGISTERED.remove(objectName);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOG.warn("Unable to unregister " + objectName, e);
+        }
+    }
+}
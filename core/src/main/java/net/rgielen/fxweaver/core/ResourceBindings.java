@@ -0,0 +1,272 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.property.Property;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TableColumnBase;
+import javafx.scene.control.Tooltip;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * The properties of a woven view that got their value from a <tt>%key</tt> resource reference during load, so that
+ * they can be re-applied from another {@link ResourceBundle} in place.
+ * <p/>
+ * Resource lookups are recorded with a {@link RecordingResourceBundle}, which hands out a distinct String instance
+ * for every lookup. After loading, the objects of the view are searched for writable String properties holding one of
+ * these very instances, which identifies the bound property without any ambiguity.
+ *
+ * @author Rene Gielen
+ */
+final class ResourceBindings {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceBindings.class);
+
+    private static final List<Class<?>> TRAVERSED_TYPES = List.of(
+            Node.class, MenuItem.class, Tab.class, TableColumnBase.class, Tooltip.class, ContextMenu.class);
+
+    private static final ClassValue<Accessors> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Accessors computeValue(Class<?> type) {
+            return new Accessors(type);
+        }
+    };
+
+    private final List<Property<String>> properties;
+    private final List<String> keys;
+
+    private ResourceBindings(List<Property<String>> properties, List<String> keys) {
+        this.properties = properties;
+        this.keys = keys;
+    }
+
+    /**
+     * Find the properties bound to resources recorded while loading the given view.
+     *
+     * @param view      The loaded view
+     * @param namespace The FXML namespace, to find objects outside of the scene graph. May be <tt>null</tt>.
+     * @param resources The bundle the view was loaded with
+     */
+    static ResourceBindings collect(Node view, Map<String, Object> namespace, RecordingResourceBundle resources) {
+        resources.stopRecording();
+        List<Property<String>> properties = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        if (resources.recorded.isEmpty()) {
+            return new ResourceBindings(properties, keys);
+        }
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(view);
+        if (namespace != null) {
+            namespace.values().stream().filter(ResourceBindings::isTraversed).forEach(pending::push);
+        }
+        while (!pending.isEmpty()) {
+            Object current = pending.pop();
+            if (visited.add(current)) {
+                ACCESSORS.get(current.getClass()).visit(current, resources.recorded, properties, keys, pending);
+            }
+        }
+        return new ResourceBindings(properties, keys);
+    }
+
+    boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    int size() {
+        return properties.size();
+    }
+
+    /**
+     * Re-apply all bound properties from the given bundle. Keys missing in the bundle leave the property unchanged, as
+     * do properties bound by application code since loading. A property failing to update does not keep the others
+     * from being updated.
+     */
+    void apply(ResourceBundle resources) {
+        for (int i = 0; i < properties.size(); i++) {
+            Property<String> property = properties.get(i);
+            if (property.isBound()) {
+                LOG.debug("Property {} bound to {} meanwhile, keeping current value", property, keys.get(i));
+                continue;
+            }
+            try {
+                property.setValue(resources.getString(keys.get(i)));
+            } catch (MissingResourceException e) {
+                LOG.debug("Resource {} missing in {}, keeping current value", keys.get(i), resources);
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to apply resource " + keys.get(i) + " to " + property, e);
+            }
+        }
+    }
+
+    private static boolean isTraversed(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Class<?> type : TRAVERSED_TYPES) {
+            if (type.isInstance(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTraversedType(Type type) {
+        Class<?> raw = type instanceof ParameterizedType
+                ? (Class<?>) ((ParameterizedType) type).getRawType()
+                : type instanceof Class ? (Class<?>) type : null;
+        return raw != null && TRAVERSED_TYPES.stream().anyMatch(t -> t.isAssignableFrom(raw));
+    }
+
+    /**
+     * The reflective accessors of a class relevant for finding bound properties. Only plain getters are called while
+     * searching, since calling property methods would instantiate lazily created properties.
+     */
+    private static final class Accessors {
+
+        private final List<Method> stringGetters = new ArrayList<>();
+        private final List<Method> stringProperties = new ArrayList<>();
+        private final List<Method> childGetters = new ArrayList<>();
+        private final List<Method> childListGetters = new ArrayList<>();
+
+        Accessors(Class<?> type) {
+            for (Method method : type.getMethods()) {
+                if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                        || !method.getName().endsWith("Property")) {
+                    continue;
+                }
+                String name = method.getName().substring(0, method.getName().length() - "Property".length());
+                Method getter = getter(type, name);
+                if (getter == null || !Property.class.isAssignableFrom(method.getReturnType())) {
+                    continue;
+                }
+                if (getter.getReturnType() == String.class) {
+                    stringGetters.add(getter);
+                    stringProperties.add(method);
+                } else if (isTraversedType(getter.getGenericReturnType())) {
+                    childGetters.add(getter);
+                }
+            }
+            for (Method method : type.getMethods()) {
+                if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                        && ObservableList.class.isAssignableFrom(method.getReturnType())
+                        && method.getGenericReturnType() instanceof ParameterizedType
+                        && isTraversedType(
+                        ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0])) {
+                    childListGetters.add(method);
+                }
+            }
+        }
+
+        void visit(Object o, Map<String, String> recorded, List<Property<String>> properties, List<String> keys,
+                   Deque<Object> pending) {
+            try {
+                for (int i = 0; i < stringGetters.size(); i++) {
+                    Object value = stringGetters.get(i).invoke(o);
+                    String key = value != null ? recorded.get(value) : null;
+                    if (key != null) {
+                        @SuppressWarnings("unchecked")
+                        Property<String> property = (Property<String>) stringProperties.get(i).invoke(o);
+                        properties.add(property);
+                        keys.add(key);
+                    }
+                }
+                for (Method getter : childGetters) {
+                    Object child = getter.invoke(o);
+                    if (child != null) {
+                        pending.push(child);
+                    }
+                }
+                for (Method getter : childListGetters) {
+                    for (Object child : (List<?>) getter.invoke(o)) {
+                        if (isTraversed(child)) {
+                            pending.push(child);
+                        }
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.debug("Unable to inspect {} for resource bindings", o, e);
+            }
+        }
+
+        private static Method getter(Class<?> type, String name) {
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String prefix : new String[]{"get", "is"}) {
+                try {
+                    return type.getMethod(prefix + suffix);
+                } catch (NoSuchMethodException e) {
+                    // try next
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A {@link ResourceBundle} delegating to another one, handing out a new String instance for every resource looked
+     * up while recording and remembering its key.
+     */
+    static final class RecordingResourceBundle extends ResourceBundle {
+
+        private final ResourceBundle delegate;
+        private final Map<String, String> recorded = new IdentityHashMap<>();
+        private boolean recording = true;
+
+        RecordingResourceBundle(ResourceBundle delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        protected Object handleGetObject(String key) {
+            if (!delegate.containsKey(key)) {
+                return null;
+            }
+            Object value = delegate.getObject(key);
+            if (recording && value instanceof String) {
+                //noinspection StringOperationCanBeSimplified - the distinct identity is the point here
+                String instance = new String((String) value);
+                recorded.put(instance, key);
+                return instance;
+            }
+            return value;
+        }
+
+        @Override
+        public Enumeration<String> getKeys() {
+            return delegate.getKeys();
+        }
+
+        @Override
+        public String getBaseBundleName() {
+            return delegate.getBaseBundleName();
+        }
+
+        @Override
+        public java.util.Locale getLocale() {
+            return delegate.getLocale();
+        }
+
+        void stopRecording() {
+            recording = false;
+        }
+    }
+}
@@ -20,12 +20,22 @@ public class SimpleFxControllerAndView<C, V extends Node> implements FxControlle
         return new SimpleFxControllerAndView<>(controller, view);
     }
 
+    static <C, V extends Node> FxControllerAndView<C, V> of(C controller, V view, FxNodeIndex nodeIndex) {
+        return new SimpleFxControllerAndView<>(controller, view, nodeIndex);
+    }
+
     private final C controller;
     private final V view;
+    private final FxNodeIndex nodeIndex;
 
     public SimpleFxControllerAndView(C controller, V view) {
+        this(controller, view, null);
+    }
+
+    SimpleFxControllerAndView(C controller, V view, FxNodeIndex nodeIndex) {
         this.view = view;
         this.controller = controller;
+        this.nodeIndex = nodeIndex;
     }
 
     @Override
@@ -38,6 +48,14 @@ public class SimpleFxControllerAndView<C, V extends Node> implements FxControlle
         return Optional.ofNullable(view);
     }
 
+    @Override
+    public <N extends Node> Optional<N> lookup(String fxId, Class<N> nodeType) {
+        if (nodeIndex == null) {
+            return FxControllerAndView.super.lookup(fxId, nodeType);
+        }
+        return Optional.ofNullable(nodeIndex.get(fxId)).map(nodeType::cast);
+    }
+
     @Override
     public String toString() {
         return "SimpleFxControllerAndView {" +
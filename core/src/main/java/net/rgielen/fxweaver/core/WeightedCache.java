@@ -0,0 +1,97 @@
+package net.rgielen.fxweaver.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * A least recently used cache bounded by number of entries as well as by the summed up weight of its values.
+ * <p/>
+ * Values may be weighed lazily: entries added with {@link #put(Object, Object)} count with a weight of 0 until
+ * {@link #updateWeight(Object, Object)} is called for them.
+ *
+ * @author Rene Gielen
+ */
+final class WeightedCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    WeightedCache(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    synchronized void put(K key, V value) {
+        Entry<V> previous = entries.put(key, new Entry<>(value));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        evict();
+    }
+
+    /**
+     * Weigh the value of an entry, if it is still cached with the given value.
+     */
+    synchronized void updateWeight(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.value == value) {
+            long newWeight = weigher.applyAsLong(value);
+            weight += newWeight - entry.weight;
+            entry.weight = newWeight;
+            evict();
+        }
+    }
+
+    /**
+     * Remove an entry, if it is still cached with the given value.
+     */
+    synchronized void remove(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.value == value) {
+            entries.remove(key);
+            weight -= entry.weight;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight;
+            eldest.remove();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        final V value;
+        long weight;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Node;
+import javafx.scene.control.Cell;
+import javafx.scene.control.ContentDisplay;
+
+/**
+ * The controller and view woven once for a cell, rebound to the items displayed by the cell.
+ *
+ * @author Rene Gielen
+ */
+final class WovenCell<T> {
+
+    private final FxCellController<T> controller;
+    private final Node view;
+
+    private WovenCell(FxCellController<T> controller, Node view) {
+        this.controller = controller;
+        this.view = view;
+    }
+
+    static <T> WovenCell<T> weave(FxWeaver fxWeaver, Class<? extends FxCellController<T>> controllerClass,
+                                  Cell<T> cell) {
+        FxControllerAndView<? extends FxCellController<T>, Node> controllerAndView = fxWeaver.load(controllerClass);
+        Node view = controllerAndView.getView()
+                .orElseThrow(() -> new FxLoadException("No view found for cell controller " + controllerClass.getName()));
+        view.setVisible(false);
+        cell.setText(null);
+        cell.setGraphic(view);
+        cell.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        return new WovenCell<>(controllerAndView.getController(), view);
+    }
+
+    void update(T item, boolean empty) {
+        view.setVisible(!empty);
+        controller.updateItem(item, empty);
+    }
+
+    FxCellController<T> getController() {
+        return controller;
+    }
+}
@@ -0,0 +1,97 @@
+package net.rgielen.fxweaver.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link FxmlSource} reading views from a zip or jar archive laid out like the classpath, e.g. a plugin archive,
+ * without extracting it.
+ * <p/>
+ * The archive is opened as NIO {@link FileSystem} and entries are read through its channels. Content is cached until
+ * size or modification time of the archive change, in which case the archive is opened again. Views resolved from an
+ * archive refer to includes, images and stylesheets relative to their <tt>jar:</tt> location.
+ *
+ * @author Rene Gielen
+ */
+public class ZipFxmlSource implements FxmlSource, Closeable {
+
+    private final Path archive;
+    private final Map<String, FxmlContent> cache = new ConcurrentHashMap<>();
+    private FileSystem fileSystem;
+    private long size;
+    private FileTime lastModified;
+
+    /**
+     * Create a source. The archive is opened on first use.
+     *
+     * @param archive The zip or jar file to resolve views in
+     */
+    public ZipFxmlSource(Path archive) {
+        this.archive = archive.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public synchronized Optional<FxmlContent> resolve(Class<?> controllerClass, String location) throws IOException {
+        String resourceName = FxmlSource.resourceName(controllerClass, location);
+        FileSystem current = open();
+        FxmlContent content = cache.get(resourceName);
+        if (content != null) {
+            return Optional.of(content);
+        }
+        Path entry = current.getPath("/" + resourceName);
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(entry)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read until the buffer is full
+            }
+            buffer.flip();
+            content = new FxmlContent(entry.toUri().toURL(), buffer);
+        }
+        cache.put(resourceName, content);
+        return Optional.of(content);
+    }
+
+    /**
+     * Close the archive. It is opened again when resolving another view.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        cache.clear();
+        if (fileSystem != null) {
+            fileSystem.close();
+            fileSystem = null;
+        }
+    }
+
+    private FileSystem open() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+        if (fileSystem != null && (attributes.size() != size || !attributes.lastModifiedTime().equals(lastModified))) {
+            close();
+        }
+        if (fileSystem == null) {
+            fileSystem = FileSystems.newFileSystem(archive, (ClassLoader) null);
+            size = attributes.size();
+            lastModified = attributes.lastModifiedTime();
+        }
+        return fileSystem;
+    }
+
+    @Override
+    public String toString() {
+        return "ZipFxmlSource{" + archive + '}';
+    }
+}
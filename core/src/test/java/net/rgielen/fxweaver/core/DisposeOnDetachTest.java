@@ -0,0 +1,98 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import net.rgielen.fxweaver.core.support.FxTestToolkit;
+import net.rgielen.fxweaver.core.support.ReloadableController;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.onFxThread;
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.waitForPendingEvents;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DisposeOnDetachTest {
+
+    private final FxWeaver fxWeaver = new FxWeaver(type -> new ReloadableController(), () -> {});
+    private Stage stage;
+    private Pane root;
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxTestToolkit.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        onFxThread(() -> {
+            stage.hide();
+            return null;
+        });
+    }
+
+    @Test
+    public void controllerIsDisposedOnceViewIsDetachedForGood() throws Exception {
+        FxControllerAndView<ReloadableController, Node> controllerAndView = show();
+
+        onFxThread(() -> root.getChildren().setAll());
+        waitForPendingEvents();
+
+        assertThat(controllerAndView.getController().disposals).isEqualTo(1);
+    }
+
+    @Test
+    public void movingViewToAnotherParentDoesNotDispose() throws Exception {
+        FxControllerAndView<ReloadableController, Node> controllerAndView = show();
+
+        onFxThread(() -> {
+            Node view = controllerAndView.getView().orElseThrow();
+            Pane otherParent = new Pane();
+            root.getChildren().setAll(otherParent);
+            return otherParent.getChildren().add(view);
+        });
+        waitForPendingEvents();
+
+        assertThat(controllerAndView.getController().disposals).isZero();
+    }
+
+    @Test
+    public void viewAttachedAgainAfterDisposalIsNotDisposedTwice() throws Exception {
+        FxControllerAndView<ReloadableController, Node> controllerAndView = show();
+        Node view = controllerAndView.getView().orElseThrow();
+        onFxThread(() -> root.getChildren().remove(view));
+        waitForPendingEvents();
+
+        onFxThread(() -> root.getChildren().add(view));
+        waitForPendingEvents();
+        onFxThread(() -> root.getChildren().remove(view));
+        waitForPendingEvents();
+
+        assertThat(controllerAndView.getController().disposals).isEqualTo(1);
+    }
+
+    @Test
+    public void viewNeverAttachedIsNotDisposed() throws Exception {
+        FxControllerAndView<ReloadableController, Node> controllerAndView = show();
+        FxControllerAndView<ReloadableController, Node> unattached =
+                onFxThread(() -> fxWeaver.load(ReloadableController.class));
+        waitForPendingEvents();
+
+        assertThat(unattached.getController().disposals).isZero();
+        assertThat(controllerAndView.getController().disposals).isZero();
+    }
+
+    private FxControllerAndView<ReloadableController, Node> show() throws Exception {
+        return onFxThread(() -> {
+            FxControllerAndView<ReloadableController, Node> controllerAndView =
+                    fxWeaver.load(ReloadableController.class);
+            root = new Pane(controllerAndView.getView().orElseThrow());
+            stage = new Stage();
+            stage.setScene(new Scene(root));
+            stage.show();
+            return controllerAndView;
+        });
+    }
+}
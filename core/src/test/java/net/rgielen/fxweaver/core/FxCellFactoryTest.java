@@ -0,0 +1,56 @@
+package net.rgielen.fxweaver.core;
+
+import net.rgielen.fxweaver.core.support.CellController;
+import net.rgielen.fxweaver.core.support.FxTestToolkit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.onFxThread;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxCellFactoryTest {
+
+    private final FxWeaver fxWeaver = new FxWeaver(type -> new CellController(), () -> {});
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxTestToolkit.start();
+    }
+
+    @Test
+    public void listCellRebindsControllerWithoutWeavingAgain() throws Exception {
+        FxListCellFactory<Integer> cellFactory = fxWeaver.listCellFactory(CellController.class);
+
+        FxListCellFactory.WovenListCell<Integer> cell = onFxThread(() -> {
+            FxListCellFactory.WovenListCell<Integer> listCell =
+                    (FxListCellFactory.WovenListCell<Integer>) cellFactory.call(null);
+            listCell.updateItem(1, false);
+            listCell.updateItem(2, false);
+            listCell.updateItem(null, true);
+            return listCell;
+        });
+
+        assertThat(cellFactory.getWovenCount()).isEqualTo(1);
+        assertThat(((CellController) cell.getController()).items).containsExactly(1, 2, null);
+        assertThat(cell.getGraphic()).isNotNull();
+        assertThat(cell.getGraphic().isVisible()).isFalse();
+        assertThat(cell.getText()).isNull();
+    }
+
+    @Test
+    public void tableCellRebindsControllerWithoutWeavingAgain() throws Exception {
+        FxTableCellFactory<String, Integer> cellFactory = fxWeaver.tableCellFactory(CellController.class);
+
+        FxTableCellFactory.WovenTableCell<String, Integer> cell = onFxThread(() -> {
+            FxTableCellFactory.WovenTableCell<String, Integer> tableCell =
+                    (FxTableCellFactory.WovenTableCell<String, Integer>) cellFactory.call(null);
+            tableCell.updateItem(3, false);
+            tableCell.updateItem(4, false);
+            return tableCell;
+        });
+
+        assertThat(cellFactory.getWovenCount()).isEqualTo(1);
+        assertThat(((CellController) cell.getController()).items).containsExactly(3, 4);
+        assertThat(cell.getGraphic().isVisible()).isTrue();
+    }
+}
@@ -0,0 +1,149 @@
+package net.rgielen.fxweaver.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FxCoalescingExecutorTest {
+
+    private Deque<Runnable> fxQueue;
+    private FxCoalescingExecutor executor;
+    private List<String> applied;
+
+    @Before
+    public void setUp() {
+        fxQueue = new ArrayDeque<>();
+        executor = new FxCoalescingExecutor(fxQueue::add);
+        applied = new ArrayList<>();
+    }
+
+    @Test
+    public void updatesAreBatchedIntoSingleRunLater() {
+        executor.execute(() -> applied.add("a"));
+        executor.execute(() -> applied.add("b"));
+        executor.execute("key", () -> applied.add("c"));
+
+        assertThat(fxQueue).hasSize(1);
+        assertThat(executor.getQueueDepth()).isEqualTo(3);
+
+        fxQueue.poll().run();
+
+        assertThat(applied).containsExactly("a", "b", "c");
+        assertThat(executor.getQueueDepth()).isZero();
+        assertThat(executor.getBatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void latestUpdatePerKeyWinsInOrderOfFirstSubmission() {
+        executor.execute("EUR", () -> applied.add("EUR 1.08"));
+        executor.execute("USD", () -> applied.add("USD 1.00"));
+        executor.execute("EUR", () -> applied.add("EUR 1.09"));
+        executor.execute("EUR", () -> applied.add("EUR 1.10"));
+
+        fxQueue.poll().run();
+
+        assertThat(applied).containsExactly("EUR 1.10", "USD 1.00");
+        assertThat(executor.getSubmittedCount()).isEqualTo(4);
+        assertThat(executor.getCoalescedCount()).isEqualTo(2);
+        assertThat(executor.getMaxQueueDepth()).isEqualTo(2);
+    }
+
+    @Test
+    public void nextBatchIsScheduledOnceCurrentBatchStarted() {
+        executor.execute("EUR", () -> applied.add("EUR 1.08"));
+        fxQueue.poll().run();
+        executor.execute("EUR", () -> applied.add("EUR 1.09"));
+
+        assertThat(fxQueue).hasSize(1);
+        fxQueue.poll().run();
+        assertThat(applied).containsExactly("EUR 1.08", "EUR 1.09");
+        assertThat(executor.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    public void failingUpdateDoesNotDropOthers() {
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(() -> applied.add("b"));
+
+        fxQueue.poll().run();
+
+        assertThat(applied).containsExactly("b");
+    }
+
+    @Test
+    public void updatesAreKeptIfBatchCannotBeScheduled() {
+        FxCoalescingExecutor stopped = new FxCoalescingExecutor(command -> {
+            throw new IllegalStateException("Toolkit not initialized");
+        });
+
+        assertThatThrownBy(() -> stopped.execute("key", () -> { }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stopped.getQueueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    public void concurrentSubmissionsAreAllAppliedOrCoalesced() throws Exception {
+        ExecutorService fxThread = Executors.newSingleThreadExecutor();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        try {
+            FxCoalescingExecutor concurrent = new FxCoalescingExecutor(fxThread);
+            int[] latest = new int[4];
+            CountDownLatch done = new CountDownLatch(4);
+            for (int p = 0; p < 4; p++) {
+                int producer = p;
+                producers.execute(() -> {
+                    for (int i = 1; i <= 10_000; i++) {
+                        int value = i;
+                        concurrent.execute(producer, () -> latest[producer] = value);
+                    }
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            fxThread.submit(() -> { }).get();
+            fxThread.submit(() -> { }).get();
+
+            assertThat(fxThread.submit(() -> latest.clone()).get()).containsOnly(10_000);
+            assertThat(concurrent.getQueueDepth()).isZero();
+            assertThat(concurrent.getSubmittedCount()).isEqualTo(40_000);
+            assertThat(concurrent.getBatchCount()).isLessThanOrEqualTo(40_000 - concurrent.getCoalescedCount());
+        } finally {
+            producers.shutdownNow();
+            fxThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unregisteringReplacedInstanceKeepsCurrentMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(FxCoalescingExecutor.OBJECT_NAME);
+        FxCoalescingExecutor replacement = new FxCoalescingExecutor(fxQueue::add);
+        replacement.execute(() -> { });
+
+        executor.registerMBean();
+        replacement.registerMBean();
+        executor.unregisterMBean();
+
+        assertThat(server.getAttribute(name, "SubmittedCount")).isEqualTo(1L);
+
+        replacement.unregisterMBean();
+
+        assertThat(server.isRegistered(name)).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.support.CodeViewController;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxControllerAndViewProviderTest {
+
+    private final Deque<Runnable> refills = new ArrayDeque<>();
+    private final FxWeaver fxWeaver = new FxWeaver(type -> new CodeViewController(), () -> { });
+    private final FxControllerAndViewProvider<CodeViewController, Pane> provider =
+            new FxControllerAndViewProvider<>(fxWeaver, CodeViewController.class, 2, refills::add);
+
+    @Test
+    public void nothingIsLoadedAheadOfTimeBeforeFirstUse() {
+        assertThat(refills).isEmpty();
+        assertThat(fxWeaver.getStatistics().getControllerStatistics()).isEmpty();
+    }
+
+    @Test
+    public void emptyQueueLoadsOnDemandAndRefillsOneLoadPerTask() {
+        FxControllerAndView<CodeViewController, Pane> first = provider.get();
+
+        assertThat(first.getView()).isPresent();
+        assertThat(provider.getMissCount()).isEqualTo(1);
+        assertThat(refills).hasSize(1);
+
+        runRefills();
+
+        assertThat(provider.getQueuedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void queuedInstancesAreHandedOutOnceAndReplaced() {
+        provider.prefetch();
+        runRefills();
+
+        FxControllerAndView<CodeViewController, Pane> first = provider.get();
+        FxControllerAndView<CodeViewController, Pane> second = provider.get();
+
+        assertThat(first.getController()).isNotSameAs(second.getController());
+        assertThat(first.getView().get()).isNotSameAs(second.getView().get());
+        assertThat(provider.getHitCount()).isEqualTo(2);
+        assertThat(provider.getQueuedCount()).isZero();
+        assertThat(refills).hasSize(1);
+
+        runRefills();
+
+        assertThat(provider.getQueuedCount()).isEqualTo(2);
+        assertThat(provider.getMissCount()).isZero();
+    }
+
+    @Test
+    public void cachingIsReportedInStatistics() {
+        provider.prefetch();
+        runRefills();
+
+        FxLoadStatistics.ControllerStatistics statistics = fxWeaver.getStatistics().getControllerStatistics().get(0);
+        assertThat(statistics.isCached()).isTrue();
+        assertThat(statistics.getQueuedInstances()).isEqualTo(2);
+        assertThat(statistics.isPooled()).isFalse();
+    }
+
+    @Test
+    public void failingRefillExecutorFallsBackToLoadingOnDemand() {
+        FxControllerAndViewProvider<CodeViewController, Pane> stopped = new FxControllerAndViewProvider<>(fxWeaver,
+                CodeViewController.class, 2, command -> {
+                    throw new IllegalStateException("Toolkit not initialized");
+                });
+
+        assertThat(stopped.get().getView()).isPresent();
+        assertThat(stopped.get().getView()).isPresent();
+        assertThat(stopped.getMissCount()).isEqualTo(2);
+    }
+
+    private void runRefills() {
+        Runnable refill;
+        while ((refill = refills.poll()) != null) {
+            refill.run();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package net.rgielen.fxweaver.core;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FxHeadlessToolkitTest {
+
+    @Test
+    public void runningToolkitIsAccepted() {
+        assertThatCode(() -> FxHeadlessToolkit.start(ready -> {
+            throw new IllegalStateException("Toolkit already initialized");
+        })).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void exitedToolkitIsReported() {
+        assertThatThrownBy(() -> FxHeadlessToolkit.start(ready -> {
+            throw new IllegalStateException("Platform.exit has been called");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("Platform.exit has been called");
+    }
+}
@@ -0,0 +1,228 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import net.rgielen.fxweaver.core.support.FxTestToolkit;
+import net.rgielen.fxweaver.core.support.ReloadableController;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.onFxThread;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxHotReloaderTest {
+
+    private static final String FXML = "net/rgielen/fxweaver/core/support/ReloadableController.fxml";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path sourceRoot;
+    private FxHotReloader hotReloader;
+    private FxWeaver fxWeaver;
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxTestToolkit.start();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        sourceRoot = temporaryFolder.getRoot().toPath();
+        hotReloader = new FxHotReloader(Runnable::run, sourceRoot);
+        fxWeaver = new FxWeaver(type -> new ReloadableController(), () -> { });
+        fxWeaver.setHotReloader(hotReloader);
+    }
+
+    @Test
+    public void changedViewIsReplacedInItsParentKeepingConstraints() throws Exception {
+        Path source = writeFxml("changed");
+        VBox parent = onFxThread(() -> {
+            FxControllerAndView<ReloadableController, VBox> loaded = fxWeaver.load(ReloadableController.class);
+            VBox.setVgrow(loaded.getView().get(), Priority.ALWAYS);
+            VBox vBox = new VBox(new Pane(), loaded.getView().get());
+            hotReloader.changed(List.of(source));
+            return vBox;
+        });
+
+        Node reloaded = parent.getChildren().get(1);
+        assertThat(parent.getChildren()).hasSize(2);
+        assertThat(reloaded.lookup(".changed")).isNotNull();
+        assertThat(VBox.getVgrow(reloaded)).isEqualTo(Priority.ALWAYS);
+        assertThat(hotReloader.getReloadCount()).isEqualTo(1);
+        assertThat(hotReloader.getLiveViewCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void controllerIsReusedAndKeepsBindingsOfReloadedView() throws Exception {
+        Path source = writeFxml("changed");
+        ReloadableController controller = onFxThread(() -> {
+            FxControllerAndView<ReloadableController, VBox> loaded = fxWeaver.load(ReloadableController.class);
+            new StackPane(loaded.getView().get());
+            hotReloader.changed(List.of(source));
+            return loaded.getController();
+        });
+
+        onFxThread(() -> {
+            controller.model.set("updated");
+            return null;
+        });
+
+        assertThat(controller.initializations).isEqualTo(2);
+        assertThat(controller.disposals).isZero();
+        assertThat(controller.content.getStyleClass()).containsExactly("changed");
+        assertThat(controller.content.getAccessibleText()).isEqualTo("updated");
+    }
+
+    @Test
+    public void sceneRootIsReplaced() throws Exception {
+        Path source = writeFxml("changed");
+        Scene scene = onFxThread(() -> {
+            Scene s = new Scene(fxWeaver.<ReloadableController, VBox>loadView(ReloadableController.class));
+            hotReloader.changed(List.of(source));
+            return s;
+        });
+
+        assertThat(scene.getRoot().lookup(".changed")).isNotNull();
+    }
+
+    @Test
+    public void brokenFxmlKeepsCurrentView() throws Exception {
+        Path source = sourceRoot.resolve(FXML);
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "<VBox");
+        FxControllerAndView<ReloadableController, VBox> loaded = onFxThread(() -> {
+            FxControllerAndView<ReloadableController, VBox> controllerAndView =
+                    fxWeaver.load(ReloadableController.class);
+            new StackPane(controllerAndView.getView().get());
+            hotReloader.changed(List.of(source));
+            return controllerAndView;
+        });
+
+        ReloadableController controller = loaded.getController();
+        assertThat(loaded.getView().get().getParent()).isNotNull();
+        assertThat(loaded.getView().get().lookup(".original")).isNotNull();
+        assertThat(controller.content).isSameAs(loaded.getView().get().lookup(".original"));
+        assertThat(controller.disposals).isZero();
+        assertThat(hotReloader.getReloadCount()).isZero();
+    }
+
+    @Test
+    public void fxmlFailingHalfwayKeepsControllerFieldsOnCurrentView() throws Exception {
+        Path source = sourceRoot.resolve(FXML);
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, fxml("changed").replace("</VBox>", "    <NoSuchNode/>\n</VBox>"));
+        FxControllerAndView<ReloadableController, VBox> loaded = onFxThread(() -> {
+            FxControllerAndView<ReloadableController, VBox> controllerAndView =
+                    fxWeaver.load(ReloadableController.class);
+            new StackPane(controllerAndView.getView().get());
+            hotReloader.changed(List.of(source));
+            return controllerAndView;
+        });
+
+        ReloadableController controller = loaded.getController();
+        assertThat(controller.content).isSameAs(loaded.getView().get().lookup(".original"));
+        assertThat(controller.disposals).isZero();
+        assertThat(hotReloader.getReloadCount()).isZero();
+    }
+
+    @Test
+    public void unrelatedFilesAreIgnored() throws Exception {
+        Path source = sourceRoot.resolve("net/rgielen/fxweaver/core/support/Other.fxml");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "<VBox/>");
+        onFxThread(() -> {
+            new StackPane(fxWeaver.<ReloadableController, VBox>loadView(ReloadableController.class));
+            hotReloader.changed(List.of(source));
+            return null;
+        });
+
+        assertThat(hotReloader.getReloadCount()).isZero();
+    }
+
+    @Test
+    public void changedStylesheetIsReappliedWithVersionQuery() throws Exception {
+        Path css = sourceRoot.resolve("styles/app.css");
+        Files.createDirectories(css.getParent());
+        Files.writeString(css, ".box { -fx-background-color: red; }");
+        Region box = new Region();
+        box.getStyleClass().add("box");
+        Stage stage = onFxThread(() -> {
+            Stage s = new Stage();
+            Scene scene = new Scene(new StackPane(box), 20, 20);
+            scene.getStylesheets().add(css.toUri().toString());
+            s.setScene(scene);
+            s.show();
+            box.applyCss();
+            return s;
+        });
+        assertThat(box.getBackground().getFills().get(0).getFill()).isEqualTo(Color.RED);
+
+        Files.writeString(css, ".box { -fx-background-color: blue; }");
+        onFxThread(() -> {
+            hotReloader.changed(List.of(css));
+            box.applyCss();
+            return null;
+        });
+
+        assertThat(stage.getScene().getStylesheets()).containsExactly(css.toUri() + "?v=1");
+        assertThat(box.getBackground().getFills().get(0).getFill()).isEqualTo(Color.BLUE);
+        onFxThread(() -> {
+            stage.hide();
+            return null;
+        });
+    }
+
+    @Test
+    public void watchedChangeIsReloaded() throws Exception {
+        Path source = writeFxml("original");
+        FxHotReloader watching = new FxHotReloader(sourceRoot);
+        fxWeaver.setHotReloader(watching);
+        StackPane parent = onFxThread(() -> new StackPane(fxWeaver.<ReloadableController, VBox>loadView(
+                ReloadableController.class)));
+        watching.start();
+        try {
+            Files.writeString(source, fxml("changed"));
+            for (int i = 0; i < 100 && watching.getReloadCount() == 0; i++) {
+                Thread.sleep(50);
+            }
+        } finally {
+            watching.close();
+        }
+
+        assertThat(watching.getReloadCount()).isEqualTo(1);
+        assertThat(onFxThread(() -> parent.getChildren().get(0).lookup(".changed"))).isNotNull();
+    }
+
+    private Path writeFxml(String styleClass) throws Exception {
+        Path source = sourceRoot.resolve(FXML);
+        Files.createDirectories(source.getParent());
+        Files.write(source, fxml(styleClass).getBytes(StandardCharsets.UTF_8));
+        return source;
+    }
+
+    private static String fxml(String styleClass) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<?import javafx.scene.layout.Pane?>\n"
+                + "<?import javafx.scene.layout.VBox?>\n"
+                + "<VBox xmlns=\"http://javafx.com/javafx\" xmlns:fx=\"http://javafx.com/fxml\"\n"
+                + "      fx:controller=\"net.rgielen.fxweaver.core.support.ReloadableController\">\n"
+                + "    <Pane fx:id=\"content\" styleClass=\"" + styleClass + "\"/>\n"
+                + "</VBox>\n";
+    }
+}
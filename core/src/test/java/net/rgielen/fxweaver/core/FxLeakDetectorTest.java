@@ -0,0 +1,97 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import net.rgielen.fxweaver.core.support.FxTestToolkit;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.onFxThread;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxLeakDetectorTest {
+
+    @Test
+    public void collectedViewsAreNoLongerTracked() throws Exception {
+        FxLeakDetector leakDetector = new FxLeakDetector();
+        Pane kept = new Pane();
+        leakDetector.track(SimpleBean.class, SimpleFxControllerAndView.of(new SimpleBean(), kept));
+        leakDetector.track(SimpleBean.class, SimpleFxControllerAndView.of(new SimpleBean(), new Pane()));
+
+        for (int i = 0; i < 20 && leakDetector.getTrackedViewCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(leakDetector.getTrackedViewCount()).isEqualTo(1);
+        assertThat(kept).isNotNull();
+    }
+
+    @Test
+    public void viewsNeverShownAreNotReported() throws Exception {
+        FxLeakDetector leakDetector = new FxLeakDetector(1);
+        Pane view = new Pane();
+        leakDetector.track(SimpleBean.class, SimpleFxControllerAndView.of(new SimpleBean(), view));
+
+        leakDetector.scanTrackedViews();
+        leakDetector.scanTrackedViews();
+
+        assertThat(leakDetector.getSuspectedLeakCount()).isZero();
+        assertThat(leakDetector.getSuspectedLeaks()).isEmpty();
+    }
+
+    @Test
+    public void resultsWithoutViewAreIgnored() throws Exception {
+        FxLeakDetector leakDetector = new FxLeakDetector();
+        leakDetector.track(SimpleBean.class, SimpleFxControllerAndView.ofController(new SimpleBean()));
+
+        assertThat(leakDetector.getTrackedViewCount()).isZero();
+    }
+
+    @Test
+    public void shownViewDetachedButReachableIsReportedWithAllocationStack() throws Exception {
+        FxTestToolkit.start();
+        FxLeakDetector leakDetector = new FxLeakDetector(2);
+        leakDetector.registerMBean();
+        Pane leaked = new Pane();
+        leakDetector.track(SimpleBean.class, SimpleFxControllerAndView.of(new SimpleBean(), leaked));
+
+        onFxThread(() -> {
+            Pane root = new Pane(leaked);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(root));
+            stage.show();
+            leakDetector.scanTrackedViews();
+            root.getChildren().clear();
+            stage.hide();
+            leakDetector.scanTrackedViews();
+            return null;
+        });
+
+        assertThat(leakDetector.getSuspectedLeakCount()).isZero();
+
+        onFxThread(() -> {
+            leakDetector.scanTrackedViews();
+            return null;
+        });
+
+        assertThat(leakDetector.getSuspectedLeakCount()).isEqualTo(1);
+        assertThat(leakDetector.getSuspectedLeaks()).singleElement().asString()
+                .contains(Pane.class.getName())
+                .contains(SimpleBean.class.getName())
+                .contains("View of " + SimpleBean.class.getName() + " allocated")
+                .contains(getClass().getName() + ".shownViewDetachedButReachableIsReportedWithAllocationStack");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(FxLeakDetector.OBJECT_NAME);
+        assertThat(server.getAttribute(name, "SuspectedLeakCount")).isEqualTo(1);
+        assertThat((String[]) server.getAttribute(name, "SuspectedLeaks")).containsExactly(
+                leakDetector.getSuspectedLeaks());
+        assertThat(leaked).isNotNull();
+    }
+}
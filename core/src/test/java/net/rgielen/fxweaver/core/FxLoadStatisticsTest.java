@@ -0,0 +1,61 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.FxLoadStatistics.ControllerStatistics;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxLoadStatisticsTest {
+
+    private FxWeaver fxWeaver;
+
+    @Before
+    public void setUp() throws Exception {
+        fxWeaver = new FxWeaver(c -> {
+            try {
+                return c.getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, null);
+    }
+
+    @Test
+    public void loadsAreRecordedPerControllerClass() throws Exception {
+        FxControllerAndView<SimpleBean, Pane> first = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/foo.fxml", null);
+        FxControllerAndView<SimpleBean, Pane> second = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/foo.fxml", null);
+
+        assertThat(fxWeaver.getStatistics().getControllerStatistics()).hasSize(1);
+        ControllerStatistics statistics = fxWeaver.getStatistics().getControllerStatistics().get(0);
+        assertThat(statistics.getControllerClass()).isEqualTo(SimpleBean.class);
+        assertThat(statistics.getLocation().toString()).endsWith("/net/rgielen/fxweaver/core/foo.fxml");
+        assertThat(statistics.getLoadCount()).isEqualTo(2);
+        assertThat(statistics.getP50()).isPositive().isLessThanOrEqualTo(statistics.getP99());
+        assertThat(statistics.getLiveInstances()).isEqualTo(2);
+        assertThat(first.getController()).isNotSameAs(second.getController());
+    }
+
+    @Test
+    public void unmaterializedLazyInstancesAreCounted() throws Exception {
+        LazyFxControllerAndView<SimpleBean, Pane> lazy = fxWeaver.loadLazy(SimpleBean.class);
+        assertThat(fxWeaver.getStatistics().getControllerStatistics().get(0).getUnmaterializedLazyInstances())
+                .isEqualTo(1);
+
+        lazy.getController();
+
+        assertThat(lazy.isInitialized()).isTrue();
+        ControllerStatistics statistics = fxWeaver.getStatistics().getControllerStatistics().get(0);
+        assertThat(statistics.getUnmaterializedLazyInstances()).isZero();
+        assertThat(statistics.getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void resetForgetsAllStatistics() throws Exception {
+        fxWeaver.load(SimpleBean.class, null, null);
+        fxWeaver.getStatistics().reset();
+        assertThat(fxWeaver.getStatistics().getControllerStatistics()).isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxNodeIndexTest {
+
+    @Test
+    public void indexContainsNodesOnly() throws Exception {
+        Map<String, Object> namespace = new HashMap<>();
+        Pane pane = new Pane();
+        namespace.put("pane", pane);
+        namespace.put("controller", new Pane());
+        namespace.put("location", "somewhere");
+
+        FxNodeIndex index = FxNodeIndex.of(namespace);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get("pane")).isSameAs(pane);
+        assertThat(index.get("controller")).isNull();
+        assertThat(index.get("location")).isNull();
+    }
+
+    @Test
+    public void largeIndexFindsAllNodes() throws Exception {
+        Map<String, Object> namespace = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            namespace.put("node" + i, new Pane());
+        }
+
+        FxNodeIndex index = FxNodeIndex.of(namespace);
+
+        assertThat(index.size()).isEqualTo(100);
+        for (Map.Entry<String, Object> entry : namespace.entrySet()) {
+            assertThat(index.get(entry.getKey())).isSameAs((Node) entry.getValue());
+        }
+        assertThat(index.get("node100")).isNull();
+    }
+
+    @Test
+    public void missingNamespaceResultsInEmptyIndex() throws Exception {
+        assertThat(FxNodeIndex.of(null).size()).isZero();
+        assertThat(FxNodeIndex.of(null).get("any")).isNull();
+    }
+}
@@ -0,0 +1,78 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.support.FxTestToolkit;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxResourceCacheTest {
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxTestToolkit.start();
+    }
+
+    @Test
+    public void viewsLoadedTwiceShareOneImage() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new SimpleBean(), () -> {});
+        FxResourceCache resourceCache = new FxResourceCache();
+        fxWeaver.setResourceCache(resourceCache);
+
+        FxControllerAndView<SimpleBean, Pane> first = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/images.fxml", null);
+        FxControllerAndView<SimpleBean, Pane> second = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/images.fxml", null);
+
+        Image image = first.lookup("icon", ImageView.class).orElseThrow().getImage();
+        assertThat(image).isNotNull();
+        assertThat(image.isError()).isFalse();
+        assertThat(image.getWidth()).isEqualTo(2);
+        assertThat(second.lookup("icon", ImageView.class).orElseThrow().getImage()).isSameAs(image);
+        assertThat(resourceCache.getImageCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void clearedCacheDecodesImagesAgain() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new SimpleBean(), () -> {});
+        FxResourceCache resourceCache = new FxResourceCache();
+        fxWeaver.setResourceCache(resourceCache);
+
+        FxControllerAndView<SimpleBean, Pane> first = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/images.fxml", null);
+        fxWeaver.clearCaches();
+        FxControllerAndView<SimpleBean, Pane> second = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/images.fxml", null);
+
+        assertThat(second.lookup("icon", ImageView.class).orElseThrow().getImage())
+                .isNotSameAs(first.lookup("icon", ImageView.class).orElseThrow().getImage());
+    }
+
+    @Test
+    public void backgroundLoadingImagesDoNotWaitForDecoding() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new SimpleBean(), () -> {});
+        Deque<Runnable> decodes = new ArrayDeque<>();
+        FxResourceCache resourceCache = new FxResourceCache(8, 1024, decodes::add);
+        fxWeaver.setResourceCache(resourceCache);
+
+        Image first = fxWeaver.<SimpleBean, Pane>load(SimpleBean.class,
+                "/net/rgielen/fxweaver/core/background-images.fxml", null)
+                .lookup("icon", ImageView.class).orElseThrow().getImage();
+
+        assertThat(first.isBackgroundLoading()).isTrue();
+        assertThat(decodes).hasSize(1);
+
+        decodes.poll().run();
+        Image second = fxWeaver.<SimpleBean, Pane>load(SimpleBean.class,
+                "/net/rgielen/fxweaver/core/background-images.fxml", null)
+                .lookup("icon", ImageView.class).orElseThrow().getImage();
+
+        assertThat(second).isNotSameAs(first).isSameAs(resourceCache.getImage(
+                new FxResourceCache.ImageKey(second.getUrl(), 0, 0, false, true)));
+        assertThat(second.isBackgroundLoading()).isFalse();
+        assertThat(decodes).isEmpty();
+    }
+}
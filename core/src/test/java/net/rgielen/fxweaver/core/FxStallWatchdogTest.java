@@ -0,0 +1,108 @@
+package net.rgielen.fxweaver.core;
+
+import net.rgielen.fxweaver.core.FxStallWatchdog.Stall;
+import net.rgielen.fxweaver.core.support.FxmlViewClassAnnotated;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FxStallWatchdogTest {
+
+    private ExecutorService fxThread;
+    private FxStallWatchdog watchdog;
+
+    @Before
+    public void setUp() throws Exception {
+        fxThread = Executors.newSingleThreadExecutor(r -> new Thread(r, "fake-fx-thread"));
+        watchdog = new FxStallWatchdog(Duration.ofMillis(100), fxThread);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watchdog.stop();
+        fxThread.shutdownNow();
+    }
+
+    @Test
+    public void responsiveThreadIsNotReported() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            watchdog.check();
+            Thread.sleep(20);
+        }
+        assertThat(watchdog.getStallCount()).isZero();
+    }
+
+    @Test
+    public void stallIsAttributedToLoadInProgress() throws Exception {
+        CompletableFuture<Stall> reported = new CompletableFuture<>();
+        watchdog.addListener(reported::complete);
+        watchdog.check();
+        fxThread.submit(() -> { }).get();
+        URL location = getClass().getResource("foo.fxml");
+        CountDownLatch release = new CountDownLatch(1);
+        fxThread.submit(() -> {
+            watchdog.enter(SimpleBean.class, location);
+            watchdog.phase("loading FXML");
+            release.await(5, TimeUnit.SECONDS);
+            watchdog.exit();
+            return null;
+        });
+
+        watchdog.start();
+        Stall stall = reported.get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(stall.getControllerClass()).isEqualTo(SimpleBean.class);
+        assertThat(stall.getLocation()).isEqualTo(location);
+        assertThat(stall.getPhase()).isEqualTo("loading FXML");
+        assertThat(stall.getDuration()).isGreaterThan(Duration.ofMillis(100));
+        assertThat(Arrays.stream(stall.getStackTrace()).map(StackTraceElement::getMethodName))
+                .contains("await");
+        assertThat(watchdog.getStallCount()).isEqualTo(1);
+        assertThat(watchdog.getRecentStalls()).hasSize(1);
+    }
+
+    @Test
+    public void failingFxmlResolutionKeepsLoadInProgress() throws Exception {
+        CompletableFuture<Stall> reported = new CompletableFuture<>();
+        watchdog.addListener(reported::complete);
+        watchdog.check();
+        fxThread.submit(() -> { }).get();
+        FxWeaver fxWeaver = new FxWeaver(c -> null, () -> {});
+        fxWeaver.setFxmlSources((controllerClass, location) -> {
+            throw new IOException("unreadable");
+        });
+        fxWeaver.setStallWatchdog(watchdog);
+        CountDownLatch release = new CountDownLatch(1);
+        fxThread.submit(() -> {
+            watchdog.enter(SimpleBean.class, null);
+            assertThatThrownBy(() -> fxWeaver.load(FxmlViewClassAnnotated.class))
+                    .isInstanceOf(FxLoadException.class);
+            watchdog.phase("after nested load");
+            release.await(5, TimeUnit.SECONDS);
+            watchdog.exit();
+            return null;
+        });
+
+        watchdog.start();
+        Stall stall = reported.get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(stall.getControllerClass()).isEqualTo(SimpleBean.class);
+        assertThat(stall.getPhase()).isEqualTo("after nested load");
+    }
+}
@@ -0,0 +1,52 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxSubscriptionsTest {
+
+    @Test
+    public void disposeRemovesListenersAndBindings() throws Exception {
+        FxSubscriptions subscriptions = new FxSubscriptions();
+        StringProperty model = new SimpleStringProperty("a");
+        StringProperty view = new SimpleStringProperty();
+        ObservableList<String> items = FXCollections.observableArrayList();
+        List<String> changes = new ArrayList<>();
+
+        subscriptions.bind(view, model);
+        subscriptions.listenChange(model, (observable, oldValue, newValue) -> changes.add(newValue));
+        subscriptions.listenList(items, c -> changes.add("list"));
+        subscriptions.listenInvalidation(model, observable -> changes.add("invalidated"));
+        model.set("b");
+        items.add("x");
+        subscriptions.dispose();
+        model.set("c");
+        items.add("y");
+
+        assertThat(view.isBound()).isFalse();
+        assertThat(view.get()).isEqualTo("b");
+        assertThat(changes).containsExactly("invalidated", "b", "list");
+        assertThat(subscriptions.size()).isZero();
+    }
+
+    @Test
+    public void disposeRunsActionsInReverseOrderOnlyOnce() throws Exception {
+        FxSubscriptions subscriptions = new FxSubscriptions();
+        List<String> actions = new ArrayList<>();
+        subscriptions.onDispose(() -> actions.add("first"));
+        subscriptions.onDispose(() -> actions.add("second"));
+
+        subscriptions.dispose();
+        subscriptions.dispose();
+
+        assertThat(actions).containsExactly("second", "first");
+    }
+}
@@ -0,0 +1,74 @@
+package net.rgielen.fxweaver.core;
+
+import net.rgielen.fxweaver.core.FxTracer.Event;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxTracerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path traceFile;
+
+    @Before
+    public void setUp() throws Exception {
+        traceFile = temporaryFolder.getRoot().toPath().resolve("trace.json");
+        FxTracer.start(traceFile);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FxTracer.stop();
+    }
+
+    @Test
+    public void disabledTracerReturnsNoopSpan() throws Exception {
+        FxTracer.stop();
+        assertThat(FxTracer.isEnabled()).isFalse();
+        assertThat(FxTracer.begin("test", "span")).isSameAs(FxTracer.Span.NOOP);
+    }
+
+    @Test
+    public void loadsAreTracedWithNestedControllerCreation() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(c -> new SimpleBean(), null);
+
+        fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/foo.fxml", null);
+
+        Event load = FxTracer.events().stream().filter(e -> e.category.equals("fxweaver")).findFirst().orElseThrow();
+        Event bean = FxTracer.events().stream().filter(e -> e.category.equals("bean")).findFirst().orElseThrow();
+        assertThat(load.name).isEqualTo("SimpleBean");
+        assertThat(load.args.get("location").toString()).endsWith("foo.fxml");
+        assertThat(bean.timestamp).isBetween(load.timestamp, load.timestamp + load.duration);
+        assertThat(bean.timestamp + bean.duration).isLessThanOrEqualTo(load.timestamp + load.duration);
+    }
+
+    @Test
+    public void flushWritesChromeTraceFormat() throws Exception {
+        try (FxTracer.Span span = FxTracer.begin("test", "quoted \"span\"")) {
+            span.arg("key", "value");
+        }
+        FxTracer.mark("test", "mark");
+
+        FxTracer.flush();
+
+        String trace = new String(Files.readAllBytes(traceFile), StandardCharsets.UTF_8);
+        assertThat(trace)
+                .startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[")
+                .contains("\"name\":\"quoted \\\"span\\\"\",\"cat\":\"test\",\"ph\":\"X\"")
+                .contains("\"args\":{\"key\":\"value\"}")
+                .contains("\"name\":\"mark\",\"cat\":\"test\",\"ph\":\"i\"")
+                .contains("\"name\":\"thread_name\"")
+                .endsWith("]}");
+    }
+}
@@ -0,0 +1,71 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Insets;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxValueInternerTest {
+
+    private static final String LOCATION = "/net/rgielen/fxweaver/core/interned.fxml";
+
+    private FxWeaver fxWeaver;
+    private FxValueInterner interner;
+
+    @Before
+    public void setUp() throws Exception {
+        fxWeaver = new FxWeaver(c -> {
+            try {
+                return c.getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, null);
+        interner = new FxValueInterner();
+        fxWeaver.setValueInterner(interner);
+    }
+
+    @Test
+    public void equalValuesAreSharedAcrossViews() throws Exception {
+        FxControllerAndView<SimpleBean, Pane> first = fxWeaver.load(SimpleBean.class, LOCATION, null);
+        FxControllerAndView<SimpleBean, Pane> second = fxWeaver.load(SimpleBean.class, LOCATION, null);
+
+        Pane firstView = first.getView().orElseThrow();
+        Pane secondView = second.getView().orElseThrow();
+        Region firstTile = first.lookup("tile", Region.class).orElseThrow();
+        Region secondTile = second.lookup("tile", Region.class).orElseThrow();
+        assertThat(secondView.getPadding()).isSameAs(firstView.getPadding()).isSameAs(firstTile.getPadding());
+        assertThat(secondTile.getPadding()).isSameAs(firstView.getPadding());
+        assertThat(secondView.getStyle()).isSameAs(firstView.getStyle()).isSameAs(secondTile.getStyle());
+        assertThat(fxWeaver.getStatistics().getControllerStatistics().get(0).getInternedValues())
+                .isEqualTo(interner.getInternedValues())
+                .isEqualTo(2 + 4);
+    }
+
+    @Test
+    public void defaultAndBoundValuesAreLeftAlone() throws Exception {
+        Region region = new Region();
+        Insets padding = new Insets(3);
+        interner.intern(new Insets(3));
+        region.paddingProperty().bind(new SimpleObjectProperty<>(padding));
+
+        assertThat(interner.internView(region)).isZero();
+        assertThat(region.getPadding()).isSameAs(padding);
+    }
+
+    @Test
+    public void valuesAreNotInternedWithoutInterner() throws Exception {
+        fxWeaver.setValueInterner(null);
+
+        Pane first = fxWeaver.loadView(SimpleBean.class, LOCATION);
+        Pane second = fxWeaver.loadView(SimpleBean.class, LOCATION);
+
+        assertThat(second.getPadding()).isEqualTo(first.getPadding()).isNotSameAs(first.getPadding());
+        assertThat(fxWeaver.getStatistics().getControllerStatistics().get(0).getInternedValues()).isZero();
+    }
+}
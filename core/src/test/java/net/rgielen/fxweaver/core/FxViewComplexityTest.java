@@ -0,0 +1,61 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import net.rgielen.fxweaver.core.support.SimpleBean;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class FxViewComplexityTest {
+
+    @Test
+    public void nodesAreCountedByTypeWithMaximumDepth() throws Exception {
+        Pane root = new Pane(new Region(), new Pane(new Region()));
+
+        FxViewComplexity complexity = FxViewComplexity.analyze(root);
+
+        assertThat(complexity.getViews()).isEqualTo(1);
+        assertThat(complexity.getNodeCount()).isEqualTo(4);
+        assertThat(complexity.getMaxDepth()).isEqualTo(3);
+        assertThat(complexity.getNodeCountByType()).containsExactly(entry(Pane.class, 2), entry(Region.class, 2));
+        assertThat(complexity.getEstimatedBytes()).isPositive();
+    }
+
+    @Test
+    public void listenersAndBindingsOnNodePropertiesAreCounted() throws Exception {
+        Region region = new Region();
+        Pane root = new Pane(region);
+        region.setOpacity(0.5);
+        FxViewComplexity before = FxViewComplexity.analyze(root);
+
+        region.opacityProperty().bind(new SimpleDoubleProperty(0.8));
+        region.opacityProperty().addListener((InvalidationListener) observable -> {});
+        region.opacityProperty().addListener((ChangeListener<Number>) (observable, oldValue, newValue) -> {});
+        FxViewComplexity after = FxViewComplexity.analyze(root);
+
+        assertThat(after.getBindingCount()).isEqualTo(before.getBindingCount() + 1);
+        assertThat(after.getListenerCount()).isEqualTo(before.getListenerCount() + 2);
+    }
+
+    @Test
+    public void complexityIsAddedUpPerControllerWhenEnabled() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(c -> new SimpleBean(), null);
+        fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/indexed.fxml", null);
+        assertThat(fxWeaver.getStatistics().getControllerStatistics().get(0).getComplexity()).isNull();
+
+        fxWeaver.setComplexityAnalysisEnabled(true);
+        FxViewComplexity single = FxViewComplexity.analyze(
+                fxWeaver.loadView(SimpleBean.class, "/net/rgielen/fxweaver/core/indexed.fxml"));
+        fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/indexed.fxml", null);
+
+        FxViewComplexity complexity = fxWeaver.getStatistics().getControllerStatistics().get(0).getComplexity();
+        assertThat(complexity.getViews()).isEqualTo(2);
+        assertThat(complexity.getNodeCount()).isEqualTo(2 * single.getNodeCount());
+        assertThat(complexity.getMaxDepth()).isEqualTo(single.getMaxDepth());
+    }
+}
@@ -1,8 +1,11 @@
 package net.rgielen.fxweaver.core;
 
+import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import net.rgielen.fxweaver.core.support.CodeViewController;
 import net.rgielen.fxweaver.core.support.FxmlViewClassAnnotated;
 import net.rgielen.fxweaver.core.support.FxmlViewClassAnnotatedWithValue;
 import net.rgielen.fxweaver.core.support.FxmlViewClassNonAnnotated;
@@ -11,6 +14,15 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -42,6 +54,25 @@ public class FxWeaverTest {
                 .isEqualTo("FxmlViewClassAnnotated.fxml");
         assertThat(fxWeaver.buildFxmlReference(FxmlViewClassAnnotatedWithValue.class))
                 .isEqualTo("foo.fxml");
+        assertThat(fxWeaver.buildFxmlReference(CodeViewController.class)).isNull();
+    }
+
+    @Test
+    public void loadWeavesCodeFirstViewWithController() throws Exception {
+        FxControllerAndView<CodeViewController, Pane> cav = fxWeaver.load(CodeViewController.class);
+        assertThat(cav.getController()).isInstanceOf(CodeViewController.class);
+        Pane root = cav.getView().orElseThrow();
+        assertThat(cav.lookup("root", Pane.class)).containsSame(root);
+        assertThat(cav.lookup("nested", Region.class).orElseThrow().getParent().getParent()).isSameAs(root);
+    }
+
+    @Test
+    public void loadRejectsCodeViewWithoutFactory() throws Exception {
+        assertThatThrownBy(() -> fxWeaver.load(InvalidCodeView.class)).isInstanceOf(FxLoadException.class);
+    }
+
+    @FxCodeView
+    public static class InvalidCodeView {
     }
 
     @Test
@@ -68,6 +99,126 @@ public class FxWeaverTest {
         assertThat(cav.getView().get()).isInstanceOfAny(Pane.class);
     }
 
+    @Test
+    public void lookupFindsNodesByFxId() throws Exception {
+        FxControllerAndView<SimpleBean, Pane> cav = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/indexed.fxml", null);
+        Pane root = cav.getView().orElseThrow();
+        assertThat(cav.lookup("root", Pane.class)).containsSame(root);
+        assertThat(cav.lookup("left", Pane.class).orElseThrow()).isSameAs(root.getChildren().get(0));
+        assertThat(cav.lookup("nested", Region.class)).isPresent();
+        assertThat(cav.lookup("missing", Region.class)).isEmpty();
+        assertThatThrownBy(() -> cav.lookup("right", Pane.class)).isInstanceOf(ClassCastException.class);
+    }
+
+    @Test
+    public void loadWithResourceCacheWorksWithValidView() throws Exception {
+        fxWeaver.setResourceCache(new FxResourceCache());
+        FxControllerAndView<SimpleBean, Pane> cav = fxWeaver.load(SimpleBean.class, "/net/rgielen/fxweaver/core/indexed.fxml", null);
+        assertThat(cav.getView()).isPresent();
+        assertThat(cav.lookup("nested", Region.class)).isPresent();
+    }
+
+    @Test
+    public void preloadRequiresResourceCache() throws Exception {
+        assertThatThrownBy(() -> fxWeaver.preload(SimpleBean.class)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void switchLocaleUpdatesBoundPropertiesInPlace() throws Exception {
+        fxWeaver.setLocaleSwitchingEnabled(true);
+        FxControllerAndView<SimpleBean, Pane> cav = fxWeaver.load(SimpleBean.class,
+                "/net/rgielen/fxweaver/core/localized.fxml", bundle("Hello", "Help"));
+        Pane view = cav.getView().orElseThrow();
+        Region nested = cav.lookup("nested", Region.class).orElseThrow();
+        assertThat(view.getAccessibleText()).isEqualTo("Hello");
+
+        fxWeaver.switchLocale(bundle("Hallo", "Hilfe"));
+
+        assertThat(view.getAccessibleText()).isEqualTo("Hallo");
+        assertThat(nested.getAccessibleText()).isEqualTo("Hallo");
+        assertThat(nested.getAccessibleHelp()).isEqualTo("Hilfe");
+        assertThat(cav.lookup("plain", Region.class).orElseThrow().getAccessibleText()).isEqualTo("plain");
+    }
+
+    @Test
+    public void switchLocaleSkipsPropertiesBoundSinceLoading() throws Exception {
+        fxWeaver.setLocaleSwitchingEnabled(true);
+        FxControllerAndView<SimpleBean, Pane> cav = fxWeaver.load(SimpleBean.class,
+                "/net/rgielen/fxweaver/core/localized.fxml", bundle("Hello", "Help"));
+        Pane view = cav.getView().orElseThrow();
+        Region nested = cav.lookup("nested", Region.class).orElseThrow();
+        nested.accessibleTextProperty().bind(new SimpleStringProperty("bound"));
+
+        fxWeaver.switchLocale(bundle("Hallo", "Hilfe"));
+
+        assertThat(nested.getAccessibleText()).isEqualTo("bound");
+        assertThat(nested.getAccessibleHelp()).isEqualTo("Hilfe");
+        assertThat(view.getAccessibleText()).isEqualTo("Hallo");
+    }
+
+    @Test
+    public void shutdownWithTimeoutClosesAndExits() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean exited = new AtomicBoolean();
+        AtomicBoolean forced = new AtomicBoolean();
+        FxWeaver weaver = new FxWeaver(c -> null, () -> closed.set(true)) {
+            @Override
+            protected void exitPlatform() {
+                exited.set(true);
+            }
+
+            @Override
+            protected void forceExit() {
+                forced.set(true);
+            }
+        };
+
+        weaver.shutdown(Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(closed).isTrue();
+        assertThat(exited).isTrue();
+        assertThat(forced).isFalse();
+    }
+
+    @Test
+    public void shutdownWithTimeoutForcesExitWhenCloseHangs() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch forced = new CountDownLatch(1);
+        FxWeaver weaver = new FxWeaver(c -> null, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }) {
+            @Override
+            protected void exitPlatform() {
+            }
+
+            @Override
+            protected void forceExit() {
+                forced.countDown();
+            }
+        };
+
+        CompletableFuture<Void> shutdown = weaver.shutdown(Duration.ofMillis(50));
+
+        assertThat(forced.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> shutdown.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        release.countDown();
+    }
+
+    private static ResourceBundle bundle(String greeting, String help) {
+        return new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"greeting", greeting}, {"help", help}};
+            }
+        };
+    }
+
     @Test
     public void loadControllerAndViewThrowsExceptionForValidView() throws Exception {
         assertThatThrownBy(
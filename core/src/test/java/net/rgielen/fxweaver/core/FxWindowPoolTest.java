@@ -0,0 +1,171 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Group;
+import javafx.scene.layout.Pane;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import net.rgielen.fxweaver.core.support.CodeViewController;
+import net.rgielen.fxweaver.core.support.FxTestToolkit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.onFxThread;
+import static net.rgielen.fxweaver.core.support.FxTestToolkit.waitForPendingEvents;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxWindowPoolTest {
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxTestToolkit.start();
+    }
+
+    @Test
+    public void hiddenShellIsReusedForSameOwnerAndModality() throws Exception {
+        FxWindowPool pool = new FxWindowPool(1);
+        Stage first = onFxThread(() -> {
+            Stage stage = pool.acquire(null, Modality.NONE);
+            stage.getScene().setRoot(new Pane());
+            stage.setTitle("first");
+            stage.show();
+            stage.hide();
+            return stage;
+        });
+        waitForPendingEvents();
+
+        Stage second = onFxThread(() -> pool.acquire(null, Modality.NONE));
+        Stage other = onFxThread(() -> pool.acquire(null, Modality.APPLICATION_MODAL));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getTitle()).isNull();
+        assertThat(second.getScene().getRoot()).isInstanceOf(Group.class);
+        assertThat(other).isNotSameAs(first);
+        assertThat(pool.getCreatedCount()).isEqualTo(2);
+        assertThat(pool.getReusedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shellsBeyondMaximumAreDiscarded() throws Exception {
+        FxWindowPool pool = new FxWindowPool(1);
+        onFxThread(() -> {
+            Stage first = pool.acquire(null, Modality.NONE);
+            Stage second = pool.acquire(null, Modality.NONE);
+            first.show();
+            second.show();
+            first.hide();
+            second.hide();
+            return null;
+        });
+        waitForPendingEvents();
+
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shellsAreDiscardedWithTheirOwner() throws Exception {
+        FxWindowPool pool = new FxWindowPool(2);
+        Stage owner = onFxThread(() -> {
+            Stage stage = new Stage();
+            stage.show();
+            pool.prewarm(stage, Modality.WINDOW_MODAL, 2);
+            return stage;
+        });
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+
+        onFxThread(() -> {
+            owner.hide();
+            return null;
+        });
+
+        assertThat(pool.getIdleCount()).isZero();
+    }
+
+    @Test
+    public void openWindowShowsViewInPooledShell() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new CodeViewController(), () -> { });
+        FxWindowPool pool = new FxWindowPool(1);
+        fxWeaver.setWindowPool(pool);
+
+        Stage first = onFxThread(() -> {
+            FxControllerAndView<CodeViewController, Pane> dialog =
+                    fxWeaver.openWindow(CodeViewController.class, null, Modality.APPLICATION_MODAL);
+            Stage stage = (Stage) dialog.getView().get().getScene().getWindow();
+            assertThat(stage.isShowing()).isTrue();
+            assertThat(stage.getModality()).isEqualTo(Modality.APPLICATION_MODAL);
+            stage.hide();
+            return stage;
+        });
+        waitForPendingEvents();
+
+        Stage second = onFxThread(() -> {
+            Pane view = fxWeaver.<CodeViewController, Pane>openWindow(CodeViewController.class, null,
+                    Modality.APPLICATION_MODAL).getView().get();
+            Stage stage = (Stage) view.getScene().getWindow();
+            stage.hide();
+            return stage;
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(pool.getReusedCount()).isEqualTo(1);
+        FxLoadStatistics.ControllerStatistics statistics = fxWeaver.getStatistics().getControllerStatistics().get(0);
+        assertThat(statistics.isPooled()).isTrue();
+        assertThat(statistics.getPooledWindows()).isEqualTo(2);
+    }
+
+    @Test
+    public void positionIsResetOnRelease() throws Exception {
+        FxWindowPool pool = new FxWindowPool(1);
+        Stage first = onFxThread(() -> {
+            Stage stage = pool.acquire(null, Modality.NONE);
+            stage.show();
+            stage.setX(10);
+            stage.setY(20);
+            stage.hide();
+            return stage;
+        });
+        waitForPendingEvents();
+
+        Stage second = onFxThread(() -> {
+            Stage stage = pool.acquire(null, Modality.NONE);
+            stage.show();
+            stage.hide();
+            return stage;
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getX()).isNotEqualTo(10);
+        assertThat(second.getY()).isNotEqualTo(20);
+    }
+
+    @Test
+    public void addedEventHandlersStayOnReleasedShell() throws Exception {
+        FxWindowPool pool = new FxWindowPool(1);
+        FxSubscriptions subscriptions = new FxSubscriptions();
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger subscribed = new AtomicInteger();
+        onFxThread(() -> {
+            Stage stage = pool.acquire(null, Modality.NONE);
+            stage.addEventHandler(WindowEvent.WINDOW_SHOWN, event -> added.incrementAndGet());
+            subscriptions.handleWindow(stage, WindowEvent.WINDOW_SHOWN, event -> subscribed.incrementAndGet());
+            stage.show();
+            stage.hide();
+            subscriptions.dispose();
+            return null;
+        });
+        waitForPendingEvents();
+
+        onFxThread(() -> {
+            Stage stage = pool.acquire(null, Modality.NONE);
+            stage.show();
+            stage.hide();
+            return null;
+        });
+
+        // documented limitation: the pool cannot remove handlers added to the stage directly
+        assertThat(added).hasValue(2);
+        assertThat(subscribed).hasValue(1);
+    }
+}
@@ -0,0 +1,155 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.support.InjectedController;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.ListResourceBundle;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxmlInjectionTest {
+
+    @Test
+    public void controllerIsInjectedThroughMethodHandles() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new InjectedController(), () -> {});
+        fxWeaver.setMethodHandleInjectionEnabled(true);
+        FXMLLoader loader = new FXMLLoader();
+
+        FxControllerAndView<InjectedController, Pane> controllerAndView = fxWeaver.loadByViewUsingFxmlLoader(loader,
+                InjectedController.class.getResource("InjectedController.fxml"), null);
+
+        assertThat((Object) loader.getController()).isNull();
+        assertWoven(controllerAndView, null);
+    }
+
+    @Test
+    public void controllerIsInjectedAsByFxmlLoader() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new InjectedController(), () -> {});
+        FXMLLoader loader = new FXMLLoader();
+
+        FxControllerAndView<InjectedController, Pane> controllerAndView = fxWeaver.loadByViewUsingFxmlLoader(loader,
+                InjectedController.class.getResource("InjectedController.fxml"), null);
+
+        assertThat((Object) loader.getController()).isSameAs(controllerAndView.getController());
+        assertWoven(controllerAndView, null);
+    }
+
+    @Test
+    public void resourcesAreInjected() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new InjectedController(), () -> {});
+        fxWeaver.setMethodHandleInjectionEnabled(true);
+        ResourceBundle resourceBundle = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[0][];
+            }
+        };
+
+        assertWoven(fxWeaver.load(InjectedController.class, resourceBundle), resourceBundle);
+    }
+
+    @Test
+    public void templateRewritesControllerAndHandlers() throws Exception {
+        FxmlTemplate template;
+        try (InputStream fxml = InjectedController.class.getResourceAsStream("InjectedController.fxml")) {
+            template = FxmlTemplate.parse(fxml);
+        }
+
+        assertThat(template.isEligible()).isTrue();
+        assertThat(template.getControllerClassName()).isEqualTo(InjectedController.class.getName());
+        assertThat(template.getHandlerNames()).containsExactly("clicked", "pressed");
+        String rewritten = new String(template.openStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(rewritten)
+                .doesNotContain("fx:controller")
+                .doesNotContain("#")
+                .contains("onMouseClicked=\"$" + FxmlTemplate.HANDLER_PREFIX + "clicked\"");
+    }
+
+    @Test
+    public void templatesRequiringTheLoaderToKnowTheControllerAreNotEligible() throws Exception {
+        String includes = "<?import javafx.scene.layout.Pane?>"
+                + "<Pane fx:controller=\"a.B\" xmlns:fx=\"http://javafx.com/fxml/1\"><fx:include source=\"c.fxml\"/></Pane>";
+        String listener = "<?import javafx.scene.control.ListView?>"
+                + "<ListView fx:controller=\"a.B\" onItemsChange=\"#changed\" xmlns:fx=\"http://javafx.com/fxml/1\"/>";
+        String noController = "<?import javafx.scene.layout.Pane?><Pane xmlns:fx=\"http://javafx.com/fxml/1\"/>";
+
+        for (String fxml : List.of(includes, listener, noController)) {
+            assertThat(FxmlTemplate.parse(new ByteArrayInputStream(fxml.getBytes(StandardCharsets.UTF_8)))
+                    .isEligible()).as(fxml).isFalse();
+        }
+    }
+
+    @Test
+    public void injectorIsCachedPerClass() throws Exception {
+        FxmlInjector injector = FxmlInjector.of(InjectedController.class);
+
+        assertThat(FxmlInjector.of(InjectedController.class)).isSameAs(injector);
+        assertThat(injector.supports(List.of("clicked", "pressed", "initialize"))).isTrue();
+        assertThat(injector.supports(List.of("missing"))).isFalse();
+        assertThat(FxmlInjector.of(FinalFieldController.class).isEligible()).isFalse();
+    }
+
+    @Test
+    public void cachedTemplateLoadsWithoutReadingTheView() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> new InjectedController(), () -> {});
+        fxWeaver.setMethodHandleInjectionEnabled(true);
+        URL resource = InjectedController.class.getResource("InjectedController.fxml");
+        AtomicInteger openings = new AtomicInteger();
+        URL location = new URL(null, "counting:" + resource, new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) throws IOException {
+                openings.incrementAndGet();
+                return resource.openConnection();
+            }
+        });
+
+        fxWeaver.loadByViewUsingFxmlLoader(new FXMLLoader(), location, null);
+        fxWeaver.loadByViewUsingFxmlLoader(new FXMLLoader(), location, null);
+
+        assertThat(openings).hasValue(1);
+    }
+
+    private static void assertWoven(FxControllerAndView<InjectedController, Pane> controllerAndView,
+                                    ResourceBundle resourceBundle) {
+        InjectedController controller = controllerAndView.getController();
+        Pane view = controllerAndView.getView().orElseThrow();
+        assertThat(controller.getLeft()).isSameAs(view.getChildren().get(0));
+        assertThat(controller.right).isSameAs(view.getChildren().get(1));
+        assertThat(controller.getLocation()).isEqualTo(InjectedController.class.getResource("InjectedController.fxml"));
+        assertThat(controller.getResources()).isSameAs(resourceBundle);
+        assertThat(controller.getInitializations()).isEqualTo(1);
+        assertThat(controllerAndView.lookup("left", Pane.class)).containsSame(controller.getLeft());
+
+        MouseEvent clicked = mouseEvent(MouseEvent.MOUSE_CLICKED);
+        view.getOnMouseClicked().handle(clicked);
+        controller.getLeft().getOnMousePressed().handle(mouseEvent(MouseEvent.MOUSE_PRESSED));
+
+        assertThat(controller.getEvents()).containsExactly(clicked, "pressed");
+    }
+
+    private static MouseEvent mouseEvent(javafx.event.EventType<MouseEvent> type) {
+        return new MouseEvent(type, 0, 0, 0, 0, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, false, false, false, null);
+    }
+
+    public static class FinalFieldController {
+
+        @FXML
+        private final Pane pane = null;
+    }
+}
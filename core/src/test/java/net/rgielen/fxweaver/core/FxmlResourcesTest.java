@@ -0,0 +1,32 @@
+package net.rgielen.fxweaver.core;
+
+import org.junit.Test;
+
+import java.net.URL;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxmlResourcesTest {
+
+    @Test
+    public void scanFindsImagesStylesheetsAndIncludes() throws Exception {
+        URL fxml = getClass().getResource("resources.fxml");
+
+        FxmlResources resources = FxmlResources.scan(fxml);
+
+        assertThat(resources.images).containsExactly(
+                new FxResourceCache.ImageKey(new URL(fxml, "icon.png").toString(), 16, 16, true, true),
+                new FxResourceCache.ImageKey("net/rgielen/fxweaver/core/icon.png", 0, 0, false, false));
+        assertThat(resources.stylesheets).containsExactly(new URL(fxml, "view.css"), new URL(fxml, "theme.css"));
+        assertThat(resources.includes).containsExactly(new URL(fxml, "foo.fxml"));
+    }
+
+    @Test
+    public void fontFacesAreResolvedAgainstStylesheet() throws Exception {
+        URL stylesheet = new URL("file:/styles/theme.css");
+        String css = "@font-face { font-family: 'Icons'; src: url('fonts/icons.ttf'); }\n"
+                + ".label { -fx-background-image: url(background.png); }";
+
+        assertThat(FxmlResources.fontFaces(css, stylesheet)).containsExactly(new URL("file:/styles/fonts/icons.ttf"));
+    }
+}
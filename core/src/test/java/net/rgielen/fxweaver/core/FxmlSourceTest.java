@@ -0,0 +1,153 @@
+package net.rgielen.fxweaver.core;
+
+import javafx.scene.Node;
+import javafx.scene.layout.VBox;
+import net.rgielen.fxweaver.core.support.ReloadableController;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxmlSourceTest {
+
+    private static final String FXML = "net/rgielen/fxweaver/core/support/ReloadableController.fxml";
+    private static final String LOCATION = "ReloadableController.fxml";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final FxWeaver fxWeaver = new FxWeaver(type -> new ReloadableController(), () -> { });
+
+    @Test
+    public void resourceNameIsRelativeToControllerPackageUnlessAbsolute() {
+        assertThat(FxmlSource.resourceName(ReloadableController.class, LOCATION)).isEqualTo(FXML);
+        assertThat(FxmlSource.resourceName(ReloadableController.class, "/views/main.fxml"))
+                .isEqualTo("views/main.fxml");
+    }
+
+    @Test
+    public void directorySourceTakesPrecedenceOverClasspath() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        write(root.resolve(FXML), fxml("plugin"));
+        fxWeaver.setFxmlSources(new DirectoryFxmlSource(root));
+
+        VBox view = fxWeaver.loadView(ReloadableController.class);
+
+        assertThat(view.lookup(".plugin")).isNotNull();
+    }
+
+    @Test
+    public void unresolvedViewsAreLoadedFromClasspath() {
+        fxWeaver.setFxmlSources(new DirectoryFxmlSource(temporaryFolder.getRoot().toPath()));
+
+        VBox view = fxWeaver.loadView(ReloadableController.class);
+
+        assertThat(view.lookup(".original")).isNotNull();
+    }
+
+    @Test
+    public void zipSourceResolvesIncludesRelativeToArchiveEntry() throws Exception {
+        Path archive = temporaryFolder.getRoot().toPath().resolve("plugin.zip");
+        zip(archive, fxml("zipped").replace("</VBox>", "<fx:include source=\"Part.fxml\"/></VBox>"));
+        try (ZipFxmlSource source = new ZipFxmlSource(archive)) {
+            fxWeaver.setFxmlSources(source);
+
+            VBox view = fxWeaver.loadView(ReloadableController.class);
+
+            assertThat(view.lookup(".zipped")).isNotNull();
+            assertThat(view.lookup(".part")).isNotNull();
+        }
+    }
+
+    @Test
+    public void largeFilesAreMemoryMapped() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        write(root.resolve(FXML), fxml("plugin"));
+
+        FxmlContent mapped = new DirectoryFxmlSource(root, 0).resolve(ReloadableController.class, LOCATION).get();
+        FxmlContent read = new DirectoryFxmlSource(root).resolve(ReloadableController.class, LOCATION).get();
+
+        assertThat(mapped.getContent().isDirect()).isTrue();
+        assertThat(read.getContent().isDirect()).isFalse();
+        assertThat(mapped.getContentHash()).isEqualTo(read.getContentHash());
+        assertThat(new String(mapped.openStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(fxml("plugin"));
+    }
+
+    @Test
+    public void unchangedContentIsDetectedByHash() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path file = root.resolve(FXML);
+        write(file, fxml("plugin"));
+        DirectoryFxmlSource source = new DirectoryFxmlSource(root);
+        FxmlContent first = source.resolve(ReloadableController.class, LOCATION).get();
+
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        assertThat(source.resolve(ReloadableController.class, LOCATION).get()).isSameAs(first);
+        assertThat(source.isModified(ReloadableController.class, LOCATION, first)).isFalse();
+
+        write(file, fxml("changed"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(20)));
+        assertThat(source.isModified(ReloadableController.class, LOCATION, first)).isTrue();
+    }
+
+    @Test
+    public void replacedArchiveIsReopened() throws Exception {
+        Path archive = temporaryFolder.getRoot().toPath().resolve("plugin.zip");
+        zip(archive, fxml("zipped"));
+        try (ZipFxmlSource source = new ZipFxmlSource(archive)) {
+            FxmlContent first = source.resolve(ReloadableController.class, LOCATION).get();
+            assertThat(source.resolve(ReloadableController.class, "Missing.fxml")).isEmpty();
+
+            zip(archive, fxml("replaced"));
+            Files.setLastModifiedTime(archive, FileTime.from(Instant.now().plusSeconds(10)));
+
+            assertThat(source.isModified(ReloadableController.class, LOCATION, first)).isTrue();
+        }
+    }
+
+    @Test
+    public void classpathSourceResolvesLikeFxWeaver() throws Exception {
+        fxWeaver.setFxmlSources(new ClasspathFxmlSource());
+
+        Node view = fxWeaver.loadView(ReloadableController.class);
+
+        assertThat(view.lookup(".original")).isNotNull();
+        assertThat(new ClasspathFxmlSource().resolve(ReloadableController.class, "Missing.fxml")).isEmpty();
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static void zip(Path archive, String content) throws Exception {
+        try (OutputStream out = Files.newOutputStream(archive); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(FXML));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry(FXML.replace(LOCATION, "Part.fxml")));
+            zip.write(("<?import javafx.scene.layout.Pane?>\n"
+                    + "<Pane xmlns=\"http://javafx.com/javafx\" styleClass=\"part\"/>\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String fxml(String styleClass) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<?import javafx.scene.layout.Pane?>\n"
+                + "<?import javafx.scene.layout.VBox?>\n"
+                + "<VBox xmlns=\"http://javafx.com/javafx\" xmlns:fx=\"http://javafx.com/fxml\"\n"
+                + "      fx:controller=\"net.rgielen.fxweaver.core.support.ReloadableController\">\n"
+                + "    <Pane fx:id=\"content\" styleClass=\"" + styleClass + "\"/>\n"
+                + "</VBox>\n";
+    }
+}
@@ -0,0 +1,47 @@
+package net.rgielen.fxweaver.core;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeightedCacheTest {
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedBySize() throws Exception {
+        WeightedCache<String, String> cache = new WeightedCache<>(2, Long.MAX_VALUE, String::length);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    public void entriesAreEvictedByWeightOnceWeighed() throws Exception {
+        WeightedCache<String, String> cache = new WeightedCache<>(10, 5, String::length);
+        cache.put("a", "xxx");
+        cache.put("b", "yyy");
+        assertThat(cache.weight()).isZero();
+
+        cache.updateWeight("a", "xxx");
+        cache.updateWeight("b", "yyy");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("yyy");
+        assertThat(cache.weight()).isEqualTo(3);
+    }
+
+    @Test
+    public void staleValuesAreNeitherWeighedNorRemoved() throws Exception {
+        WeightedCache<String, String> cache = new WeightedCache<>(10, 100, String::length);
+        cache.put("a", "new");
+        cache.updateWeight("a", "old");
+        cache.remove("a", "old");
+
+        assertThat(cache.get("a")).isEqualTo("new");
+        assertThat(cache.weight()).isZero();
+    }
+}
@@ -0,0 +1,34 @@
+package net.rgielen.fxweaver.core.support;
+
+import javafx.fxml.FXML;
+import javafx.scene.layout.Region;
+import net.rgielen.fxweaver.core.FxCellController;
+import net.rgielen.fxweaver.core.FxmlView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CellController.
+ *
+ * @author Rene Gielen
+ */
+@FxmlView
+public class CellController implements FxCellController<Integer> {
+
+    @FXML
+    public Region bar;
+
+    public final List<Integer> items = new ArrayList<>();
+
+    @Override
+    public void updateItem(Integer item, boolean empty) {
+        items.add(item);
+        bar.setPrefWidth(empty ? 0 : item % 100);
+    }
+
+    public Integer getItem() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+
+}
@@ -0,0 +1,27 @@
+package net.rgielen.fxweaver.core.support;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import net.rgielen.fxweaver.core.FxCodeView;
+import net.rgielen.fxweaver.core.FxViewFactory;
+
+import java.util.ResourceBundle;
+
+/**
+ * CodeViewController.
+ *
+ * @author Rene Gielen
+ */
+@FxCodeView
+public class CodeViewController implements FxViewFactory<CodeViewController, Pane> {
+
+    @Override
+    public Pane createView(CodeViewController controller, ResourceBundle resourceBundle) {
+        Region nested = new Region();
+        nested.setId("nested");
+        Pane root = new Pane(new Pane(nested));
+        root.setId("root");
+        return root;
+    }
+
+}
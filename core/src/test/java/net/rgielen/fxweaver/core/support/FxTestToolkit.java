@@ -0,0 +1,39 @@
+package net.rgielen.fxweaver.core.support;
+
+import javafx.application.Platform;
+import net.rgielen.fxweaver.core.FxHeadlessToolkit;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the JavaFX toolkit headless for tests requiring windows, and runs test code on its thread.
+ *
+ * @author Rene Gielen
+ */
+public final class FxTestToolkit {
+
+    private FxTestToolkit() {
+    }
+
+    public static void start() throws InterruptedException {
+        FxHeadlessToolkit.start();
+    }
+
+    public static <T> T onFxThread(Callable<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    public static void waitForPendingEvents() throws Exception {
+        onFxThread(() -> null);
+    }
+}
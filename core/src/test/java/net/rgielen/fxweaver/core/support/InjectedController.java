@@ -0,0 +1,71 @@
+package net.rgielen.fxweaver.core.support;
+
+import javafx.fxml.FXML;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import net.rgielen.fxweaver.core.FxmlView;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * InjectedController.
+ *
+ * @author Rene Gielen
+ */
+@FxmlView
+public class InjectedController {
+
+    @FXML
+    private Pane left;
+
+    public Region right;
+
+    @FXML
+    private URL location;
+
+    @FXML
+    private ResourceBundle resources;
+
+    private final List<Object> events = new ArrayList<>();
+    private int initializations;
+
+    @FXML
+    private void initialize() {
+        initializations++;
+    }
+
+    @FXML
+    private void clicked(MouseEvent event) {
+        events.add(event);
+    }
+
+    @FXML
+    private void pressed() {
+        events.add("pressed");
+    }
+
+    public Pane getLeft() {
+        return left;
+    }
+
+    public URL getLocation() {
+        return location;
+    }
+
+    public ResourceBundle getResources() {
+        return resources;
+    }
+
+    public List<Object> getEvents() {
+        return events;
+    }
+
+    public int getInitializations() {
+        return initializations;
+    }
+
+}
@@ -0,0 +1,41 @@
+package net.rgielen.fxweaver.core.support;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.fxml.FXML;
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.FxDisposable;
+import net.rgielen.fxweaver.core.FxSubscriptions;
+import net.rgielen.fxweaver.core.FxmlView;
+
+/**
+ * ReloadableController.
+ *
+ * @author Rene Gielen
+ */
+@FxmlView
+public class ReloadableController implements FxDisposable {
+
+    @FXML
+    public Pane content;
+
+    public final StringProperty model = new SimpleStringProperty("initial");
+
+    public int initializations;
+    public int disposals;
+
+    private final FxSubscriptions subscriptions = new FxSubscriptions();
+
+    @FXML
+    public void initialize() {
+        initializations++;
+        subscriptions.bind(content.accessibleTextProperty(), model);
+    }
+
+    @Override
+    public void dispose() {
+        disposals++;
+        subscriptions.dispose();
+    }
+
+}
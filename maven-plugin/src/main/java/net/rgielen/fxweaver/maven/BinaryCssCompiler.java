@@ -0,0 +1,96 @@
+package net.rgielen.fxweaver.maven;
+
+import javafx.css.Stylesheet;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles all stylesheets referenced from the FXML files found in a classes directory to JavaFX binary CSS.
+ * <p/>
+ * Every <tt>foo.css</tt> gets a <tt>foo.bss</tt> sibling, which the JavaFX style manager picks up in place of the text
+ * variant at runtime. Binary stylesheets that are newer than their source are left untouched.
+ *
+ * @author Rene Gielen
+ */
+class BinaryCssCompiler {
+
+    private static final String CSS_EXTENSION = ".css";
+    private static final String BSS_EXTENSION = ".bss";
+
+    private final Path classesDirectory;
+
+    BinaryCssCompiler(Path classesDirectory) {
+        this.classesDirectory = classesDirectory;
+    }
+
+    /**
+     * @return The stylesheets that were compiled
+     * @throws IOException if reading FXML or converting CSS fails
+     */
+    List<Path> compile() throws IOException {
+        List<Path> compiled = new ArrayList<>();
+        for (Path stylesheet : findReferencedStylesheets()) {
+            Path binary = binarySibling(stylesheet);
+            if (Files.notExists(binary)
+                    || Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(stylesheet)) < 0) {
+                Stylesheet.convertToBinary(stylesheet.toFile(), binary.toFile());
+                compiled.add(stylesheet);
+            }
+        }
+        return compiled;
+    }
+
+    Set<Path> findReferencedStylesheets() throws IOException {
+        if (Files.notExists(classesDirectory)) {
+            return Set.of();
+        }
+        List<Path> fxmlFiles;
+        try (Stream<Path> files = Files.walk(classesDirectory)) {
+            fxmlFiles = files.filter(f -> f.getFileName().toString().endsWith(".fxml")).collect(Collectors.toList());
+        }
+        Set<Path> stylesheets = new LinkedHashSet<>();
+        for (Path fxmlFile : fxmlFiles) {
+            try (InputStream in = Files.newInputStream(fxmlFile)) {
+                for (String reference : StylesheetReferences.find(in)) {
+                    Path stylesheet = resolve(fxmlFile, reference);
+                    if (stylesheet != null && Files.isRegularFile(stylesheet)) {
+                        stylesheets.add(stylesheet);
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Unable to parse FXML file " + fxmlFile, e);
+            }
+        }
+        return stylesheets;
+    }
+
+    /**
+     * Resolve a stylesheet reference the way it would be resolved at runtime: <tt>@</tt> prefixed references relative
+     * to the FXML file, other references relative to the classpath root. References with a URL scheme are ignored.
+     */
+    Path resolve(Path fxmlFile, String reference) {
+        if (!reference.endsWith(CSS_EXTENSION) || reference.indexOf(':') >= 0) {
+            return null;
+        }
+        if (reference.startsWith("@")) {
+            return fxmlFile.resolveSibling(reference.substring(1)).normalize();
+        }
+        return classesDirectory.resolve(reference.startsWith("/") ? reference.substring(1) : reference).normalize();
+    }
+
+    private static Path binarySibling(Path stylesheet) {
+        String fileName = stylesheet.getFileName().toString();
+        return stylesheet.resolveSibling(
+                fileName.substring(0, fileName.length() - CSS_EXTENSION.length()) + BSS_EXTENSION);
+    }
+}
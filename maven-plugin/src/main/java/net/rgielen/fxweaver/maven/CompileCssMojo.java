@@ -0,0 +1,65 @@
+package net.rgielen.fxweaver.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compiles the stylesheets referenced from FXML views to JavaFX binary CSS (<tt>.bss</tt>), so that the views do not
+ * have to parse CSS text at runtime.
+ * <p/>
+ * JavaFX loads a <tt>.bss</tt> file found next to a referenced <tt>.css</tt> file transparently, so neither FXML
+ * files nor <tt>FxWeaver</tt> usage need to be changed. Usage:
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;net.rgielen&lt;/groupId&gt;
+ *     &lt;artifactId&gt;javafx-weaver-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;
+ *         &lt;execution&gt;
+ *             &lt;goals&gt;
+ *                 &lt;goal&gt;compile-css&lt;/goal&gt;
+ *             &lt;/goals&gt;
+ *         &lt;/execution&gt;
+ *     &lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * @author Rene Gielen
+ */
+@Mojo(name = "compile-css", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true)
+public class CompileCssMojo extends AbstractMojo {
+
+    /**
+     * The directory containing the compiled classes and resources, including FXML views and their stylesheets.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    /**
+     * Skip the binary CSS compilation.
+     */
+    @Parameter(property = "fxweaver.css.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping binary CSS compilation");
+            return;
+        }
+        try {
+            List<Path> compiled = new BinaryCssCompiler(classesDirectory.toPath()).compile();
+            compiled.forEach(stylesheet -> getLog().debug("Compiled " + stylesheet + " to binary CSS"));
+            getLog().info("Compiled " + compiled.size() + " stylesheet(s) to binary CSS");
+        } catch (IOException | RuntimeException e) {
+            throw new MojoExecutionException("Binary CSS compilation failed", e);
+        }
+    }
+}
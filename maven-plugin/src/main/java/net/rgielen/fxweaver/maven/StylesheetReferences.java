@@ -0,0 +1,79 @@
+package net.rgielen.fxweaver.maven;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Extracts the stylesheet references from a FXML document, as given in <tt>stylesheets</tt> attributes or as
+ * <tt>&lt;URL value="..."/&gt;</tt> elements within a <tt>&lt;stylesheets&gt;</tt> element.
+ *
+ * @author Rene Gielen
+ */
+final class StylesheetReferences {
+
+    private static final String STYLESHEETS = "stylesheets";
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    private StylesheetReferences() {
+    }
+
+    /**
+     * @param fxml The FXML document
+     * @return The stylesheet references found, as written in the document
+     */
+    static Set<String> find(InputStream fxml) throws XMLStreamException {
+        Set<String> references = new LinkedHashSet<>();
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(fxml);
+        try {
+            int stylesheetsDepth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (stylesheetsDepth > 0) {
+                        stylesheetsDepth++;
+                        addValueAttributes(reader, references);
+                    } else if (STYLESHEETS.equals(reader.getLocalName())) {
+                        stylesheetsDepth = 1;
+                    }
+                    addStylesheetsAttribute(reader, references);
+                } else if (event == XMLStreamConstants.END_ELEMENT && stylesheetsDepth > 0) {
+                    stylesheetsDepth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return references;
+    }
+
+    private static void addStylesheetsAttribute(XMLStreamReader reader, Set<String> references) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (STYLESHEETS.equals(reader.getAttributeLocalName(i))) {
+                for (String reference : reader.getAttributeValue(i).split(",")) {
+                    add(reference, references);
+                }
+            }
+        }
+    }
+
+    private static void addValueAttributes(XMLStreamReader reader, Set<String> references) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            // <URL value="..."/> as well as <String fx:value="..."/>
+            if ("value".equals(reader.getAttributeLocalName(i))) {
+                add(reader.getAttributeValue(i), references);
+            }
+        }
+    }
+
+    private static void add(String reference, Set<String> references) {
+        String trimmed = reference.trim();
+        if (!trimmed.isEmpty()) {
+            references.add(trimmed);
+        }
+    }
+}
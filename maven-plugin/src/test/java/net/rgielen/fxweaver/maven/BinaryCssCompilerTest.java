@@ -0,0 +1,66 @@
+package net.rgielen.fxweaver.maven;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryCssCompilerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path classes;
+
+    @Before
+    public void setUp() throws Exception {
+        classes = temporaryFolder.getRoot().toPath();
+        copy("views/View.fxml");
+        copy("views/view.css");
+        copy("theme.css");
+        copy("unreferenced.css");
+    }
+
+    @Test
+    public void findsStylesheetsReferencedFromFxml() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("views/View.fxml")) {
+            assertThat(StylesheetReferences.find(in))
+                    .containsExactly("@view.css", "/theme.css", "@missing.css", "http://example.com/remote.css");
+        }
+    }
+
+    @Test
+    public void compilesReferencedStylesheetsOnly() throws Exception {
+        List<Path> compiled = new BinaryCssCompiler(classes).compile();
+
+        assertThat(compiled).containsExactlyInAnyOrder(
+                classes.resolve("net/rgielen/fxweaver/maven/views/view.css"),
+                classes.resolve("theme.css"));
+        assertThat(classes.resolve("net/rgielen/fxweaver/maven/views/view.bss")).isRegularFile();
+        assertThat(classes.resolve("theme.bss")).isRegularFile();
+        assertThat(classes.resolve("unreferenced.bss")).doesNotExist();
+    }
+
+    @Test
+    public void upToDateStylesheetsAreNotCompiledAgain() throws Exception {
+        new BinaryCssCompiler(classes).compile();
+
+        assertThat(new BinaryCssCompiler(classes).compile()).isEmpty();
+    }
+
+    private void copy(String resource) throws Exception {
+        boolean packaged = resource.startsWith("views/");
+        Path target = packaged ? classes.resolve("net/rgielen/fxweaver/maven").resolve(resource) : classes.resolve(resource);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = getClass().getResourceAsStream(packaged ? resource : "/" + resource)) {
+            Files.copy(in, target);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package net.rgielen.fxweaver.render;
+
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import net.rgielen.fxweaver.core.FxControllerAndView;
+import net.rgielen.fxweaver.core.FxHeadlessToolkit;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * FxBatchRenderer renders woven views to PNG files in bulk, e.g. for generating report pages.
+ * <p/>
+ * Inputs are streamed from the calling thread. For every input, the view of the given controller is loaded, bound to
+ * the input, laid out and snapshot on the JavaFX application thread, while PNG encoding and file writes happen on a
+ * pool of worker threads. At most <tt>maxPendingImages</tt> inputs are in flight at any time, so that a slow disk
+ * throttles loading instead of filling the heap with snapshots.
+ * <p/>
+ * Example:
+ * <pre>
+ *     FxBatchRenderer.startHeadlessToolkit();
+ *     try (FxBatchRenderer renderer = new FxBatchRenderer(fxWeaver, 4, 16)) {
+ *         RenderResult&lt;Invoice&gt; result = renderer.render(InvoicePageController.class, invoices.stream(),
+ *                 InvoicePageController::show, invoice -&gt; outputDirectory.resolve(invoice.getNumber() + ".png"));
+ *     }
+ * </pre>
+ *
+ * @author Rene Gielen
+ */
+public class FxBatchRenderer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxBatchRenderer.class);
+
+    private final FxWeaver fxWeaver;
+    private final ExecutorService workers;
+    private final int maxPendingImages;
+    private double width = -1;
+    private double height = -1;
+    private Paint fill = Color.WHITE;
+    private int compressionLevel = Deflater.BEST_SPEED;
+
+    /**
+     * Create a renderer.
+     *
+     * @param fxWeaver         The weaver to load views with
+     * @param workerThreads    The number of threads encoding and writing images, usually the number of cores
+     * @param maxPendingImages The maximum number of inputs loaded, but not written yet
+     */
+    public FxBatchRenderer(FxWeaver fxWeaver, int workerThreads, int maxPendingImages) {
+        if (workerThreads < 1 || maxPendingImages < 1) {
+            throw new IllegalArgumentException("workerThreads and maxPendingImages must be positive");
+        }
+        this.fxWeaver = fxWeaver;
+        this.maxPendingImages = maxPendingImages;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, r -> {
+            Thread thread = new Thread(r, "fxweaver-render-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the JavaFX toolkit, headless on Monocle unless another glass platform is configured. Does nothing if the
+     * toolkit is running already.
+     *
+     * @throws InterruptedException if interrupted while waiting for the toolkit to start
+     * @see FxHeadlessToolkit#start()
+     */
+    public static void startHeadlessToolkit() throws InterruptedException {
+        FxHeadlessToolkit.start();
+    }
+
+    /**
+     * Render pages of a fixed size instead of the preferred size of their views.
+     *
+     * @param width  The page width in pixels
+     * @param height The page height in pixels
+     */
+    public void setSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @param fill The scene background, white by default
+     */
+    public void setFill(Paint fill) {
+        this.fill = fill;
+    }
+
+    /**
+     * @param compressionLevel The deflate level from 0 to 9, {@link Deflater#BEST_SPEED} by default
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Render a view per input and wait until all images are written. Failures to render single inputs are collected
+     * in the result rather than aborting the batch. Must not be called on the JavaFX application thread.
+     *
+     * @param controllerClass The controller class of the view to render
+     * @param inputs          The inputs to render, consumed lazily
+     * @param binder          Binds the controller of a freshly loaded view to an input, on the JavaFX application
+     *                        thread
+     * @param target          The file to write the image of an input to
+     * @param <C>             The controller type
+     * @param <T>             The input type
+     * @return The outcome of the batch
+     * @throws InterruptedException if interrupted while waiting for pending images
+     */
+    public <C, T> RenderResult<T> render(Class<C> controllerClass, Stream<T> inputs, BiConsumer<C, T> binder,
+                                         Function<T, Path> target) throws InterruptedException {
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Rendering would block the JavaFX application thread");
+        }
+        long start = System.nanoTime();
+        Semaphore pending = new Semaphore(maxPendingImages);
+        AtomicInteger rendered = new AtomicInteger();
+        ConcurrentLinkedQueue<RenderResult.Failure<T>> failures = new ConcurrentLinkedQueue<>();
+        PngEncoder encoder = new PngEncoder(compressionLevel);
+        for (Iterator<T> iterator = inputs.iterator(); iterator.hasNext(); ) {
+            T input = iterator.next();
+            pending.acquire();
+            Platform.runLater(() -> {
+                boolean handedOver = false;
+                try {
+                    Snapshot snapshot = snapshot(controllerClass, input, binder);
+                    workers.execute(() -> {
+                        try {
+                            write(encoder, snapshot, target.apply(input));
+                            rendered.incrementAndGet();
+                        } catch (Throwable t) {
+                            fail(failures, input, t);
+                        } finally {
+                            pending.release();
+                        }
+                    });
+                    handedOver = true;
+                } catch (Throwable t) {
+                    fail(failures, input, t);
+                } finally {
+                    if (!handedOver) {
+                        pending.release();
+                    }
+                }
+            });
+        }
+        // all permits are back once the last image is written
+        pending.acquire(maxPendingImages);
+        pending.release(maxPendingImages);
+        return new RenderResult<>(rendered.get(), failures, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private <C, T> Snapshot snapshot(Class<C> controllerClass, T input, BiConsumer<C, T> binder) {
+        FxControllerAndView<C, Node> controllerAndView = fxWeaver.load(controllerClass);
+        binder.accept(controllerAndView.getController(), input);
+        Node view = controllerAndView.getView()
+                .orElseThrow(() -> new IllegalStateException(controllerClass.getName() + " has no view"));
+        Parent root = view instanceof Parent ? (Parent) view : new Group(view);
+        Scene scene = width > 0 && height > 0 ? new Scene(root, width, height, fill) : new Scene(root, fill);
+        WritableImage image = scene.snapshot(null);
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        int[] argb = new int[w * h];
+        image.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+        // release the scene graph right away, only the pixels are handed over to the workers
+        scene.setRoot(new Group());
+        return new Snapshot(argb, w, h);
+    }
+
+    private static void write(PngEncoder encoder, Snapshot snapshot, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            encoder.encode(snapshot.argb, snapshot.width, snapshot.height, out);
+        }
+    }
+
+    private static <T> void fail(ConcurrentLinkedQueue<RenderResult.Failure<T>> failures, T input, Throwable t) {
+        LOG.warn("Unable to render {}", input, t);
+        failures.add(new RenderResult.Failure<>(input, t));
+    }
+
+    /**
+     * Shut down the worker threads.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private static final class Snapshot {
+
+        final int[] argb;
+        final int width;
+        final int height;
+
+        Snapshot(int[] argb, int width, int height) {
+            this.argb = argb;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
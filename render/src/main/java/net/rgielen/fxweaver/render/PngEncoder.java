@@ -0,0 +1,88 @@
+package net.rgielen.fxweaver.render;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal PNG encoder for 8 bit RGBA images, so that snapshots can be encoded on any thread without AWT or
+ * <tt>javafx-swing</tt>. Scanlines use the <tt>Sub</tt> filter, which compresses the large uniform areas typical for
+ * rendered user interfaces well at almost no cost.
+ *
+ * @author Rene Gielen
+ */
+final class PngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final int FILTER_SUB = 1;
+
+    private final int compressionLevel;
+
+    PngEncoder(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Encode non-premultiplied ARGB pixels.
+     *
+     * @param argb   The pixels, row by row
+     * @param width  The image width
+     * @param height The image height
+     * @param out    The stream to write the PNG to. It is not closed.
+     */
+    void encode(int[] argb, int width, int height, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8);  // bit depth
+        headerData.writeByte(6);  // color type RGBA
+        headerData.writeByte(0);  // deflate
+        headerData.writeByte(0);  // adaptive filtering
+        headerData.writeByte(0);  // no interlace
+        writeChunk(data, "IHDR", header.toByteArray(), header.size());
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(width * height);
+        Deflater deflater = new Deflater(compressionLevel);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater, 64 * 1024)) {
+            byte[] line = new byte[1 + width * 4];
+            line[0] = FILTER_SUB;
+            for (int y = 0; y < height; y++) {
+                int previous = 0;
+                for (int x = 0, i = 1; x < width; x++, i += 4) {
+                    int pixel = argb[y * width + x];
+                    line[i] = (byte) ((pixel >>> 16) - (previous >>> 16));
+                    line[i + 1] = (byte) ((pixel >>> 8) - (previous >>> 8));
+                    line[i + 2] = (byte) (pixel - previous);
+                    line[i + 3] = (byte) ((pixel >>> 24) - (previous >>> 24));
+                    previous = pixel;
+                }
+                deflate.write(line);
+            }
+        } finally {
+            deflater.end();
+        }
+        writeChunk(data, "IDAT", compressed.toByteArray(), compressed.size());
+        writeChunk(data, "IEND", new byte[0], 0);
+        data.flush();
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] content, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(content, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(content, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+}
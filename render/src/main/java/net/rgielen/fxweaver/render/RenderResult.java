@@ -0,0 +1,85 @@
+package net.rgielen.fxweaver.render;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The outcome of a {@link FxBatchRenderer#render} batch.
+ *
+ * @param <T> The input type
+ * @author Rene Gielen
+ */
+public final class RenderResult<T> {
+
+    private final int rendered;
+    private final List<Failure<T>> failures;
+    private final Duration elapsed;
+
+    RenderResult(int rendered, Collection<Failure<T>> failures, Duration elapsed) {
+        this.rendered = rendered;
+        this.failures = List.copyOf(failures);
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return The number of images written
+     */
+    public int getRendered() {
+        return rendered;
+    }
+
+    /**
+     * @return The inputs that could not be rendered, in no particular order
+     */
+    public List<Failure<T>> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return The wall clock time of the whole batch
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The number of images written per second
+     */
+    public double getThroughput() {
+        return elapsed.isZero() ? 0 : rendered * 1_000_000_000.0 / elapsed.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return "RenderResult{" +
+                "rendered=" + rendered +
+                ", failures=" + failures.size() +
+                ", elapsed=" + elapsed +
+                '}';
+    }
+
+    /**
+     * An input that could not be rendered.
+     *
+     * @param <T> The input type
+     */
+    public static final class Failure<T> {
+
+        private final T input;
+        private final Throwable cause;
+
+        Failure(T input, Throwable cause) {
+            this.input = input;
+            this.cause = cause;
+        }
+
+        public T getInput() {
+            return input;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package net.rgielen.fxweaver.render;
+
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxBatchRendererTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FxBatchRenderer renderer;
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxBatchRenderer.startHeadlessToolkit();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        FxWeaver fxWeaver = new FxWeaver(type -> {
+            try {
+                return type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }, () -> {});
+        renderer = new FxBatchRenderer(fxWeaver, 3, 4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        renderer.close();
+    }
+
+    @Test
+    public void everyInputIsRenderedToItsOwnPng() throws Exception {
+        Path output = folder.getRoot().toPath();
+
+        RenderResult<String> result = renderer.render(PageController.class,
+                IntStream.range(0, 20).mapToObj(i -> "page" + i), PageController::show,
+                page -> output.resolve("pages").resolve(page + ".png"));
+
+        assertThat(result.getRendered()).isEqualTo(20);
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getThroughput()).isPositive();
+        try (Stream<Path> files = Files.list(output.resolve("pages"))) {
+            assertThat(files.count()).isEqualTo(20);
+        }
+        BufferedImage image = ImageIO.read(output.resolve("pages/page7.png").toFile());
+        assertThat(image.getWidth()).isEqualTo(80);
+        assertThat(image.getHeight()).isEqualTo(40);
+        assertThat(image.getRGB(2, 2)).isEqualTo(0xffff0000);
+        assertThat(image.getRGB(40, 20)).isEqualTo(0xff0000ff);
+    }
+
+    @Test
+    public void failingInputsAreReportedWithoutAbortingTheBatch() throws Exception {
+        Path output = folder.getRoot().toPath();
+        renderer.setSize(50, 30);
+
+        RenderResult<String> result = renderer.render(PageController.class, Stream.of("a", "broken", "b"),
+                PageController::show, page -> output.resolve(page + ".png"));
+
+        assertThat(result.getRendered()).isEqualTo(2);
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getInput()).isEqualTo("broken");
+        assertThat(result.getFailures().get(0).getCause()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(ImageIO.read(output.resolve("a.png").toFile()).getWidth()).isEqualTo(50);
+        assertThat(output.resolve("broken.png")).doesNotExist();
+    }
+}
@@ -0,0 +1,17 @@
+package net.rgielen.fxweaver.render;
+
+import javafx.fxml.FXML;
+import javafx.scene.layout.Region;
+
+public class PageController {
+
+    @FXML
+    private Region marker;
+
+    public void show(String page) {
+        if (page.startsWith("broken")) {
+            throw new IllegalArgumentException("Cannot show " + page);
+        }
+        marker.setStyle("-fx-background-color: #0000ff;");
+    }
+}
@@ -2,6 +2,7 @@ package net.rgielen.fxweaver.samples.springboot.starter.application;
 
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import net.rgielen.fxweaver.core.FxTracer;
 import net.rgielen.fxweaver.core.FxWeaver;
 import net.rgielen.fxweaver.samples.springboot.starter.controller.MainWindow;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,9 +24,14 @@ public class PrimaryStageInitializer implements ApplicationListener<StageReadyEv
 
     @Override
     public void onApplicationEvent(StageReadyEvent event) {
-        Stage stage = event.stage;
-        Scene scene = new Scene(fxWeaver.loadView(MainWindow.class), 400, 300);
-        stage.setScene(scene);
-        stage.show();
+        FxTracer.Span span = FxTracer.begin("app", "StageReadyEvent");
+        try {
+            Stage stage = event.stage;
+            Scene scene = new Scene(fxWeaver.loadView(MainWindow.class), 400, 300);
+            stage.setScene(scene);
+            stage.show();
+        } finally {
+            span.close();
+        }
     }
 }
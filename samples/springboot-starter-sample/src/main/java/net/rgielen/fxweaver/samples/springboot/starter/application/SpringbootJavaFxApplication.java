@@ -3,7 +3,9 @@ package net.rgielen.fxweaver.samples.springboot.starter.application;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
+import net.rgielen.fxweaver.core.FxTracer;
 import net.rgielen.fxweaver.samples.springboot.starter.FxWeaverSpringBootStarterSampleApplication;
+import net.rgielen.fxweaver.spring.FxTraceApplicationStartup;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 
@@ -17,8 +19,10 @@ public class SpringbootJavaFxApplication extends Application {
 
     @Override
     public void init() throws Exception {
+        FxTracer.mark("app", "toolkit started");
         this.context = new SpringApplicationBuilder()
                 .sources(FxWeaverSpringBootStarterSampleApplication.class)
+                .applicationStartup(FxTraceApplicationStartup.create())
                 .run(getParameters().getRaw().toArray(new String[0]));
     }
 
@@ -2,8 +2,12 @@ package net.rgielen.fxweaver.spring.boot.autoconfigure;
 
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
+import net.rgielen.fxweaver.core.FxCoalescingExecutor;
 import net.rgielen.fxweaver.core.FxControllerAndView;
+import net.rgielen.fxweaver.core.FxControllerAndViewProvider;
 import net.rgielen.fxweaver.core.FxWeaver;
+import net.rgielen.fxweaver.spring.FxBeanDestructionTimer;
+import net.rgielen.fxweaver.spring.FxWindowScope;
 import net.rgielen.fxweaver.spring.InjectionPointLazyFxControllerAndViewResolver;
 import net.rgielen.fxweaver.spring.SpringFxWeaver;
 import org.springframework.beans.factory.InjectionPoint;
@@ -28,6 +32,18 @@ import org.springframework.context.annotation.Scope;
 })
 public class FxWeaverAutoConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean(FxWindowScope.class)
+    public static FxWindowScope fxWindowScope() {
+        return new FxWindowScope();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(FxBeanDestructionTimer.class)
+    public static FxBeanDestructionTimer fxBeanDestructionTimer() {
+        return new FxBeanDestructionTimer();
+    }
+
     @Bean
     @ConditionalOnMissingBean(FxWeaver.class)
     public FxWeaver fxWeaver(ConfigurableApplicationContext applicationContext) {
@@ -50,5 +66,21 @@ public class FxWeaverAutoConfiguration {
         return injectionPointLazyFxControllerAndViewResolver.resolve(injectionPoint);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(FxControllerAndViewProvider.class)
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public <C, V extends Node> FxControllerAndViewProvider<C, V> fxControllerAndViewProvider(
+            InjectionPointLazyFxControllerAndViewResolver injectionPointLazyFxControllerAndViewResolver,
+            InjectionPoint injectionPoint) {
+        return injectionPointLazyFxControllerAndViewResolver.resolveProvider(injectionPoint);
+    }
+
+    @Bean(destroyMethod = "unregisterMBean")
+    @ConditionalOnMissingBean(FxCoalescingExecutor.class)
+    public FxCoalescingExecutor fxCoalescingExecutor() {
+        FxCoalescingExecutor executor = new FxCoalescingExecutor();
+        executor.registerMBean();
+        return executor;
+    }
 
 }
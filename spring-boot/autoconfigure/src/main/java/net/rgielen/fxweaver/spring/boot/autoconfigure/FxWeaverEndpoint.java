@@ -0,0 +1,131 @@
+package net.rgielen.fxweaver.spring.boot.autoconfigure;
+
+import net.rgielen.fxweaver.core.FxLoadStatistics.ControllerStatistics;
+import net.rgielen.fxweaver.core.FxResourceCache;
+import net.rgielen.fxweaver.core.FxViewComplexity;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Actuator endpoint <tt>fxweaver</tt>, exposing the runtime statistics of a {@link FxWeaver}.
+ * <ul>
+ *     <li><tt>GET</tt> lists every controller class loaded so far, with its load count, median and 99th percentile
+ *     load time, FXML location, number of live controller instances and number of not yet loaded lazy views,
+ *     whether it is cached by a provider (and how many instances are queued) or shown in pooled windows, plus
+ *     interned values and view complexity where enabled, and the state of the resource cache</li>
+ *     <li><tt>DELETE</tt> clears all caches of the weaver</li>
+ *     <li><tt>POST</tt> prewarms the resource cache for the given comma separated <tt>controllers</tt>, or for all
+ *     controllers loaded so far if none are given; names that cannot be resolved to a class are reported as
+ *     <tt>unknown</tt> and skipped</li>
+ * </ul>
+ *
+ * @author Rene Gielen
+ */
+@Endpoint(id = "fxweaver")
+public class FxWeaverEndpoint {
+
+    private final FxWeaver fxWeaver;
+
+    public FxWeaverEndpoint(FxWeaver fxWeaver) {
+        this.fxWeaver = fxWeaver;
+    }
+
+    @ReadOperation
+    public Map<String, Object> fxweaver() {
+        List<Map<String, Object>> controllers = new ArrayList<>();
+        for (ControllerStatistics statistics : fxWeaver.getStatistics().getControllerStatistics()) {
+            Map<String, Object> controller = new LinkedHashMap<>();
+            controller.put("controllerClass", statistics.getControllerClass().getName());
+            controller.put("location", Optional.ofNullable(statistics.getLocation()).map(Object::toString).orElse(null));
+            controller.put("loadCount", statistics.getLoadCount());
+            controller.put("p50Millis", toMillis(statistics.getP50()));
+            controller.put("p99Millis", toMillis(statistics.getP99()));
+            controller.put("liveInstances", statistics.getLiveInstances());
+            controller.put("unmaterializedLazyInstances", statistics.getUnmaterializedLazyInstances());
+            controller.put("cached", statistics.isCached());
+            controller.put("queuedInstances", statistics.getQueuedInstances());
+            controller.put("pooled", statistics.isPooled());
+            controller.put("pooledWindows", statistics.getPooledWindows());
+            controller.put("internedValues", statistics.getInternedValues());
+            controller.put("complexity", Optional.ofNullable(statistics.getComplexity())
+                    .map(FxWeaverEndpoint::describe).orElse(null));
+            controllers.add(controller);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("controllers", controllers);
+        result.put("resourceCache", fxWeaver.getResourceCache().map(FxWeaverEndpoint::describe).orElse(null));
+        return result;
+    }
+
+    @DeleteOperation
+    public void clearCaches() {
+        fxWeaver.clearCaches();
+    }
+
+    @WriteOperation
+    public Map<String, Object> prewarm(@Nullable String controllers) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (fxWeaver.getResourceCache().isEmpty()) {
+            result.put("prewarming", List.of());
+            result.put("reason", "No resource cache configured");
+            return result;
+        }
+        List<Class<?>> controllerClasses = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        if (StringUtils.hasText(controllers)) {
+            for (String name : StringUtils.commaDelimitedListToStringArray(controllers)) {
+                try {
+                    controllerClasses.add(ClassUtils.resolveClassName(name.trim(), null));
+                } catch (IllegalArgumentException e) {
+                    unknown.add(name.trim());
+                }
+            }
+        } else {
+            fxWeaver.getStatistics().getControllerStatistics()
+                    .forEach(statistics -> controllerClasses.add(statistics.getControllerClass()));
+        }
+        fxWeaver.preload(controllerClasses.toArray(new Class<?>[0]));
+        List<String> names = new ArrayList<>();
+        controllerClasses.forEach(c -> names.add(c.getName()));
+        result.put("prewarming", names);
+        if (!unknown.isEmpty()) {
+            result.put("unknown", unknown);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> describe(FxResourceCache cache) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("images", cache.getImageCount());
+        description.put("bytes", cache.getImageBytes());
+        return description;
+    }
+
+    private static Map<String, Object> describe(FxViewComplexity complexity) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("views", complexity.getViews());
+        description.put("nodes", complexity.getNodeCount());
+        description.put("maxDepth", complexity.getMaxDepth());
+        description.put("listeners", complexity.getListenerCount());
+        description.put("bindings", complexity.getBindingCount());
+        description.put("estimatedBytes", complexity.getEstimatedBytes());
+        return description;
+    }
+
+    private static double toMillis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
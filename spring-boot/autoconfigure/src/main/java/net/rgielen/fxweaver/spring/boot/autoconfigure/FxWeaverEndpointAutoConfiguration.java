@@ -0,0 +1,34 @@
+package net.rgielen.fxweaver.spring.boot.autoconfigure;
+
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * FxWeaverEndpointAutoConfiguration, contributing the {@link FxWeaverEndpoint} when Spring Boot Actuator is present.
+ *
+ * @author Rene Gielen
+ */
+@Configuration
+@ConditionalOnClass({
+        Endpoint.class,
+        FxWeaver.class
+})
+@ConditionalOnAvailableEndpoint(endpoint = FxWeaverEndpoint.class)
+@AutoConfigureAfter(FxWeaverAutoConfiguration.class)
+public class FxWeaverEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(FxWeaver.class)
+    @ConditionalOnMissingBean(FxWeaverEndpoint.class)
+    public FxWeaverEndpoint fxWeaverEndpoint(FxWeaver fxWeaver) {
+        return new FxWeaverEndpoint(fxWeaver);
+    }
+
+}
@@ -0,0 +1,96 @@
+package net.rgielen.fxweaver.spring.boot.autoconfigure;
+
+import javafx.scene.layout.Pane;
+import net.rgielen.fxweaver.core.FxCoalescingExecutor;
+import net.rgielen.fxweaver.core.FxControllerAndView;
+import net.rgielen.fxweaver.core.FxControllerAndViewProvider;
+import net.rgielen.fxweaver.spring.boot.autoconfigure.FxWeaverEndpointTest.SimpleController;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxWeaverAutoConfigurationTest {
+
+    @Test
+    public void providerIsInjectedForGenericControllerType() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.register(FxWeaverAutoConfiguration.class, ProviderClient.class);
+            context.registerBean(SimpleController.class, definition -> definition.setScope(
+                    BeanDefinition.SCOPE_PROTOTYPE));
+            context.refresh();
+
+            FxControllerAndViewProvider<SimpleController, Pane> provider =
+                    context.getBean(ProviderClient.class).provider;
+            FxControllerAndView<SimpleController, Pane> first = provider.get();
+            FxControllerAndView<SimpleController, Pane> second = provider.get();
+
+            assertThat(provider.getControllerClass()).isEqualTo(SimpleController.class);
+            assertThat(provider.getQueueSize()).isEqualTo(FxControllerAndViewProvider.DEFAULT_QUEUE_SIZE);
+            assertThat(first.getController()).isNotSameAs(second.getController());
+            assertThat(first.getView()).isPresent();
+        }
+    }
+
+    @Test
+    public void providerDoesNotQueueSingletonController() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.register(FxWeaverAutoConfiguration.class, ProviderClient.class);
+            context.registerBean(SimpleController.class);
+            context.refresh();
+
+            FxControllerAndViewProvider<SimpleController, Pane> provider =
+                    context.getBean(ProviderClient.class).provider;
+            FxControllerAndView<SimpleController, Pane> first = provider.get();
+            FxControllerAndView<SimpleController, Pane> second = provider.get();
+
+            assertThat(provider.getQueueSize()).isZero();
+            assertThat(provider.getQueuedCount()).isZero();
+            assertThat(provider.getMissCount()).isEqualTo(2);
+            assertThat(first.getController()).isSameAs(second.getController());
+        }
+    }
+
+    @Test
+    public void coalescingExecutorIsRegisteredAsMBean() throws Exception {
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(FxWeaverAutoConfiguration.class)) {
+            context.getBean(FxCoalescingExecutor.class);
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(FxCoalescingExecutor.OBJECT_NAME);
+            assertThat(server.isRegistered(name)).isTrue();
+            assertThat(server.getAttribute(name, "SubmittedCount")).isEqualTo(0L);
+        }
+    }
+
+    @Test
+    public void coalescingExecutorMBeanIsUnregisteredWithItsContext() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(FxCoalescingExecutor.OBJECT_NAME);
+        try (AnnotationConfigApplicationContext first =
+                     new AnnotationConfigApplicationContext(FxWeaverAutoConfiguration.class)) {
+            try (AnnotationConfigApplicationContext second =
+                         new AnnotationConfigApplicationContext(FxWeaverAutoConfiguration.class)) {
+                first.close();
+
+                assertThat(server.isRegistered(name)).isTrue();
+            }
+            assertThat(server.isRegistered(name)).isFalse();
+        }
+    }
+
+    public static class ProviderClient {
+
+        final FxControllerAndViewProvider<SimpleController, Pane> provider;
+
+        public ProviderClient(FxControllerAndViewProvider<SimpleController, Pane> provider) {
+            this.provider = provider;
+        }
+    }
+}
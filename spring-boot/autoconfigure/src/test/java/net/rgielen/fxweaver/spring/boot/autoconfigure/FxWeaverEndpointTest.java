@@ -0,0 +1,57 @@
+package net.rgielen.fxweaver.spring.boot.autoconfigure;
+
+import net.rgielen.fxweaver.core.FxResourceCache;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxWeaverEndpointTest {
+
+    private final FxWeaver fxWeaver = new FxWeaver(c -> new SimpleController(), () -> {});
+    private final FxWeaverEndpoint endpoint = new FxWeaverEndpoint(fxWeaver);
+
+    @Test
+    public void readListsLoadedControllers() throws Exception {
+        fxWeaver.load(SimpleController.class);
+        fxWeaver.loadLazy(SimpleController.class);
+
+        Map<String, Object> result = endpoint.fxweaver();
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> controllers = (List<Map<String, Object>>) result.get("controllers");
+        assertThat(controllers).hasSize(1);
+        assertThat(controllers.get(0))
+                .containsEntry("controllerClass", SimpleController.class.getName())
+                .containsEntry("loadCount", 1L)
+                .containsEntry("liveInstances", 1)
+                .containsEntry("unmaterializedLazyInstances", 1)
+                .containsEntry("cached", false)
+                .containsEntry("pooled", false)
+                .containsKeys("p50Millis", "p99Millis");
+        assertThat(controllers.get(0).get("location").toString()).endsWith("SimpleController.fxml");
+        assertThat(result).containsEntry("resourceCache", null);
+    }
+
+    @Test
+    public void prewarmRequiresResourceCache() throws Exception {
+        assertThat(endpoint.prewarm(null)).containsEntry("prewarming", List.of()).containsKey("reason");
+    }
+
+    @Test
+    public void prewarmReportsUnknownControllers() throws Exception {
+        fxWeaver.setResourceCache(new FxResourceCache(1, 1024, Runnable::run));
+
+        Map<String, Object> result = endpoint.prewarm(SimpleController.class.getName() + ", com.example.Missing");
+
+        assertThat(result)
+                .containsEntry("prewarming", List.of(SimpleController.class.getName()))
+                .containsEntry("unknown", List.of("com.example.Missing"));
+    }
+
+    public static class SimpleController {
+    }
+}
@@ -0,0 +1,164 @@
+package net.rgielen.fxweaver.spring;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records when each bean's destruction starts while the context closes, so that beans slow to close can be reported,
+ * e.g. by {@link SpringFxWeaver} after {@link SpringFxWeaver#shutdown(Duration)}.
+ * <p/>
+ * Spring offers no callback once a bean has been destroyed, but destroys beans one after another. The time a bean
+ * took is therefore taken as the time until the destruction of the next bean started, and for the last bean as the
+ * time until now, covering a bean that is still busy closing.
+ * <p/>
+ * Recording starts once the timer is {@link #arm() armed}, which {@link SpringFxWeaver} does right before closing the
+ * context, so that beans destroyed while the application runs, e.g. {@link FxWindowScoped} beans of closed windows,
+ * are not recorded. Every singleton having a destroy method of its own is timed: beans implementing
+ * {@link DisposableBean} or {@link AutoCloseable}, declaring a <tt>@PreDestroy</tt> method, or defined with an
+ * explicit or inferred destroy method, such as <tt>shutdown()</tt> of an executor defined by a <tt>&#64;Bean</tt>
+ * method. The timer does not add destruction callbacks to any other bean.
+ * <p/>
+ * Beans taking at least the slow threshold, {@value #DEFAULT_SLOW_THRESHOLD_MILLIS} ms unless given on creation, are
+ * reported as {@link #getSlowBeans() slow}.
+ *
+ * @author Rene Gielen
+ */
+public class FxBeanDestructionTimer implements DestructionAwareBeanPostProcessor, MergedBeanDefinitionPostProcessor {
+
+    /**
+     * The time in milliseconds a bean has to take to close to count as slow by default.
+     */
+    public static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 100;
+
+    private static final ClassValue<Boolean> HAS_PRE_DESTROY_METHOD = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    for (Annotation annotation : method.getDeclaredAnnotations()) {
+                        if ("PreDestroy".equals(annotation.annotationType().getSimpleName())) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    };
+
+    private final Duration slowThreshold;
+    private final Set<String> destroyMethodBeanNames = ConcurrentHashMap.newKeySet();
+    private final Set<Object> destroyMethodBeans = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+    private final List<String> beanNames = new ArrayList<>();
+    private final List<Long> startTimes = new ArrayList<>();
+    private boolean armed;
+
+    /**
+     * Create a timer reporting beans taking {@value #DEFAULT_SLOW_THRESHOLD_MILLIS} ms or more as slow.
+     */
+    public FxBeanDestructionTimer() {
+        this(Duration.ofMillis(DEFAULT_SLOW_THRESHOLD_MILLIS));
+    }
+
+    /**
+     * Create a timer.
+     *
+     * @param slowThreshold The minimum time a bean has to take to close to count as slow
+     */
+    public FxBeanDestructionTimer(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    /**
+     * Start recording bean destructions, right before the context gets closed.
+     */
+    public synchronized void arm() {
+        armed = true;
+    }
+
+    @Override
+    public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+        if (beanDefinition.isSingleton() && hasDestroyMethod(beanDefinition, beanType)) {
+            destroyMethodBeanNames.add(beanName);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (destroyMethodBeanNames.remove(beanName)) {
+            destroyMethodBeans.add(bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return destroyMethodBeans.remove(bean) || bean instanceof DisposableBean || bean instanceof AutoCloseable
+                || HAS_PRE_DESTROY_METHOD.get(bean.getClass());
+    }
+
+    @Override
+    public synchronized void postProcessBeforeDestruction(Object bean, String beanName) {
+        if (armed) {
+            beanNames.add(beanName);
+            startTimes.add(System.nanoTime());
+        }
+    }
+
+    /**
+     * @return The destruction time of all beans destroyed since the timer was armed, in order of destruction
+     */
+    public synchronized Map<String, Duration> getDestructionTimes() {
+        Map<String, Duration> times = new LinkedHashMap<>();
+        for (int i = 0; i < beanNames.size(); i++) {
+            long end = i + 1 < startTimes.size() ? startTimes.get(i + 1) : System.nanoTime();
+            times.put(beanNames.get(i), Duration.ofNanos(end - startTimes.get(i)));
+        }
+        return times;
+    }
+
+    /**
+     * @return The destruction time of all beans taking at least the slow threshold given on creation, in order of
+     * destruction
+     */
+    public Map<String, Duration> getSlowBeans() {
+        return getSlowBeans(slowThreshold);
+    }
+
+    /**
+     * @param threshold The minimum time a bean has to take to count as slow
+     * @return The destruction time of all beans slower than the given threshold, in order of destruction
+     */
+    public Map<String, Duration> getSlowBeans(Duration threshold) {
+        Map<String, Duration> slow = getDestructionTimes();
+        slow.values().removeIf(time -> time.compareTo(threshold) < 0);
+        return slow;
+    }
+
+    private static boolean hasDestroyMethod(RootBeanDefinition beanDefinition, Class<?> beanType) {
+        String destroyMethodName = beanDefinition.getDestroyMethodName();
+        if (AbstractBeanDefinition.INFER_METHOD.equals(destroyMethodName)) {
+            // the methods Spring infers for beans defined by @Bean methods
+            return ClassUtils.hasMethod(beanType, "close") || ClassUtils.hasMethod(beanType, "shutdown");
+        }
+        return StringUtils.hasLength(destroyMethodName);
+    }
+}
@@ -0,0 +1,139 @@
+package net.rgielen.fxweaver.spring;
+
+import net.rgielen.fxweaver.core.FxTracer;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * An {@link ApplicationStartup} recording the startup steps of a Spring context, such as bean instantiation and
+ * context refresh, as spans of the {@link FxTracer} timeline.
+ * <p/>
+ * It has to be set before the context is refreshed, e.g. for Spring Boot:
+ * <pre>
+ * new SpringApplicationBuilder()
+ *         .sources(Application.class)
+ *         .applicationStartup(FxTraceApplicationStartup.create())
+ *         .run(args);
+ * </pre>
+ *
+ * @author Rene Gielen
+ */
+public class FxTraceApplicationStartup implements ApplicationStartup {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadLocal<Deque<TracedStep>> current = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * @return A tracing {@link ApplicationStartup} if {@link FxTracer} is enabled, {@link ApplicationStartup#DEFAULT}
+     * otherwise
+     */
+    public static ApplicationStartup create() {
+        return FxTracer.isEnabled() ? new FxTraceApplicationStartup() : ApplicationStartup.DEFAULT;
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        Deque<TracedStep> steps = current.get();
+        TracedStep parent = steps.peek();
+        TracedStep step = new TracedStep(name, ids.incrementAndGet(), parent != null ? parent.id : null);
+        steps.push(step);
+        return step;
+    }
+
+    private class TracedStep implements StartupStep {
+
+        private final String name;
+        private final long id;
+        private final Long parentId;
+        private final FxTracer.Span span;
+        private final List<Tag> tags = new ArrayList<>();
+
+        TracedStep(String name, long id, Long parentId) {
+            this.name = name;
+            this.id = id;
+            this.parentId = parentId;
+            this.span = FxTracer.begin("spring", name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            tags.add(new SimpleTag(key, value));
+            span.arg(key, value);
+            if ("beanName".equals(key)) {
+                span.name(value);
+            }
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public Tags getTags() {
+            return tags::iterator;
+        }
+
+        @Override
+        public void end() {
+            span.close();
+            Deque<TracedStep> steps = current.get();
+            // steps are ended in reverse order of starting, remove defensively if not
+            Iterator<TracedStep> iterator = steps.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() == this) {
+                    iterator.remove();
+                    break;
+                }
+            }
+            if (steps.isEmpty()) {
+                current.remove();
+            }
+        }
+    }
+
+    private static class SimpleTag implements StartupStep.Tag {
+
+        private final String key;
+        private final String value;
+
+        SimpleTag(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+    }
+}
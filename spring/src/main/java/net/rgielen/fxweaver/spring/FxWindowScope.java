@@ -0,0 +1,259 @@
+package net.rgielen.fxweaver.spring;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Spring {@link Scope} binding controller beans and the views woven for them to the lifetime of the JavaFX
+ * {@link Window} the view ends up in.
+ * <p/>
+ * Every {@link SpringFxWeaver#load(Class)} call opens a new window context. All beans of scope
+ * {@value #SCOPE_FXWINDOW} created while loading - the requested controller as well as controllers of included FXML
+ * views - belong to that context. Once the loaded view is attached to a window, the context is bound to it. When the
+ * window gets hidden, e.g. by {@link javafx.stage.Stage#close()}, all beans of the context are destroyed and their
+ * destruction callbacks are run, so no reference to controllers and views is left behind.
+ * <p/>
+ * Beans are destroyed once the events pending when the window got hidden have been processed, so that a window hidden
+ * and shown again right away keeps its beans. Windows that are hidden for a while and shown again later on, e.g.
+ * minimized to a tray icon, must not hold views of <tt>fxWindow</tt> scoped controllers, since these would be left
+ * with destroyed controllers.
+ * <p/>
+ * Views that never get attached to a window are not tracked at all and become eligible for garbage collection together
+ * with their controllers, without any destruction callbacks being run.
+ * <p/>
+ * Since the scope registers itself as soon as its instance is declared as bean, this is all that is needed:
+ * <pre>
+ * &#64;Bean
+ * public static FxWindowScope fxWindowScope() {
+ *     return new FxWindowScope();
+ * }
+ * </pre>
+ * Controllers may then be declared as
+ * <pre>
+ * &#64;Component
+ * &#64;FxWindowScoped
+ * &#64;FxmlView
+ * public class SomeDialog {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxWindowScoped
+ * @see SpringFxWeaver
+ */
+public class FxWindowScope implements Scope, BeanFactoryPostProcessor, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FxWindowScope.class);
+
+    /**
+     * The name of the window scope.
+     */
+    public static final String SCOPE_FXWINDOW = "fxWindow";
+
+    private final ThreadLocal<Deque<WindowContext>> loading = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Set<WindowContext> bound = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        beanFactory.registerScope(SCOPE_FXWINDOW, this);
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        Map<String, Object> beans = currentContext().beans;
+        Object bean = beans.get(name);
+        if (bean == null) {
+            // no computeIfAbsent here, since creating a bean may create further beans of this scope
+            bean = objectFactory.getObject();
+            beans.put(name, bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public Object remove(String name) {
+        WindowContext context = currentContext();
+        context.destructionCallbacks.remove(name);
+        return context.beans.remove(name);
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        currentContext().destructionCallbacks.put(name, callback);
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+        return null;
+    }
+
+    @Override
+    public String getConversationId() {
+        WindowContext context = loading.get().peek();
+        return context != null ? context.toString() : null;
+    }
+
+    /**
+     * Open a new window context for the current thread. Every call has to be followed by a call to
+     * {@link #end(Node)}, usually in a <tt>finally</tt> block.
+     */
+    public void begin() {
+        loading.get().push(new WindowContext());
+    }
+
+    /**
+     * Close the window context opened by the last call to {@link #begin()} and bind it to the window the given view
+     * is, or will be, attached to.
+     *
+     * @param view The view loaded within the context. May be <tt>null</tt>, in which case the beans of the context are
+     *             left alone.
+     */
+    public void end(Node view) {
+        Deque<WindowContext> contexts = loading.get();
+        WindowContext context = contexts.pop();
+        if (contexts.isEmpty()) {
+            loading.remove();
+        }
+        if (context.beans.isEmpty()) {
+            return;
+        }
+        if (view == null) {
+            LOG.debug("No view to bind {} scoped beans {} to", SCOPE_FXWINDOW, context.beans.keySet());
+            return;
+        }
+        new WindowAttachment(context, view).attach();
+    }
+
+    /**
+     * The number of window contexts currently bound to a window.
+     */
+    public int getBoundContextCount() {
+        return bound.size();
+    }
+
+    /**
+     * Destroy all beans bound to a window that is still open.
+     */
+    @Override
+    public void destroy() {
+        List<WindowContext> contexts = new ArrayList<>(bound);
+        bound.clear();
+        contexts.forEach(WindowContext::destroy);
+    }
+
+    private WindowContext currentContext() {
+        WindowContext context = loading.get().peek();
+        if (context == null) {
+            throw new IllegalStateException("No " + SCOPE_FXWINDOW + " scope active for the current thread. Beans of "
+                    + "this scope have to be obtained through " + FxWeaver.class.getSimpleName() + "#load");
+        }
+        return context;
+    }
+
+    private void bind(WindowContext context, Window window) {
+        bound.add(context);
+        window.addEventHandler(WindowEvent.WINDOW_HIDDEN, new EventHandler<WindowEvent>() {
+            @Override
+            public void handle(WindowEvent event) {
+                // a window shown again right away, e.g. by hide() followed by show(), keeps its beans
+                Platform.runLater(() -> {
+                    if (window.isShowing()) {
+                        return;
+                    }
+                    window.removeEventHandler(WindowEvent.WINDOW_HIDDEN, this);
+                    if (bound.remove(context)) {
+                        LOG.debug("Window {} hidden, destroying {} scoped beans {}", window, SCOPE_FXWINDOW,
+                                context.beans.keySet());
+                        context.destroy();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * The beans belonging to a single window.
+     */
+    static class WindowContext {
+
+        final Map<String, Object> beans = new LinkedHashMap<>();
+        final Map<String, Runnable> destructionCallbacks = new LinkedHashMap<>();
+
+        void destroy() {
+            List<Runnable> callbacks = new ArrayList<>(destructionCallbacks.values());
+            destructionCallbacks.clear();
+            beans.clear();
+            for (int i = callbacks.size() - 1; i >= 0; i--) {
+                try {
+                    callbacks.get(i).run();
+                } catch (RuntimeException e) {
+                    LOG.warn("Destruction callback of " + SCOPE_FXWINDOW + " scoped bean failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows a view into its scene and the scene into its window, and binds the window context once a window is
+     * reached. The view holds the only reference to the attachment, so unattached views stay collectable.
+     */
+    private class WindowAttachment implements ChangeListener<Scene> {
+
+        private final WindowContext context;
+        private final Node view;
+        private final ChangeListener<Window> windowListener = this::windowChanged;
+
+        WindowAttachment(WindowContext context, Node view) {
+            this.context = context;
+            this.view = view;
+        }
+
+        void attach() {
+            view.sceneProperty().addListener(this);
+            changed(view.sceneProperty(), null, view.getScene());
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends Scene> observable, Scene oldScene, Scene newScene) {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(windowListener);
+            }
+            if (newScene != null) {
+                newScene.windowProperty().addListener(windowListener);
+                windowChanged(newScene.windowProperty(), null, newScene.getWindow());
+            }
+        }
+
+        private void windowChanged(ObservableValue<? extends Window> observable, Window oldWindow, Window newWindow) {
+            if (newWindow != null) {
+                observable.removeListener(windowListener);
+                view.sceneProperty().removeListener(this);
+                bind(context, newWindow);
+            }
+        }
+    }
+}
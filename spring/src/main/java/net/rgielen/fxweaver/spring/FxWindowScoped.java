@@ -0,0 +1,25 @@
+package net.rgielen.fxweaver.spring;
+
+import org.springframework.context.annotation.Scope;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shortcut for <tt>&#64;Scope("fxWindow")</tt>, binding a controller bean to the lifetime of the window its view is
+ * shown in.
+ * <p/>
+ * Requires a {@link FxWindowScope} to be registered, which the Spring Boot auto-configuration does by default.
+ *
+ * @author Rene Gielen
+ * @see FxWindowScope
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Scope(FxWindowScope.SCOPE_FXWINDOW)
+public @interface FxWindowScoped {
+}
@@ -1,12 +1,21 @@
 package net.rgielen.fxweaver.spring;
 
+import javafx.application.Platform;
 import javafx.scene.Node;
 import net.rgielen.fxweaver.core.FxControllerAndView;
+import net.rgielen.fxweaver.core.FxControllerAndViewProvider;
 import net.rgielen.fxweaver.core.FxWeaver;
 import net.rgielen.fxweaver.core.LazyFxControllerAndView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InjectionPoint;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.core.ResolvableType;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -43,20 +52,33 @@ import java.util.Optional;
  *     }
  * }
  * </pre>
+ * <p>
+ * {@link FxControllerAndViewProvider}s resolved for controllers that are not prototype scoped beans load every
+ * instance on demand, since queued instances would share the controller and overwrite its <tt>@FXML</tt> fields with
+ * views nobody has asked for yet.
  *
  * @author <a href="mailto:rene.gielen@gmail.com">Rene Gielen</a>
  */
-public class InjectionPointLazyFxControllerAndViewResolver {
+public class InjectionPointLazyFxControllerAndViewResolver implements BeanFactoryAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InjectionPointLazyFxControllerAndViewResolver.class);
 
     private final FxWeaver fxWeaver;
+    private BeanFactory beanFactory;
 
     public InjectionPointLazyFxControllerAndViewResolver(FxWeaver fxWeaver) {
         this.fxWeaver = fxWeaver;
     }
 
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
     /**
      * Resolve generic type classes of a {@link FxControllerAndView} {@link InjectionPoint} and return a
-     * {@link LazyFxControllerAndView} embedding the {@link FxWeaver#load(Class)} method for instance creation.
+     * {@link LazyFxControllerAndView} embedding the {@link FxWeaver#load(Class)} method for instance creation, as
+     * provided by {@link FxWeaver#loadLazy(Class)}.
      *
      * @param injectionPoint the actual injection point for the {@link FxControllerAndView} to inject
      * @throws IllegalArgumentException when types could not be resolved from the given injection point
@@ -69,13 +91,50 @@ public class InjectionPointLazyFxControllerAndViewResolver {
         }
         try {
             Class<C> controllerClass = (Class<C>) resolvableType.getGenerics()[0].resolve();
-            return new LazyFxControllerAndView<>(() -> fxWeaver.load(controllerClass));
+            return fxWeaver.loadLazy(controllerClass);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    "Generic controller type not resolvable for injection point " + injectionPoint, e);
+        }
+    }
+
+    /**
+     * Resolve generic type classes of a {@link FxControllerAndViewProvider} {@link InjectionPoint} and return a
+     * provider handing out new instances, as provided by {@link FxWeaver#provider(Class)}. Instances are queued ahead
+     * of time only if the controller is a prototype scoped bean of the bean factory this resolver is defined in.
+     *
+     * @param injectionPoint the actual injection point for the {@link FxControllerAndViewProvider} to inject
+     * @throws IllegalArgumentException when types could not be resolved from the given injection point
+     * @noinspection unchecked
+     */
+    public <C, V extends Node> FxControllerAndViewProvider<C, V> resolveProvider(InjectionPoint injectionPoint) {
+        ResolvableType resolvableType = findResolvableType(injectionPoint);
+        if (resolvableType == null) {
+            throw new IllegalArgumentException("No ResolvableType found");
+        }
+        try {
+            Class<C> controllerClass = (Class<C>) resolvableType.getGenerics()[0].resolve();
+            if (isPrototype(controllerClass)) {
+                return fxWeaver.provider(controllerClass);
+            }
+            LOG.warn("Controller {} is not a prototype scoped bean, {} loads every instance on demand",
+                    controllerClass.getName(), FxControllerAndViewProvider.class.getSimpleName());
+            return new FxControllerAndViewProvider<>(fxWeaver, controllerClass, 0, Platform::runLater);
         } catch (Exception e) {
             throw new IllegalArgumentException(
                     "Generic controller type not resolvable for injection point " + injectionPoint, e);
         }
     }
 
+    private boolean isPrototype(Class<?> controllerClass) {
+        if (!(beanFactory instanceof ListableBeanFactory)) {
+            return false;
+        }
+        String[] beanNames = BeanFactoryUtils.beanNamesForTypeIncludingAncestors(
+                (ListableBeanFactory) beanFactory, controllerClass);
+        return beanNames.length > 0 && Arrays.stream(beanNames).allMatch(beanFactory::isPrototype);
+    }
+
     private ResolvableType findResolvableType(InjectionPoint injectionPoint) {
         return Optional.ofNullable(injectionPoint.getMethodParameter())
                 .map(ResolvableType::forMethodParameter)
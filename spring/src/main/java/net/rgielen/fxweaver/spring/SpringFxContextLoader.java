@@ -1,12 +1,16 @@
 package net.rgielen.fxweaver.spring;
 
 import net.rgielen.fxweaver.core.FxContextLoader;
+import net.rgielen.fxweaver.core.FxTracer;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import java.util.function.Supplier;
 
 /**
  * SpringFxContextLoader.
+ * <p/>
+ * Starting the context is recorded as span of the {@link FxTracer} timeline. For a breakdown of the context refresh,
+ * create the context with a {@link FxTraceApplicationStartup}.
  *
  * @author Rene Gielen
  */
@@ -20,7 +24,12 @@ public class SpringFxContextLoader extends FxContextLoader<SpringFxWeaver> {
 
     @Override
     public SpringFxWeaver start() {
-        ConfigurableApplicationContext context = contextLoader.get();
-        return context.getBean(SpringFxWeaver.class);
+        FxTracer.Span span = FxTracer.begin("spring", "SpringFxContextLoader.start");
+        try {
+            ConfigurableApplicationContext context = contextLoader.get();
+            return context.getBean(SpringFxWeaver.class);
+        } finally {
+            span.close();
+        }
     }
 }
@@ -1,21 +1,81 @@
 package net.rgielen.fxweaver.spring;
 
+import javafx.scene.Node;
+import net.rgielen.fxweaver.core.FxControllerAndView;
 import net.rgielen.fxweaver.core.FxWeaver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.Scope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.ResourceBundle;
+
 /**
  * SpringFxmlLoader is a Spring-powered version of FxWeaver.
+ * <p/>
+ * If a {@link FxWindowScope} is registered with the given context, every load opens a new window context, binding
+ * {@link FxWindowScoped} controllers to the window their view is shown in.
+ * <p/>
+ * If a {@link FxBeanDestructionTimer} is registered with the given context, {@link #shutdown(Duration)} reports beans
+ * that were slow to close, as configured by the timer.
  *
  * @author Rene Gielen
  */
 @Component
 public class SpringFxWeaver extends FxWeaver {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SpringFxWeaver.class);
+
+    private final FxWindowScope windowScope;
+    private final FxBeanDestructionTimer destructionTimer;
+
     @Autowired
     public SpringFxWeaver(ConfigurableApplicationContext context) {
-        super(context::getBean, context::close);
+        this(context, context.getBeanProvider(FxBeanDestructionTimer.class).getIfAvailable());
+    }
+
+    private SpringFxWeaver(ConfigurableApplicationContext context, FxBeanDestructionTimer destructionTimer) {
+        super(context::getBean, () -> {
+            if (destructionTimer != null) {
+                destructionTimer.arm();
+            }
+            context.close();
+        });
+        Scope scope = context.getBeanFactory().getRegisteredScope(FxWindowScope.SCOPE_FXWINDOW);
+        this.windowScope = scope instanceof FxWindowScope ? (FxWindowScope) scope : null;
+        this.destructionTimer = destructionTimer;
+    }
+
+    @Override
+    protected <C, V extends Node> FxControllerAndView<C, V> load(Class<C> controllerClass,
+                                                                 String location,
+                                                                 ResourceBundle resourceBundle) {
+        if (windowScope == null) {
+            return super.load(controllerClass, location, resourceBundle);
+        }
+        FxControllerAndView<C, V> controllerAndView = null;
+        windowScope.begin();
+        try {
+            controllerAndView = super.load(controllerClass, location, resourceBundle);
+            return controllerAndView;
+        } finally {
+            windowScope.end(controllerAndView != null ? controllerAndView.getView().orElse(null) : null);
+        }
+    }
+
+    @Override
+    protected void reportShutdown(Duration elapsed, Thread stuck) {
+        super.reportShutdown(elapsed, stuck);
+        if (destructionTimer != null) {
+            Map<String, Duration> slowBeans = destructionTimer.getSlowBeans();
+            if (!slowBeans.isEmpty()) {
+                LOG.warn("Beans slow to close: {}", slowBeans);
+            }
+        }
     }
 
 }
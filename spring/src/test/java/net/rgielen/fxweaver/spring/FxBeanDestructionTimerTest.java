@@ -0,0 +1,150 @@
+package net.rgielen.fxweaver.spring;
+
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxBeanDestructionTimerTest {
+
+    @Test
+    public void slowBeansAreReportedInOrderOfDestruction() throws Exception {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TimedConfiguration.class);
+        FxBeanDestructionTimer timer = context.getBean(FxBeanDestructionTimer.class);
+
+        timer.arm();
+        context.close();
+
+        assertThat(timer.getDestructionTimes()).containsKeys("fastBean", "slowBean", "inferredPool", "explicitPool");
+        // the last bean destroyed, fastBean, is timed until now
+        assertThat(timer.getSlowBeans(Duration.ofMillis(50)))
+                .containsKeys("slowBean", "inferredPool")
+                .doesNotContainKey("explicitPool");
+        assertThat(timer.getSlowBeans())
+                .containsKeys("slowBean", "inferredPool")
+                .doesNotContainKey("explicitPool");
+    }
+
+    @Test
+    public void beansDestroyedBeforeShutdownAreNotReported() throws Exception {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TimedConfiguration.class);
+        FxBeanDestructionTimer timer = context.getBean(FxBeanDestructionTimer.class);
+        FxWindowScope scope = context.getBean(FxWindowScope.class);
+        SpringFxWeaver fxWeaver = notExitingFxWeaver(context);
+
+        scope.begin();
+        Closeable windowBean = context.getBean("windowBean", Closeable.class);
+        context.getBeanFactory().destroyScopedBean("windowBean");
+        scope.end(null);
+
+        assertThat(windowBean.closed).isTrue();
+        assertThat(timer.getDestructionTimes()).isEmpty();
+
+        fxWeaver.shutdown(Duration.ofSeconds(5)).get();
+
+        assertThat(timer.getDestructionTimes()).containsKeys("fastBean", "slowBean").doesNotContainKey("windowBean");
+    }
+
+    @Test
+    public void beansWithoutDestructionCallbacksAreNotTimed() throws Exception {
+        FxBeanDestructionTimer timer = new FxBeanDestructionTimer();
+
+        assertThat(timer.requiresDestruction(new Object())).isFalse();
+        assertThat(timer.requiresDestruction(new Closeable(0))).isTrue();
+    }
+
+    @Test
+    public void springFxWeaverShutdownClosesContext() throws Exception {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TimedConfiguration.class);
+        SpringFxWeaver fxWeaver = notExitingFxWeaver(context);
+
+        fxWeaver.shutdown(Duration.ofSeconds(5)).get();
+
+        assertThat(context.isActive()).isFalse();
+    }
+
+    private static SpringFxWeaver notExitingFxWeaver(AnnotationConfigApplicationContext context) {
+        return new SpringFxWeaver(context) {
+            @Override
+            protected void exitPlatform() {
+                // other tests of this JVM need the toolkit
+            }
+        };
+    }
+
+    @Configuration
+    static class TimedConfiguration {
+
+        @Bean
+        static FxBeanDestructionTimer fxBeanDestructionTimer() {
+            return new FxBeanDestructionTimer(Duration.ofMillis(80));
+        }
+
+        @Bean(destroyMethod = "close")
+        Closeable fastBean() {
+            return new Closeable(0);
+        }
+
+        @Bean(destroyMethod = "close")
+        Closeable slowBean() {
+            return new Closeable(100);
+        }
+
+        @Bean
+        Pool inferredPool() {
+            return new Pool(100);
+        }
+
+        @Bean(destroyMethod = "release")
+        Pool explicitPool() {
+            return new Pool(0);
+        }
+
+        @Bean
+        static FxWindowScope fxWindowScope() {
+            return new FxWindowScope();
+        }
+
+        @Bean
+        @FxWindowScoped
+        Closeable windowBean() {
+            return new Closeable(0);
+        }
+    }
+
+    static class Closeable implements AutoCloseable {
+
+        private final long closeMillis;
+        volatile boolean closed;
+
+        Closeable(long closeMillis) {
+            this.closeMillis = closeMillis;
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            Thread.sleep(closeMillis);
+            closed = true;
+        }
+    }
+
+    static class Pool {
+
+        private final long shutdownMillis;
+
+        Pool(long shutdownMillis) {
+            this.shutdownMillis = shutdownMillis;
+        }
+
+        public void shutdown() throws InterruptedException {
+            Thread.sleep(shutdownMillis);
+        }
+
+        public void release() {
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package net.rgielen.fxweaver.spring;
+
+import org.junit.Test;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FxTraceApplicationStartupTest {
+
+    @Test
+    public void createFallsBackToDefaultWhenTracingIsDisabled() throws Exception {
+        assertThat(FxTraceApplicationStartup.create()).isSameAs(ApplicationStartup.DEFAULT);
+    }
+
+    @Test
+    public void stepsAreNestedPerThread() throws Exception {
+        FxTraceApplicationStartup startup = new FxTraceApplicationStartup();
+        StartupStep refresh = startup.start("spring.context.refresh");
+        StartupStep bean = startup.start("spring.beans.instantiate").tag("beanName", "someBean");
+        bean.end();
+        StartupStep sibling = startup.start("spring.beans.instantiate");
+        sibling.end();
+        refresh.end();
+
+        assertThat(refresh.getParentId()).isNull();
+        assertThat(bean.getParentId()).isEqualTo(refresh.getId());
+        assertThat(sibling.getParentId()).isEqualTo(refresh.getId());
+        assertThat(bean.getTags()).extracting(StartupStep.Tag::getValue).containsExactly("someBean");
+        assertThat(startup.start("next").getParentId()).isNull();
+    }
+}
@@ -0,0 +1,205 @@
+package net.rgielen.fxweaver.spring;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import net.rgielen.fxweaver.core.FxCodeView;
+import net.rgielen.fxweaver.core.FxHeadlessToolkit;
+import net.rgielen.fxweaver.core.FxViewFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FxWindowScopeTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    @BeforeClass
+    public static void startToolkit() throws Exception {
+        FxHeadlessToolkit.start();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        context = new AnnotationConfigApplicationContext(WindowScopeConfiguration.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Test
+    public void beansAreNotAvailableOutsideOfLoad() throws Exception {
+        assertThatThrownBy(() -> context.getBean(WindowScopedBean.class))
+                .isInstanceOf(BeanCreationException.class);
+    }
+
+    @Test
+    public void beansAreSharedWithinOneWindowContext() throws Exception {
+        FxWindowScope scope = context.getBean(FxWindowScope.class);
+        scope.begin();
+        WindowScopedBean first = context.getBean(WindowScopedBean.class);
+        WindowScopedBean second = context.getBean(WindowScopedBean.class);
+        scope.end(null);
+        scope.begin();
+        WindowScopedBean third = context.getBean(WindowScopedBean.class);
+        scope.end(null);
+
+        assertThat(first).isSameAs(second);
+        assertThat(third).isNotSameAs(first);
+        assertThat(scope.getBoundContextCount()).isZero();
+    }
+
+    @Test
+    public void springFxWeaverOpensWindowContextPerLoad() throws Exception {
+        SpringFxWeaver fxWeaver = new SpringFxWeaver(context);
+        WindowScopedBean first = fxWeaver.loadController(WindowScopedBean.class);
+        WindowScopedBean second = fxWeaver.loadController(WindowScopedBean.class);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull().isNotSameAs(first);
+    }
+
+    @Test
+    public void destroyRunsCallbacksInReverseOrder() throws Exception {
+        List<String> destroyed = new ArrayList<>();
+        FxWindowScope.WindowContext windowContext = new FxWindowScope.WindowContext();
+        windowContext.beans.put("a", new Object());
+        windowContext.beans.put("b", new Object());
+        windowContext.destructionCallbacks.put("a", () -> destroyed.add("a"));
+        windowContext.destructionCallbacks.put("b", () -> destroyed.add("b"));
+
+        windowContext.destroy();
+
+        assertThat(destroyed).containsExactly("b", "a");
+        assertThat(windowContext.beans).isEmpty();
+    }
+
+    @Test
+    public void beansAreDestroyedWhenWindowIsHidden() throws Exception {
+        SpringFxWeaver fxWeaver = new SpringFxWeaver(context);
+        FxWindowScope scope = context.getBean(FxWindowScope.class);
+
+        WindowScopedView controller = onFxThread(() -> {
+            WindowScopedView windowScopedView = fxWeaver.loadController(WindowScopedView.class);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(windowScopedView.view));
+            stage.show();
+            return windowScopedView;
+        });
+        onFxThread(() -> null);
+
+        assertThat(scope.getBoundContextCount()).isEqualTo(1);
+        assertThat(controller.destroyed).isFalse();
+
+        onFxThread(() -> {
+            controller.view.getScene().getWindow().hide();
+            return null;
+        });
+        onFxThread(() -> null);
+
+        assertThat(scope.getBoundContextCount()).isZero();
+        assertThat(controller.destroyed).isTrue();
+    }
+
+    @Test
+    public void beansSurviveWindowShownAgainRightAway() throws Exception {
+        SpringFxWeaver fxWeaver = new SpringFxWeaver(context);
+        FxWindowScope scope = context.getBean(FxWindowScope.class);
+
+        WindowScopedView controller = onFxThread(() -> {
+            WindowScopedView windowScopedView = fxWeaver.loadController(WindowScopedView.class);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(windowScopedView.view));
+            stage.show();
+            stage.hide();
+            stage.show();
+            return windowScopedView;
+        });
+        onFxThread(() -> null);
+
+        assertThat(scope.getBoundContextCount()).isEqualTo(1);
+        assertThat(controller.destroyed).isFalse();
+
+        onFxThread(() -> {
+            controller.view.getScene().getWindow().hide();
+            return null;
+        });
+        onFxThread(() -> null);
+
+        assertThat(controller.destroyed).isTrue();
+    }
+
+    private static <T> T onFxThread(Callable<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    @Configuration
+    static class WindowScopeConfiguration {
+
+        @Bean
+        public static FxWindowScope fxWindowScope() {
+            return new FxWindowScope();
+        }
+
+        @Bean
+        @FxWindowScoped
+        public WindowScopedBean windowScopedBean() {
+            return new WindowScopedBean();
+        }
+
+        @Bean
+        @FxWindowScoped
+        public WindowScopedView windowScopedView() {
+            return new WindowScopedView();
+        }
+    }
+
+    static class WindowScopedBean {
+
+    }
+
+    @FxCodeView
+    static class WindowScopedView implements FxViewFactory<WindowScopedView, Pane>, DisposableBean {
+
+        Pane view;
+        volatile boolean destroyed;
+
+        @Override
+        public Pane createView(WindowScopedView controller, ResourceBundle resourceBundle) {
+            view = new Pane();
+            return view;
+        }
+
+        @Override
+        public void destroy() {
+            destroyed = true;
+        }
+    }
+}
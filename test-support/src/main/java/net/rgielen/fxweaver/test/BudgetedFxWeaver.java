@@ -0,0 +1,159 @@
+package net.rgielen.fxweaver.test;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import net.rgielen.fxweaver.core.FxControllerAndView;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.opentest4j.AssertionFailedError;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.ResourceBundle;
+
+/**
+ * A {@link FxWeaver} enforcing the {@link ViewBudget} of controller classes on every load.
+ * <p/>
+ * Allocation is measured with the per thread allocation counter of the HotSpot {@link ThreadMXBean}, so only memory
+ * allocated by the loading thread counts.
+ *
+ * @author Rene Gielen
+ * @see FxWeaverExtension
+ */
+public class BudgetedFxWeaver extends FxWeaver {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private final ThreadLocal<Boolean> measuring = ThreadLocal.withInitial(() -> false);
+
+    public BudgetedFxWeaver(TestBeanFactory beanFactory) {
+        super(beanFactory, () -> {
+        });
+    }
+
+    /**
+     * Measure loading the view of the given controller class, with warm-up and iterations as declared by its
+     * {@link ViewBudget}, or the defaults if not annotated, without enforcing any budget.
+     *
+     * @param controllerClass The controller class to load
+     * @return The measurement
+     */
+    public ViewMeasurement measure(Class<?> controllerClass) {
+        return measure(controllerClass, buildFxmlReference(controllerClass), null, budgetOf(controllerClass))
+                .measurement;
+    }
+
+    @Override
+    protected <C, V extends Node> FxControllerAndView<C, V> load(Class<C> controllerClass, String location,
+                                                                 ResourceBundle resourceBundle) {
+        ViewBudget budget = controllerClass.getAnnotation(ViewBudget.class);
+        if (budget == null || measuring.get()) {
+            return super.load(controllerClass, location, resourceBundle);
+        }
+        Result<C, V> result = measure(controllerClass, location, resourceBundle, budget);
+        enforce(budget, result.measurement);
+        return result.controllerAndView;
+    }
+
+    private <C, V extends Node> Result<C, V> measure(Class<C> controllerClass, String location,
+                                                     ResourceBundle resourceBundle, ViewBudget budget) {
+        int warmup = budget != null ? budget.warmup() : 5;
+        int iterations = Math.max(1, budget != null ? budget.iterations() : 5);
+        measuring.set(true);
+        try {
+            for (int i = 0; i < warmup; i++) {
+                super.load(controllerClass, location, resourceBundle);
+            }
+            long[] nanos = new long[iterations];
+            long[] bytes = new long[iterations];
+            FxControllerAndView<C, V> controllerAndView = null;
+            for (int i = 0; i < iterations; i++) {
+                long allocatedBefore = allocatedBytes();
+                long start = System.nanoTime();
+                controllerAndView = super.load(controllerClass, location, resourceBundle);
+                nanos[i] = System.nanoTime() - start;
+                long allocatedAfter = allocatedBytes();
+                bytes[i] = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+            }
+            int nodes = controllerAndView.getView().map(BudgetedFxWeaver::countNodes).orElse(0);
+            return new Result<>(controllerAndView, new ViewMeasurement(controllerClass,
+                    Duration.ofNanos(median(nanos)), median(bytes), nodes));
+        } finally {
+            measuring.remove();
+        }
+    }
+
+    private static void enforce(ViewBudget budget, ViewMeasurement measurement) {
+        StringBuilder violations = new StringBuilder();
+        if (budget.maxMillis() >= 0 && measurement.getDuration().toMillis() > budget.maxMillis()) {
+            violations.append(" load time ").append(measurement.getDuration().toMillis())
+                    .append(" ms exceeds ").append(budget.maxMillis()).append(" ms;");
+        }
+        if (budget.maxAllocatedBytes() >= 0 && measurement.getAllocatedBytes() > budget.maxAllocatedBytes()) {
+            violations.append(" allocated ").append(measurement.getAllocatedBytes())
+                    .append(" bytes exceed ").append(budget.maxAllocatedBytes()).append(" bytes;");
+        }
+        if (budget.maxNodes() >= 0 && measurement.getNodes() > budget.maxNodes()) {
+            violations.append(" ").append(measurement.getNodes())
+                    .append(" nodes exceed ").append(budget.maxNodes()).append(" nodes;");
+        }
+        if (violations.length() > 0) {
+            throw new AssertionFailedError("View budget of " + measurement.getControllerClass().getName()
+                    + " exceeded:" + violations + " " + measurement);
+        }
+    }
+
+    private static ViewBudget budgetOf(Class<?> controllerClass) {
+        return controllerClass.getAnnotation(ViewBudget.class);
+    }
+
+    static int countNodes(Node root) {
+        int count = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            count++;
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().forEach(pending::push);
+            }
+        }
+        return count;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotSpotBean = (com.sun.management.ThreadMXBean) bean;
+            if (hotSpotBean.isThreadAllocatedMemorySupported()) {
+                hotSpotBean.setThreadAllocatedMemoryEnabled(true);
+                return hotSpotBean;
+            }
+        }
+        return null;
+    }
+
+    private static final class Result<C, V extends Node> {
+
+        final FxControllerAndView<C, V> controllerAndView;
+        final ViewMeasurement measurement;
+
+        Result(FxControllerAndView<C, V> controllerAndView, ViewMeasurement measurement) {
+            this.controllerAndView = controllerAndView;
+            this.measurement = measurement;
+        }
+    }
+}
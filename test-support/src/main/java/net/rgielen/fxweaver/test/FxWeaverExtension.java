@@ -0,0 +1,58 @@
+package net.rgielen.fxweaver.test;
+
+import net.rgielen.fxweaver.core.FxHeadlessToolkit;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * JUnit 5 extension starting a headless JavaFX toolkit on Monocle and providing a {@link BudgetedFxWeaver} backed by
+ * a {@link TestBeanFactory} to test methods, so view budgets declared by {@link ViewBudget} are enforced on every
+ * load.
+ * <p/>
+ * Example:
+ * <pre>
+ * &#64;ExtendWith(FxWeaverExtension.class)
+ * class MainWindowTest {
+ *
+ *     &#64;Test
+ *     void mainWindowStaysWithinBudget(FxWeaver fxWeaver, TestBeanFactory beans) {
+ *         beans.register(GreetingService.class, new GreetingService());
+ *         fxWeaver.loadView(MainWindow.class);
+ *     }
+ * }
+ * </pre>
+ * Parameters of type {@link FxWeaver}, {@link BudgetedFxWeaver} and {@link TestBeanFactory} are resolved, sharing one
+ * instance per test method.
+ *
+ * @author Rene Gielen
+ */
+public class FxWeaverExtension implements BeforeAllCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FxWeaverExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws Exception {
+        FxHeadlessToolkit.start();
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == FxWeaver.class || type == BudgetedFxWeaver.class || type == TestBeanFactory.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        TestBeanFactory beanFactory = store.getOrComputeIfAbsent(TestBeanFactory.class, type -> new TestBeanFactory(),
+                TestBeanFactory.class);
+        if (parameterContext.getParameter().getType() == TestBeanFactory.class) {
+            return beanFactory;
+        }
+        return store.getOrComputeIfAbsent(BudgetedFxWeaver.class, type -> new BudgetedFxWeaver(beanFactory),
+                BudgetedFxWeaver.class);
+    }
+}
@@ -0,0 +1,41 @@
+package net.rgielen.fxweaver.test;
+
+import javafx.util.Callback;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A minimal bean factory for tests, providing registered instances and creating all other beans by their no-arg
+ * constructor.
+ *
+ * @author Rene Gielen
+ */
+public class TestBeanFactory implements Callback<Class<?>, Object> {
+
+    private final Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
+
+    /**
+     * Provide the given instance for the given type from now on.
+     *
+     * @return This bean factory
+     */
+    public <T> TestBeanFactory register(Class<T> type, T bean) {
+        beans.put(type, bean);
+        return this;
+    }
+
+    @Override
+    public Object call(Class<?> type) {
+        Object bean = beans.get(type);
+        if (bean != null) {
+            return bean;
+        }
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create " + type.getName()
+                    + ", register an instance with the " + TestBeanFactory.class.getSimpleName(), e);
+        }
+    }
+}
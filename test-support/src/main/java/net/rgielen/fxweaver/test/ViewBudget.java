@@ -0,0 +1,55 @@
+package net.rgielen.fxweaver.test;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares the performance budget for loading the view of a controller class, enforced by {@link BudgetedFxWeaver}
+ * in tests using the {@link FxWeaverExtension}.
+ * <p/>
+ * Every {@link net.rgielen.fxweaver.core.FxWeaver#load(Class)} of an annotated controller first loads the view
+ * {@link #warmup()} times, so class loading and JIT compilation do not count, then measures {@link #iterations()}
+ * loads. The medians of load time and allocated bytes and the node count of the view must not exceed the budget.
+ * <p/>
+ * Example:
+ * <pre>
+ *     &#64;FxmlView
+ *     &#64;ViewBudget(maxMillis = 20, maxAllocatedBytes = 2_000_000, maxNodes = 150)
+ *     public class MainWindow {
+ *         ...
+ *     }
+ * </pre>
+ *
+ * @author Rene Gielen
+ * @see FxWeaverExtension
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ViewBudget {
+
+    /**
+     * The maximum median load time in milliseconds, or a negative value for no limit.
+     */
+    long maxMillis() default -1;
+
+    /**
+     * The maximum median number of bytes allocated by the loading thread, or a negative value for no limit.
+     */
+    long maxAllocatedBytes() default -1;
+
+    /**
+     * The maximum number of nodes in the view's scene graph, or a negative value for no limit.
+     */
+    int maxNodes() default -1;
+
+    /**
+     * The number of loads before measuring.
+     */
+    int warmup() default 5;
+
+    /**
+     * The number of measured loads.
+     */
+    int iterations() default 5;
+
+}
@@ -0,0 +1,59 @@
+package net.rgielen.fxweaver.test;
+
+import java.time.Duration;
+
+/**
+ * The measured cost of loading a view.
+ *
+ * @author Rene Gielen
+ */
+public final class ViewMeasurement {
+
+    private final Class<?> controllerClass;
+    private final Duration duration;
+    private final long allocatedBytes;
+    private final int nodes;
+
+    ViewMeasurement(Class<?> controllerClass, Duration duration, long allocatedBytes, int nodes) {
+        this.controllerClass = controllerClass;
+        this.duration = duration;
+        this.allocatedBytes = allocatedBytes;
+        this.nodes = nodes;
+    }
+
+    public Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    /**
+     * @return The median load time
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The median number of bytes allocated by the loading thread, or <tt>-1</tt> if the JVM does not support
+     * measuring it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The number of nodes in the view's scene graph
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return "ViewMeasurement{" +
+                "controllerClass=" + controllerClass.getName() +
+                ", millis=" + duration.toNanos() / 1_000_000.0 +
+                ", allocatedBytes=" + allocatedBytes +
+                ", nodes=" + nodes +
+                '}';
+    }
+}
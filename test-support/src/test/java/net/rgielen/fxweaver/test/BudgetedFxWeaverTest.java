@@ -0,0 +1,52 @@
+package net.rgielen.fxweaver.test;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import net.rgielen.fxweaver.core.FxWeaver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opentest4j.AssertionFailedError;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(FxWeaverExtension.class)
+class BudgetedFxWeaverTest {
+
+    @Test
+    void viewWithinBudgetLoads(FxWeaver fxWeaver) {
+        VBox view = fxWeaver.loadView(GenerousView.class);
+        assertThat(view.getChildren()).hasSize(3).allMatch(Label.class::isInstance);
+    }
+
+    @Test
+    void viewExceedingNodeBudgetFails(FxWeaver fxWeaver) {
+        assertThatThrownBy(() -> fxWeaver.loadView(TightView.class))
+                .isInstanceOf(AssertionFailedError.class)
+                .hasMessageContaining("4 nodes exceed 2 nodes");
+    }
+
+    @Test
+    void measureReportsCostWithoutEnforcingBudget(BudgetedFxWeaver fxWeaver, TestBeanFactory beans) {
+        TightView controller = new TightView();
+        beans.register(TightView.class, controller);
+
+        ViewMeasurement measurement = fxWeaver.measure(TightView.class);
+
+        assertThat(measurement.getNodes()).isEqualTo(4);
+        assertThat(measurement.getDuration()).isPositive();
+        assertThat(measurement.getAllocatedBytes()).isPositive();
+        assertThat(fxWeaver.loadController(UnbudgetedView.class)).isNotNull();
+    }
+
+    @ViewBudget(maxMillis = 10_000, maxAllocatedBytes = 100_000_000, maxNodes = 10, warmup = 2, iterations = 3)
+    public static class GenerousView {
+    }
+
+    @ViewBudget(maxNodes = 2, warmup = 1, iterations = 1)
+    public static class TightView {
+    }
+
+    public static class UnbudgetedView {
+    }
+}